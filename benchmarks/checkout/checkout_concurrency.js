@@ -0,0 +1,94 @@
+// So sánh số checkout đồng thời tối đa trên một node: thread pool Tomcat (mặc định) vs virtual thread.
+// Một lượt checkout = giữ vé (POST /ticketing/events/{id}/hold) + hoàn tất giả lập (POST /payments/mock-finalize),
+// tức là đi qua JWT filter, Redis hold, transaction Postgres và @Async gửi email xác nhận.
+//
+// Chuẩn bị: một sự kiện GENERAL_ADMISSION đủ vé, N tài khoản bench-user-1..N cùng mật khẩu, profile khác prod.
+// Chế độ 1 (platform threads):
+//   mvn -B org.springframework.boot:spring-boot-maven-plugin:run
+// Chế độ 2 (virtual threads, JDK 21):
+//   mvn -B -Pjava21 org.springframework.boot:spring-boot-maven-plugin:run \
+//       -Dspring-boot.run.profiles=virtual-threads -Dspring-boot.run.jvmArguments=-Djdk.tracePinnedThreads=short
+// Chạy cùng một kịch bản cho từng chế độ rồi so sánh:
+//   k6 run -e BASE_URL=http://localhost:8080 -e EVENT_ID=<uuid> -e TICKET_ID=<uuid> \
+//          -e USERS=500 -e PASSWORD=<pwd> -e MODE=platform benchmarks/checkout/checkout_concurrency.js
+// "Số checkout đồng thời tối đa" = số VU cao nhất mà p99 < 1s và tỷ lệ lỗi < 1% (xem summary theo stage);
+// với virtual thread nên theo dõi thêm hikaricp_connections_pending và jvm_threads_virtual_pinned.
+
+import http from 'k6/http';
+import { check, fail } from 'k6';
+import { Counter, Trend } from 'k6/metrics';
+import exec from 'k6/execution';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const EVENT_ID = __ENV.EVENT_ID;
+const TICKET_ID = __ENV.TICKET_ID;
+const USERS = parseInt(__ENV.USERS || '500');
+const PASSWORD = __ENV.PASSWORD;
+const MODE = __ENV.MODE || 'platform';
+
+const checkoutDuration = new Trend('checkout_duration', true);
+const checkoutFailed = new Counter('checkout_failed');
+
+// Tăng dần số VU (mỗi VU là một người mua đang checkout) tới khi node bão hòa
+export const options = {
+    scenarios: {
+        checkout: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '1m', target: 100 },
+                { duration: '1m', target: 200 },
+                { duration: '1m', target: 400 },
+                { duration: '1m', target: 800 },
+                { duration: '1m', target: 1600 },
+                { duration: '30s', target: 0 },
+            ],
+            gracefulRampDown: '30s',
+        },
+    },
+    thresholds: {
+        checkout_duration: ['p(99)<1000'],
+        http_req_failed: ['rate<0.01'],
+    },
+    tags: { mode: MODE },
+};
+
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+function login() {
+    const username = `bench-user-${((exec.vu.idInTest - 1) % USERS) + 1}`;
+    const res = http.post(`${BASE_URL}/api/v1/auth/login`,
+        JSON.stringify({ username, password: PASSWORD }), JSON_HEADERS);
+    if (!check(res, { 'login ok': r => r.status === 200 })) {
+        fail(`login failed for ${username}: ${res.status}`);
+    }
+}
+
+export default function () {
+    if (!EVENT_ID || !TICKET_ID || !PASSWORD) {
+        fail('EVENT_ID, TICKET_ID and PASSWORD are required');
+    }
+    // Cookie accessToken/refreshToken được giữ trong cookie jar riêng của từng VU
+    if (exec.vu.iterationInScenario === 0) {
+        login();
+    }
+
+    const started = Date.now();
+    const hold = http.post(`${BASE_URL}/api/v1/ticketing/events/${EVENT_ID}/hold`, JSON.stringify({
+        selectionMode: 'GENERAL_ADMISSION',
+        gaItems: [{ ticketId: TICKET_ID, quantity: 1 }],
+    }), JSON_HEADERS);
+    if (!check(hold, { 'hold ok': r => r.status === 200 })) {
+        checkoutFailed.add(1, { step: 'hold', status: String(hold.status) });
+        return;
+    }
+
+    const holdId = hold.json('data.holdId');
+    const finalize = http.post(`${BASE_URL}/api/v1/payments/mock-finalize`,
+        JSON.stringify({ holdId }), JSON_HEADERS);
+    if (!check(finalize, { 'finalize ok': r => r.status === 200 })) {
+        checkoutFailed.add(1, { step: 'finalize', status: String(finalize.status) });
+        return;
+    }
+    checkoutDuration.add(Date.now() - started);
+}
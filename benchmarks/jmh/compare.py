@@ -0,0 +1,65 @@
+#!/usr/bin/env python3
+# So sánh kết quả JMH (-rf json) với baseline đã commit; thoát mã 1 nếu có benchmark chậm đi quá ngưỡng.
+#   python3 benchmarks/jmh/compare.py benchmarks/jmh/baselines/baseline.json benchmarks/jmh/results/current.json
+#   python3 benchmarks/jmh/compare.py ... --threshold 15
+# Chỉ tính là chậm đi khi vượt ngưỡng % VÀ khoảng sai số (score ± error) của hai lần đo không chồng nhau.
+import argparse
+import json
+import sys
+
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        results = json.load(f)
+    by_key = {}
+    for r in results:
+        params = ",".join(f"{k}={v}" for k, v in sorted((r.get("params") or {}).items()))
+        key = r["benchmark"].rsplit(".", 2)[-2] + "." + r["benchmark"].rsplit(".", 1)[-1]
+        by_key[key + (f" [{params}]" if params else "")] = r
+    return by_key
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0, help="% chậm đi tối đa cho phép")
+    args = parser.parse_args()
+
+    baseline, current = load(args.baseline), load(args.current)
+    regressions = 0
+    print(f"{'benchmark':<70} {'baseline':>14} {'current':>14} {'change':>9}")
+    for key in sorted(set(baseline) | set(current)):
+        if key not in current:
+            print(f"{key:<70} {'':>14} {'(missing)':>14}")
+            continue
+        if key not in baseline:
+            print(f"{key:<70} {'(new)':>14} {current[key]['primaryMetric']['score']:>14.3f}")
+            continue
+        b, c = baseline[key]["primaryMetric"], current[key]["primaryMetric"]
+        if b["scoreUnit"] != c["scoreUnit"]:
+            print(f"{key:<70} unit changed {b['scoreUnit']} -> {c['scoreUnit']}, skipped")
+            continue
+        # Mode AverageTime/SampleTime: càng nhỏ càng tốt; Throughput: càng lớn càng tốt
+        lower_is_better = "/op" in c["scoreUnit"]
+        change = (c["score"] - b["score"]) / b["score"] * 100 if b["score"] else 0.0
+        worse = change if lower_is_better else -change
+        b_err, c_err = abs(b.get("scoreError") or 0.0), abs(c.get("scoreError") or 0.0)
+        if lower_is_better:
+            separated = c["score"] - c_err > b["score"] + b_err
+        else:
+            separated = c["score"] + c_err < b["score"] - b_err
+        flag = ""
+        if worse > args.threshold and separated:
+            flag = "  REGRESSION"
+            regressions += 1
+        print(f"{key:<70} {b['score']:>14.3f} {c['score']:>14.3f} {change:>+8.1f}%{flag}  ({c['scoreUnit']})")
+
+    if regressions:
+        print(f"\n{regressions} benchmark(s) regressed by more than {args.threshold}%")
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
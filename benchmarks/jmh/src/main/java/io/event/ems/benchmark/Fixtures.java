@@ -0,0 +1,220 @@
+package io.event.ems.benchmark;
+
+import io.event.ems.model.*;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Dữ liệu mẫu và stub repository dùng chung cho các benchmark; không cần DB hay Spring context.
+ */
+final class Fixtures {
+
+    static final String[] SEAT_TYPES = {"VIP", "Standard", "Accessible"};
+
+    private Fixtures() {
+    }
+
+    /**
+     * Cài đặt một interface (thường là repository) bằng proxy, trả lời theo tên phương thức.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + "Stub";
+                };
+            }
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+            return answer.apply(args);
+        });
+    }
+
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name + " on " + target.getClass(), e);
+        }
+    }
+
+    static MethodHandles.Lookup privateLookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static StatusCode approvedEventStatus() {
+        return new StatusCode(2, "EVENT", "APPROVED", "Approved");
+    }
+
+    static Venue venue() {
+        Venue venue = new Venue();
+        venue.setId(UUID.randomUUID());
+        venue.setName("Nhà hát Hòa Bình");
+        venue.setAddress("240 Đường 3/2, Quận 10");
+        venue.setCity("Hồ Chí Minh");
+        venue.setCountry("Việt Nam");
+        return venue;
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("bench.user");
+        user.setEmail("bench.user@example.com");
+        user.setFullName("Nguyễn Văn Bench");
+        user.setPhone("0900000000");
+        user.setRole(Role.USER);
+        user.setStatus(new StatusCode(1, "USER", "ACTIVE", "Active"));
+        return user;
+    }
+
+    static Event event(TicketSelectionModeEnum mode) {
+        Event event = new Event();
+        event.setId(UUID.randomUUID());
+        event.setTitle("Đêm nhạc Trịnh Công Sơn");
+        event.setSlug("dem-nhac-trinh-cong-son");
+        event.setDescription("Đêm nhạc tưởng nhớ với dàn nhạc giao hưởng.");
+        event.setStartDate(LocalDateTime.now().plusDays(30));
+        event.setEndDate(LocalDateTime.now().plusDays(30).plusHours(3));
+        event.setVenue(venue());
+        event.setCreator(user());
+        event.setStatus(approvedEventStatus());
+        event.setTicketSelectionMode(mode);
+        event.setIsPublic(true);
+        event.setCoverImageUrl("https://cdn.example.com/events/cover.jpg");
+        Set<Category> categories = new HashSet<>();
+        for (String name : List.of("Âm nhạc", "Hòa nhạc")) {
+            Category category = new Category();
+            category.setId(UUID.randomUUID());
+            category.setName(name);
+            categories.add(category);
+        }
+        event.setCategories(categories);
+        return event;
+    }
+
+    /**
+     * Sơ đồ ghế gồm các khu 1000 ghế (20 hàng x 50 ghế), loại ghế xoay vòng theo {@link #SEAT_TYPES}.
+     */
+    static SeatMap seatMap(Event event, int totalSeats) {
+        SeatMap seatMap = new SeatMap();
+        seatMap.setId(UUID.randomUUID());
+        seatMap.setName("Sơ đồ chính");
+        seatMap.setVenue(event.getVenue());
+        Set<SeatSection> sections = new LinkedHashSet<>();
+        int sectionCount = Math.max(1, totalSeats / 1000);
+        for (int s = 0; s < sectionCount; s++) {
+            SeatSection section = new SeatSection();
+            section.setId(UUID.randomUUID());
+            section.setName("Khu " + (char) ('A' + s % 26) + (s / 26 == 0 ? "" : String.valueOf(s / 26)));
+            section.setSeatMap(seatMap);
+            Set<Seat> seats = new LinkedHashSet<>();
+            int seatsInSection = Math.min(1000, totalSeats - s * 1000);
+            for (int i = 0; i < seatsInSection; i++) {
+                Seat seat = new Seat();
+                seat.setId(UUID.randomUUID());
+                seat.setRowLabel(String.valueOf((char) ('A' + i / 50 % 26)));
+                seat.setSeatNumber(String.valueOf(i % 50 + 1));
+                seat.setSeatType(SEAT_TYPES[i % SEAT_TYPES.length]);
+                seat.setSection(section);
+                seats.add(seat);
+            }
+            section.setSeats(seats);
+            section.setCapacity(seats.size());
+            sections.add(section);
+        }
+        seatMap.setSections(sections);
+        event.setSeatMap(seatMap);
+        return seatMap;
+    }
+
+    /**
+     * Vé VIP, Standard và "Vé Hàng A" cho mỗi khu: ghế VIP/Standard khớp theo loại, ghế Accessible
+     * hàng A khớp theo hàng, còn lại rơi về vé mặc định.
+     */
+    static Map<UUID, List<Ticket>> ticketsBySection(Event event, SeatMap seatMap) {
+        Map<UUID, List<Ticket>> result = new HashMap<>();
+        for (SeatSection section : seatMap.getSections()) {
+            List<Ticket> tickets = new ArrayList<>();
+            tickets.add(ticket(event, section, "Vé VIP", "1500000"));
+            tickets.add(ticket(event, section, "Vé Standard", "800000"));
+            tickets.add(ticket(event, section, "Vé Hàng A", "2000000"));
+            result.put(section.getId(), tickets);
+        }
+        return result;
+    }
+
+    static Ticket ticket(Event event, SeatSection section, String name, String price) {
+        Ticket ticket = new Ticket();
+        ticket.setId(UUID.randomUUID());
+        ticket.setEvent(event);
+        ticket.setName(name);
+        ticket.setPrice(new BigDecimal(price));
+        ticket.setAppliesToSection(section);
+        ticket.setTotalQuantity(section != null ? section.getCapacity() : 1000);
+        ticket.setAvailableQuantity(section != null ? section.getCapacity() / 2 : 500);
+        ticket.setSaleStartDate(LocalDateTime.now().minusDays(1));
+        ticket.setSaleEndDate(LocalDateTime.now().plusDays(29));
+        return ticket;
+    }
+
+    /**
+     * Đánh dấu khoảng {@code soldRatio} số ghế là đã bán/đang giữ.
+     */
+    static List<EventSeatStatus> seatStatuses(Event event, SeatMap seatMap, Map<UUID, List<Ticket>> ticketsBySection,
+                                              double soldRatio) {
+        List<EventSeatStatus> statuses = new ArrayList<>();
+        Random random = new Random(42);
+        for (SeatSection section : seatMap.getSections()) {
+            Ticket ticket = ticketsBySection.get(section.getId()).get(0);
+            for (Seat seat : section.getSeats()) {
+                if (random.nextDouble() >= soldRatio) {
+                    continue;
+                }
+                EventSeatStatus status = new EventSeatStatus();
+                status.setId(UUID.randomUUID());
+                status.setEvent(event);
+                status.setSeat(seat);
+                status.setTicket(ticket);
+                boolean sold = random.nextBoolean();
+                status.setStatus(sold ? "sold" : "held");
+                status.setHeldUntil(sold ? null : LocalDateTime.now().plusMinutes(10));
+                status.setPriceAtPurchase(sold ? ticket.getPrice() : null);
+                statuses.add(status);
+            }
+        }
+        return statuses;
+    }
+
+    static TicketPurchase purchase(Event event) {
+        TicketPurchase purchase = new TicketPurchase();
+        purchase.setId(UUID.randomUUID());
+        purchase.setUser(user());
+        purchase.setEvent(event);
+        purchase.setPurchaseDate(LocalDateTime.now());
+        purchase.setSubTotal(new BigDecimal("3000000"));
+        purchase.setServiceFee(new BigDecimal("150000"));
+        purchase.setTotalPrice(new BigDecimal("3150000"));
+        purchase.setStatus(new StatusCode(7, "TICKET_PURCHASE", "SUCCESS", "Success"));
+        purchase.setPaymentMethod("VNPAY");
+        purchase.setTransactionId("14123456");
+        return purchase;
+    }
+}
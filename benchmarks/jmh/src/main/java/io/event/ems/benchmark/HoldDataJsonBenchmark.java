@@ -0,0 +1,78 @@
+package io.event.ems.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.event.ems.dto.TicketHoldRequestDTO;
+import io.event.ems.model.HoldData;
+import io.event.ems.model.TicketSelectionModeEnum;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (De)serialize {@link HoldData} như TicketHoldServiceImpl làm với mỗi lần giữ vé, xem và checkout.
+ * ObjectMapper cấu hình giống Jackson mặc định của Spring Boot (ngày giờ dạng ISO).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HoldDataJsonBenchmark {
+
+    // GA: số loại vé trong giỏ; RESERVED_SEATING: số ghế được giữ
+    @Param({"GENERAL_ADMISSION", "RESERVED_SEATING"})
+    public TicketSelectionModeEnum mode;
+
+    @Param({"4", "50"})
+    public int items;
+
+    private ObjectMapper objectMapper;
+    private HoldData holdData;
+    private String holdDataJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        TicketHoldRequestDTO request = new TicketHoldRequestDTO();
+        request.setSelectionMode(mode);
+        if (mode == TicketSelectionModeEnum.RESERVED_SEATING) {
+            List<UUID> seatIds = new ArrayList<>();
+            for (int i = 0; i < items; i++) {
+                seatIds.add(UUID.randomUUID());
+            }
+            request.setSeatIds(seatIds);
+        } else {
+            List<TicketHoldRequestDTO.GeneralAdmissionItem> gaItems = new ArrayList<>();
+            for (int i = 0; i < items; i++) {
+                TicketHoldRequestDTO.GeneralAdmissionItem item = new TicketHoldRequestDTO.GeneralAdmissionItem();
+                item.setTicketId(UUID.randomUUID());
+                item.setQuantity(1 + i % 4);
+                gaItems.add(item);
+            }
+            request.setGaItems(gaItems);
+        }
+        holdData = new HoldData(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), request,
+                LocalDateTime.now().plusMinutes(10));
+        holdDataJson = objectMapper.writeValueAsString(holdData);
+    }
+
+    @Benchmark
+    public String serialize() throws Exception {
+        return objectMapper.writeValueAsString(holdData);
+    }
+
+    @Benchmark
+    public HoldData deserialize() throws Exception {
+        return objectMapper.readValue(holdDataJson, HoldData.class);
+    }
+}
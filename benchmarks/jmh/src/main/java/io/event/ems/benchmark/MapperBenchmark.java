@@ -0,0 +1,71 @@
+package io.event.ems.benchmark;
+
+import io.event.ems.dto.EventResponseDTO;
+import io.event.ems.dto.EventTicketingResponseDTO;
+import io.event.ems.dto.PurchaseDetailDTO;
+import io.event.ems.dto.PurchaseListItemDTO;
+import io.event.ems.mapper.EventMapper;
+import io.event.ems.mapper.PurchaseMapper;
+import io.event.ems.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chuyển đổi entity → DTO bằng các mapper MapStruct đã sinh: chi tiết/danh sách sự kiện và đơn mua.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MapperBenchmark {
+
+    private EventMapper eventMapper;
+    private PurchaseMapper purchaseMapper;
+    private Event event;
+    private TicketPurchase purchase;
+    private List<EventSeatStatus> seatedTickets;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        eventMapper = MapperContext.get(EventMapper.class);
+        purchaseMapper = MapperContext.get(PurchaseMapper.class);
+
+        event = Fixtures.event(TicketSelectionModeEnum.RESERVED_SEATING);
+        SeatMap seatMap = Fixtures.seatMap(event, 1000);
+        Map<UUID, List<Ticket>> ticketsBySection = Fixtures.ticketsBySection(event, seatMap);
+        purchase = Fixtures.purchase(event);
+        // Một đơn mua điển hình: khoảng 10 ghế
+        seatedTickets = Fixtures.seatStatuses(event, seatMap, ticketsBySection, 0.01).stream()
+                .limit(10)
+                .peek(status -> status.setTicketPurchase(purchase))
+                .toList();
+    }
+
+    @Benchmark
+    public EventResponseDTO eventToResponseDto() {
+        return eventMapper.toResponseDTO(event);
+    }
+
+    @Benchmark
+    public EventTicketingResponseDTO eventToTicketingResponseDto() {
+        return eventMapper.eventToEventTicketingResponseDto(event);
+    }
+
+    @Benchmark
+    public PurchaseListItemDTO purchaseToListItem() {
+        return purchaseMapper.toListItemDTO(purchase);
+    }
+
+    @Benchmark
+    public PurchaseDetailDTO purchaseToDetail() {
+        PurchaseDetailDTO detail = purchaseMapper.toDetailDTO(purchase);
+        detail.setSeatedTickets(purchaseMapper.toPurchasedSeatedTicketDTOs(seatedTickets));
+        return detail;
+    }
+}
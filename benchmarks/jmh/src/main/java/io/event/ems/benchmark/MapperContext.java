@@ -0,0 +1,25 @@
+package io.event.ems.benchmark;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Context Spring tối giản chỉ chứa các mapper MapStruct đã sinh (EventMapperImpl dùng field injection
+ * cho UserMapper, VenueMapper...), dùng chung cho mọi benchmark trong cùng fork.
+ */
+final class MapperContext {
+
+    private static final AnnotationConfigApplicationContext CONTEXT;
+
+    static {
+        CONTEXT = new AnnotationConfigApplicationContext();
+        CONTEXT.scan("io.event.ems.mapper");
+        CONTEXT.refresh();
+    }
+
+    private MapperContext() {
+    }
+
+    static <T> T get(Class<T> type) {
+        return CONTEXT.getBean(type);
+    }
+}
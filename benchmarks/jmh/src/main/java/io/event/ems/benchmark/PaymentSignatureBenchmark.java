@@ -0,0 +1,70 @@
+package io.event.ems.benchmark;
+
+import io.event.ems.util.MomoSecurityUtils;
+import io.event.ems.util.VNPaySecurityUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ký yêu cầu thanh toán: VNPay (sắp xếp + URL-encode tham số rồi HMAC-SHA512) và MoMo (HMAC-SHA256),
+ * với bộ tham số giống VNPayPaymentGateway/MomoPaymentGateway tạo ra.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PaymentSignatureBenchmark {
+
+    private static final String SECRET = "BENCHMARKHASHSECRET0123456789ABCDEF";
+
+    private Map<String, String> vnpParams;
+    private String vnpQuery;
+    private String momoRawSignature;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String orderId = UUID.randomUUID().toString();
+        vnpParams = new HashMap<>();
+        vnpParams.put("vnp_Version", "2.1.0");
+        vnpParams.put("vnp_Command", "pay");
+        vnpParams.put("vnp_TmnCode", "BENCHTMN");
+        vnpParams.put("vnp_Amount", "315000000");
+        vnpParams.put("vnp_CurrCode", "VND");
+        vnpParams.put("vnp_TxnRef", orderId);
+        vnpParams.put("vnp_OrderInfo", "Thanh toan don hang " + orderId);
+        vnpParams.put("vnp_OrderType", "other");
+        vnpParams.put("vnp_Locale", "vn");
+        vnpParams.put("vnp_ReturnUrl", "https://ems.example.com/payment/vnpay-return");
+        vnpParams.put("vnp_IpAddr", "203.113.0.10");
+        vnpParams.put("vnp_CreateDate", "20250101120000");
+        vnpParams.put("vnp_ExpireDate", "20250101121500");
+        vnpQuery = VNPaySecurityUtils.buildQueryString(vnpParams);
+
+        momoRawSignature = String.format("accessKey=%s&amount=%d&extraData=&ipnUrl=%s&orderId=%s&orderInfo=%s&partnerCode=%s&redirectUrl=%s&requestId=%s&requestType=captureWallet",
+                "BENCHACCESSKEY", 3150000L, "https://ems.example.com/api/v1/payments/momo/ipn", orderId,
+                "Thanh toan don hang " + orderId, "MOMOBENCH", "https://ems.example.com/payment/momo-return",
+                UUID.randomUUID());
+    }
+
+    @Benchmark
+    public String vnpayBuildQueryAndSign() {
+        String query = VNPaySecurityUtils.buildQueryString(vnpParams);
+        return VNPaySecurityUtils.generateSignature(query, SECRET);
+    }
+
+    @Benchmark
+    public String vnpaySignOnly() {
+        return VNPaySecurityUtils.generateSignature(vnpQuery, SECRET);
+    }
+
+    @Benchmark
+    public String momoSign() {
+        return MomoSecurityUtils.generateSignature(momoRawSignature, SECRET);
+    }
+}
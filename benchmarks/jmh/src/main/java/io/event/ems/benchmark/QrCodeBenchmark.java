@@ -0,0 +1,55 @@
+package io.event.ems.benchmark;
+
+import io.event.ems.service.impl.QrCodeServiceImpl;
+import io.event.ems.service.specialized.TicketingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hai bước tạo QR cho mỗi vé khi gửi email xác nhận: ký nội dung bằng HMAC-SHA256 và vẽ ảnh PNG 300x300.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class QrCodeBenchmark {
+
+    private QrCodeServiceImpl service;
+    private MethodHandle buildSecureQrContent;
+    private MethodHandle generateQrImage;
+    private UUID qrId;
+    private String qrContent;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        service = new QrCodeServiceImpl(null, new TicketingMetrics(new SimpleMeterRegistry()));
+        Fixtures.setField(service, "secretKey", "benchmark-qr-secret-key-0123456789abcdef");
+
+        MethodHandles.Lookup lookup = Fixtures.privateLookup(QrCodeServiceImpl.class);
+        buildSecureQrContent = lookup.findVirtual(QrCodeServiceImpl.class, "buildSecureQrContent",
+                MethodType.methodType(String.class, UUID.class));
+        generateQrImage = lookup.findVirtual(QrCodeServiceImpl.class, "generateQrImage",
+                MethodType.methodType(byte[].class, String.class));
+
+        qrId = UUID.randomUUID();
+        qrContent = (String) buildSecureQrContent.invokeExact(service, qrId);
+    }
+
+    @Benchmark
+    public String signContent() throws Throwable {
+        return (String) buildSecureQrContent.invokeExact(service, qrId);
+    }
+
+    @Benchmark
+    public byte[] renderPng() throws Throwable {
+        return (byte[]) generateQrImage.invokeExact(service, qrContent);
+    }
+}
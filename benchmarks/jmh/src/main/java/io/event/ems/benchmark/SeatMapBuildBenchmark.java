@@ -0,0 +1,65 @@
+package io.event.ems.benchmark;
+
+import io.event.ems.dto.EventTicketingResponseDTO;
+import io.event.ems.mapper.EventMapper;
+import io.event.ems.model.*;
+import io.event.ems.repository.EventRepository;
+import io.event.ems.repository.EventSeatStatusRepository;
+import io.event.ems.repository.SeatMapRepository;
+import io.event.ems.repository.TicketRepository;
+import io.event.ems.service.impl.EventTicketingQueryServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dựng DTO sơ đồ ghế (RESERVED_SEATING) cho sơ đồ lớn: map trạng thái ghế, chọn vé cho từng ghế,
+ * dựng SeatDTO/SectionDTO. Repository được thay bằng stub trả dữ liệu có sẵn nên chỉ đo phần CPU.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SeatMapBuildBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int seats;
+
+    @Param({"0.3"})
+    public double soldRatio;
+
+    private EventTicketingQueryServiceImpl service;
+    private String slug;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Event event = Fixtures.event(TicketSelectionModeEnum.RESERVED_SEATING);
+        SeatMap seatMap = Fixtures.seatMap(event, seats);
+        Map<UUID, List<Ticket>> ticketsBySection = Fixtures.ticketsBySection(event, seatMap);
+        List<EventSeatStatus> statuses = Fixtures.seatStatuses(event, seatMap, ticketsBySection, soldRatio);
+        slug = event.getSlug();
+
+        EventRepository eventRepository = Fixtures.stub(EventRepository.class, Map.of(
+                "findBySlugWithDetails", args -> Optional.of(event)));
+        TicketRepository ticketRepository = Fixtures.stub(TicketRepository.class, Map.of(
+                "findByEventIdAndSectionId", args -> ticketsBySection.getOrDefault((UUID) args[1], List.of())));
+        SeatMapRepository seatMapRepository = Fixtures.stub(SeatMapRepository.class, Map.of(
+                "findByIdWithSectionsAndSeats", args -> Optional.of(seatMap)));
+        EventSeatStatusRepository eventSeatStatusRepository = Fixtures.stub(EventSeatStatusRepository.class, Map.of(
+                "findByEventIdAndSeatMapId", args -> statuses));
+
+        service = new EventTicketingQueryServiceImpl(eventRepository, ticketRepository, seatMapRepository,
+                eventSeatStatusRepository, MapperContext.get(EventMapper.class));
+    }
+
+    @Benchmark
+    public EventTicketingResponseDTO buildReservedSeating() {
+        return service.getEventTicketingBySlug(slug);
+    }
+}
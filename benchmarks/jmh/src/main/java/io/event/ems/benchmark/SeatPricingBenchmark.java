@@ -0,0 +1,85 @@
+package io.event.ems.benchmark;
+
+import io.event.ems.model.*;
+import io.event.ems.service.impl.EventTicketingQueryServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code findApplicableTicketForSeat}: chọn loại vé cho một ghế theo loại ghế, theo hàng, hoặc rơi về vé
+ * mặc định. Được gọi cho mỗi ghế trống khi dựng sơ đồ, nên chi phí nhân với số ghế.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SeatPricingBenchmark {
+
+    // Số loại vé áp dụng cho khu; vé khớp nằm cuối danh sách (trường hợp xấu nhất của stream().filter)
+    @Param({"3", "10"})
+    public int ticketsPerSection;
+
+    private MethodHandle findApplicableTicket;
+    private EventTicketingQueryServiceImpl service;
+    private List<Ticket> tickets;
+    private Seat seatMatchedByType;
+    private Seat seatMatchedByRow;
+    private Seat seatFallback;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        findApplicableTicket = Fixtures.privateLookup(EventTicketingQueryServiceImpl.class).findVirtual(
+                EventTicketingQueryServiceImpl.class, "findApplicableTicketForSeat",
+                MethodType.methodType(Ticket.class, Seat.class, List.class));
+        service = new EventTicketingQueryServiceImpl(null, null, null, null, null);
+
+        Event event = Fixtures.event(TicketSelectionModeEnum.RESERVED_SEATING);
+        SeatSection section = new SeatSection();
+        section.setId(UUID.randomUUID());
+        section.setName("Khu A");
+        section.setCapacity(1000);
+        tickets = new ArrayList<>();
+        for (int i = 0; i < ticketsPerSection - 2; i++) {
+            tickets.add(Fixtures.ticket(event, section, "Vé khuyến mãi " + i, "500000"));
+        }
+        tickets.add(Fixtures.ticket(event, section, "Vé Hàng B", "1800000"));
+        tickets.add(Fixtures.ticket(event, section, "Vé VIP", "1500000"));
+
+        seatMatchedByType = seat(section, "B", "VIP");
+        seatMatchedByRow = seat(section, "B", "Standard");
+        seatFallback = seat(section, "C", "Standard");
+    }
+
+    private static Seat seat(SeatSection section, String row, String type) {
+        Seat seat = new Seat();
+        seat.setId(UUID.randomUUID());
+        seat.setRowLabel(row);
+        seat.setSeatNumber("12");
+        seat.setSeatType(type);
+        seat.setSection(section);
+        return seat;
+    }
+
+    @Benchmark
+    public Ticket matchBySeatType() throws Throwable {
+        return (Ticket) findApplicableTicket.invokeExact(service, seatMatchedByType, tickets);
+    }
+
+    @Benchmark
+    public Ticket matchByRow() throws Throwable {
+        return (Ticket) findApplicableTicket.invokeExact(service, seatMatchedByRow, tickets);
+    }
+
+    @Benchmark
+    public Ticket fallbackToFirst() throws Throwable {
+        return (Ticket) findApplicableTicket.invokeExact(service, seatFallback, tickets);
+    }
+}
@@ -0,0 +1,39 @@
+-- Benchmark tìm kiếm sự kiện tiếng Việt (unaccent + pg_trgm) trên 100k sự kiện.
+--   psql "$DATABASE_URL" -v status_id=2 -f benchmarks/sql/event_search.sql
+-- Đo p99 bằng pgbench (mục tiêu < 20ms):
+--   pgbench "$DATABASE_URL" -n -c 16 -j 4 -T 60 -D status_id=2 \
+--           -f benchmarks/sql/event_search_pgbench.sql --log --log-prefix=search
+--   cat search.* | awk '{print $3}' | sort -n | awk '{a[NR]=$1} END {print "p99(us)=" a[int(NR*0.99)]}'
+
+\timing on
+
+-- Seed tùy chọn: tiêu đề có dấu, trộn vài địa danh để kiểm tra "ha noi" -> "Hà Nội".
+-- INSERT INTO events (id, title, slug, start_date, end_date, venue_id, creator_id, status_id,
+--                     is_public, ticket_selection_mode, created_at)
+-- SELECT gen_random_uuid(),
+--        (ARRAY['Đêm nhạc', 'Hòa nhạc', 'Liveshow', 'Lễ hội ẩm thực', 'Triển lãm'])[1 + g % 5] || ' ' ||
+--        (ARRAY['Hà Nội', 'Sài Gòn', 'Đà Nẵng', 'Huế', 'Cần Thơ'])[1 + (g / 5) % 5] || ' ' || g,
+--        'search-bench-' || g,
+--        now() + (g || ' minutes')::interval, now() + (g || ' minutes')::interval + interval '2 hours',
+--        (SELECT id FROM venues LIMIT 1), (SELECT id FROM users LIMIT 1), :status_id,
+--        true, 'GENERAL_ADMISSION', now()
+-- FROM generate_series(1, 100000) g;
+-- ANALYZE events;
+
+-- Không dấu khớp có dấu
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT e.id, e.title FROM events e
+WHERE e.status_id = :status_id AND e.is_public = true
+  AND ('ha noi' <% lower(f_unaccent(e.title)) OR lower(f_unaccent(e.title)) LIKE '%ha noi%')
+ORDER BY word_similarity('ha noi', lower(f_unaccent(e.title)))
+             + 0.2 / (1 + abs(extract(epoch FROM (e.start_date - now()))) / 2592000) DESC,
+         e.start_date
+LIMIT 20;
+
+-- Lỗi chính tả ("hoa nhac" gõ thành "hoa nhakc")
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT e.id, e.title FROM events e
+WHERE e.status_id = :status_id AND e.is_public = true
+  AND ('hoa nhakc' <% lower(f_unaccent(e.title)) OR lower(f_unaccent(e.title)) LIKE '%hoa nhakc%')
+ORDER BY word_similarity('hoa nhakc', lower(f_unaccent(e.title))) DESC
+LIMIT 20;
@@ -0,0 +1,9 @@
+\set kw random(1, 5)
+SELECT e.id FROM events e
+WHERE e.status_id = :status_id AND e.is_public = true
+  AND ((ARRAY['ha noi', 'sai gon', 'da nang', 'hoa nhakc', 'le hoi am thuc'])[:kw] <% lower(f_unaccent(e.title))
+       OR lower(f_unaccent(e.title)) LIKE '%' || (ARRAY['ha noi', 'sai gon', 'da nang', 'hoa nhakc', 'le hoi am thuc'])[:kw] || '%')
+ORDER BY word_similarity((ARRAY['ha noi', 'sai gon', 'da nang', 'hoa nhakc', 'le hoi am thuc'])[:kw], lower(f_unaccent(e.title)))
+             + 0.2 / (1 + abs(extract(epoch FROM (e.start_date - now()))) / 2592000) DESC,
+         e.start_date
+LIMIT 20;
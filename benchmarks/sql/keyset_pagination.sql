@@ -0,0 +1,59 @@
+-- So sánh OFFSET và keyset (cursor) cho danh sách sự kiện công khai.
+-- Chạy bằng psql trên một DB đã seed dữ liệu lớn (vd. 100k sự kiện), kích thước trang = 20:
+--   psql "$DATABASE_URL" -v status_id=2 -f benchmarks/sql/keyset_pagination.sql
+-- Kỳ vọng: OFFSET ở trang 5.000 quét ~100k dòng + một câu COUNT riêng,
+-- keyset ở "trang 5.000" vẫn chỉ là một Index Scan trên idx_event_public_listing đọc 21 dòng.
+
+\timing on
+
+-- Seed tùy chọn (bỏ comment nếu DB trống). Cần ít nhất một venue và một user.
+-- INSERT INTO events (id, title, slug, start_date, end_date, venue_id, creator_id, status_id,
+--                     is_public, ticket_selection_mode, created_at)
+-- SELECT gen_random_uuid(), 'Bench event ' || g, 'bench-event-' || g,
+--        now() + (g || ' minutes')::interval, now() + (g || ' minutes')::interval + interval '2 hours',
+--        (SELECT id FROM venues LIMIT 1), (SELECT id FROM users LIMIT 1), :status_id,
+--        true, 'GENERAL_ADMISSION', now()
+-- FROM generate_series(1, 100000) g;
+-- ANALYZE events;
+
+-- ---------------------------------------------------------------------------
+-- OFFSET, trang 1
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM events e
+WHERE e.status_id = :status_id AND e.is_public = true
+ORDER BY e.start_date, e.id
+LIMIT 20 OFFSET 0;
+
+-- OFFSET, trang 5.000 (+ câu COUNT mà Page<> luôn chạy kèm)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM events e
+WHERE e.status_id = :status_id AND e.is_public = true
+ORDER BY e.start_date, e.id
+LIMIT 20 OFFSET 99980;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM events e
+WHERE e.status_id = :status_id AND e.is_public = true;
+
+-- ---------------------------------------------------------------------------
+-- Keyset, trang 1 (LIMIT size + 1 để biết còn trang sau)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM events e
+WHERE e.status_id = :status_id AND e.is_public = true
+ORDER BY e.start_date, e.id
+LIMIT 21;
+
+-- Keyset, "trang 5.000": lấy khóa của dòng thứ 99.980 làm cursor
+SELECT start_date AS cursor_start_date, id AS cursor_id
+FROM events e
+WHERE e.status_id = :status_id AND e.is_public = true
+ORDER BY e.start_date, e.id
+OFFSET 99979 LIMIT 1 \gset
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM events e
+WHERE e.status_id = :status_id AND e.is_public = true
+  AND (e.start_date > :'cursor_start_date'
+       OR (e.start_date = :'cursor_start_date' AND e.id > :'cursor_id'))
+ORDER BY e.start_date, e.id
+LIMIT 21;
@@ -0,0 +1,62 @@
+package io.event.ems.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Profile {@code fast-startup}: node mới mở rộng cho đợt mở bán phải sẵn sàng nhận request trong vài giây.
+ * <p>
+ * Các bean không nằm trên đường bán vé (springdoc, chatbot, gửi mail) được chuyển sang khởi tạo lười theo danh sách
+ * tiền tố tên lớp {@code ems.startup.lazy-beans}; chúng chỉ được tạo ở lần dùng đầu tiên. Lớp được so theo tên
+ * trong bean definition (hoặc kiểu trả về của phương thức {@code @Bean}) nên không phải nạp lớp để quyết định.
+ */
+@Configuration
+@Profile("fast-startup")
+@Slf4j
+public class FastStartupConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyNonCriticalBeans(Environment environment) {
+        List<String> prefixes = Binder.get(environment)
+                .bind("ems.startup.lazy-beans", Bindable.listOf(String.class))
+                .orElse(List.of());
+        return beanFactory -> {
+            List<String> lazy = new ArrayList<>();
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (definition.isLazyInit() || definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+                    continue;
+                }
+                String type = typeName(definition);
+                if (type != null && prefixes.stream().anyMatch(type::startsWith)) {
+                    definition.setLazyInit(true);
+                    lazy.add(name);
+                }
+            }
+            log.info("Fast startup: {} non-critical bean(s) initialize lazily", lazy.size());
+            log.debug("Lazy beans: {}", lazy);
+        };
+    }
+
+    private static String typeName(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                return factoryMethod.getReturnTypeName();
+            }
+        }
+        return definition.getBeanClassName();
+    }
+}
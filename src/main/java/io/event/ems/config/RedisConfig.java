@@ -8,7 +8,13 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.event.ems.config.cache.TwoLevelCacheManager;
+import io.event.ems.config.cache.TwoLevelCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.SimpleKeyGenerator;
@@ -18,14 +24,19 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(TwoLevelCacheProperties.class)
 public class RedisConfig {
 
     private GenericJackson2JsonRedisSerializer jackson2JsonRedisSerializer() {
@@ -70,12 +81,42 @@ public class RedisConfig {
                         .fromSerializer(serializer));
     }
 
+    /**
+     * L1 Caffeine trong tiến trình đặt trước L2 Redis; TTL từng cache cấu hình qua {@code ems.cache.caches.*}.
+     */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .cacheDefaults(cacheConfiguration())
-                .transactionAware()
+    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                     TwoLevelCacheProperties cacheProperties,
+                                     RedisTemplate<String, String> stringRedisTemplate,
+                                     RedisMessageListenerContainer redisMessageListenerContainer,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        RedisCacheConfiguration defaults = cacheConfiguration();
+        Map<String, RedisCacheConfiguration> perCache = new LinkedHashMap<>();
+        cacheProperties.getCaches().keySet().forEach(name -> {
+            Duration l2Ttl = cacheProperties.specFor(name).getL2Ttl();
+            perCache.put(name, l2Ttl != null ? defaults.entryTtl(l2Ttl) : defaults);
+        });
+
+        // Tầng Redis không tự transaction-aware: việc hoãn ghi tới sau commit do manager hai tầng đảm nhận
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(defaults)
+                .withInitialCacheConfigurations(perCache)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(redisCacheManager, cacheProperties,
+                stringRedisTemplate, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        cacheManager.setTransactionAware(true);
+        redisMessageListenerContainer.addMessageListener(cacheManager,
+                new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        return cacheManager;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
     }
 
     @Bean
@@ -1,8 +1,11 @@
 package io.event.ems.config;
 
+import io.event.ems.security.BoundedPasswordEncoder;
 import io.event.ems.security.filter.JwtCookieAuthenticationFilter;
 import io.event.ems.service.impl.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -22,6 +25,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -61,7 +65,7 @@ public class SecurityConfig {
     };
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception {
         http
                 // 1. Cấu hình CSRF
                 // Khi sử dụng cookie, có thể cân nhắc bật CSRF protection
@@ -79,6 +83,9 @@ public class SecurityConfig {
                         .requestMatchers(GET, "/api/v1/events", "/api/v1/events/**", "/api/v1/categories/**", "/api/v1/ticketing/**").permitAll() // Chỉ cho phép GET công khai
                         .requestMatchers("/api/v1/auth/**", "/v3/api-docs/**", "/swagger-ui/**", "/webjars/**").permitAll()
                         .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+                        // Actuator ở cổng quản trị: health và prometheus cho hạ tầng, còn lại chỉ ADMIN
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
 
                 // 4. Quản lý session: STATELESS vì dùng JWT
@@ -86,7 +93,7 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
                 // 5. Cấu hình Authentication Provider
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
 
                 // 6. Thêm bộ lọc JWT Cookie vào trước bộ lọc
                 // UsernamePasswordAuthenticationFilter
@@ -119,16 +126,26 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * BCrypt chạy trên pool riêng giới hạn kích thước; hàng đợi đầy thì trả 503 thay vì chiếm luồng Tomcat.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${ems.security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${ems.security.password.pool-size:4}") int poolSize,
+                                           @Value("${ems.security.password.queue-capacity:64}") int queueCapacity,
+                                           @Value("${ems.security.password.max-wait:3s}") Duration maxWait,
+                                           MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, maxWait,
+                meterRegistry);
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         // Sử dụng constructor mới, truyền vào userDetailsService
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder()); // còn set password encoder như cũ
+        authProvider.setPasswordEncoder(passwordEncoder); // còn set password encoder như cũ
+        // Hash có cost cũ được băm lại với cost hiện tại sau khi đăng nhập thành công
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -0,0 +1,93 @@
+package io.event.ems.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Chẩn đoán pinning khi chạy ở chế độ virtual thread (profile {@code virtual-threads}).
+ * <p>
+ * Virtual thread bị "ghim" vào carrier thread khi chặn I/O bên trong khối {@code synchronized} hoặc
+ * native frame; khi đó mỗi request lại chiếm một thread nền tảng như mô hình cũ. Bean này đăng ký
+ * sự kiện JFR {@code jdk.VirtualThreadPinned} (ngưỡng {@code ems.virtual-threads.pinning-threshold}),
+ * ghi thời gian bị ghim vào metric {@code jvm.threads.virtual.pinned} và log vài frame đầu của stack
+ * để tìm ra khối {@code synchronized} cần đổi sang {@link java.util.concurrent.locks.ReentrantLock}.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Duration threshold;
+    private final Timer pinnedTimer;
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${ems.virtual-threads.pinning-threshold:20ms}") Duration threshold,
+                                       MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        this.stream = recording;
+        log.info("Virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = this.stream;
+        this.stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        RecordedThread thread = event.getThread();
+        log.warn("Virtual thread {} pinned for {} ms at {}",
+                thread != null ? thread.getJavaName() : "?", event.getDuration().toMillis(),
+                describe(event.getStackTrace()));
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "<no stack trace>";
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .limit(LOGGED_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining(" <- "));
+    }
+}
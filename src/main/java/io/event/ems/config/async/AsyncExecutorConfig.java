@@ -0,0 +1,127 @@
+package io.event.ems.config.async;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Các executor có tên cho {@code @Async}: mỗi loại thư và thông báo chạy trên pool riêng với hàng đợi
+ * giới hạn, nên thư OTP không bao giờ xếp hàng sau thư hàng loạt.
+ * <p>
+ * Spring Boot tự gắn metric {@code executor.*} (active, queued, queue.remaining, pool.size...) cho mọi
+ * {@link ThreadPoolTaskExecutor}; ở đây bổ sung {@code executor.queue.wait} (thời gian chờ trong hàng đợi)
+ * và {@code executor.rejected} (số việc bị tràn hàng đợi). Khi tắt ứng dụng, các pool ngừng nhận việc
+ * và chờ tối đa {@code ems.async.shutdown-timeout} để gửi nốt thư đang xếp hàng.
+ * <p>
+ * Khi bật {@code spring.threads.virtual.enabled}, worker của từng pool là virtual thread nhưng kích thước
+ * pool và hàng đợi vẫn giữ nguyên, nên giới hạn đồng thời (ví dụ số kết nối SMTP) không đổi;
+ * {@code thread-priority} bị bỏ qua vì virtual thread không có độ ưu tiên.
+ */
+@Configuration
+@EnableConfigurationProperties(AsyncExecutorProperties.class)
+@Slf4j
+public class AsyncExecutorConfig {
+
+    public static final String OTP_MAIL_EXECUTOR = "otpMailExecutor";
+    public static final String PURCHASE_MAIL_EXECUTOR = "purchaseMailExecutor";
+    public static final String WELCOME_MAIL_EXECUTOR = "welcomeMailExecutor";
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+
+    private final AsyncExecutorProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final boolean virtualThreads;
+
+    public AsyncExecutorConfig(AsyncExecutorProperties properties, ObjectProvider<MeterRegistry> meterRegistry,
+                               Environment environment) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    @Bean(name = OTP_MAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor otpMailExecutor() {
+        return buildExecutor(OTP_MAIL_EXECUTOR, "mail-otp-", properties.getOtpMail());
+    }
+
+    @Bean(name = PURCHASE_MAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor purchaseMailExecutor() {
+        return buildExecutor(PURCHASE_MAIL_EXECUTOR, "mail-purchase-", properties.getPurchaseMail());
+    }
+
+    @Bean(name = WELCOME_MAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor welcomeMailExecutor() {
+        return buildExecutor(WELCOME_MAIL_EXECUTOR, "mail-welcome-", properties.getWelcomeMail());
+    }
+
+    @Bean(name = NOTIFICATION_EXECUTOR)
+    public ThreadPoolTaskExecutor notificationExecutor() {
+        return buildExecutor(NOTIFICATION_EXECUTOR, "notification-", properties.getNotification());
+    }
+
+    private ThreadPoolTaskExecutor buildExecutor(String name, String threadPrefix, AsyncExecutorProperties.Pool pool) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(pool.getCoreSize());
+        executor.setMaxPoolSize(Math.max(pool.getCoreSize(), pool.getMaxSize()));
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setThreadNamePrefix(threadPrefix);
+        if (virtualThreads) {
+            executor.setVirtualThreads(true);
+        } else {
+            executor.setThreadPriority(pool.getThreadPriority());
+        }
+        executor.setRejectedExecutionHandler(rejectionHandler(name, pool.getOverflow()));
+        executor.setTaskDecorator(queueWaitDecorator(name));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(properties.getShutdownTimeout().toMillis());
+        return executor;
+    }
+
+    private RejectedExecutionHandler rejectionHandler(String name, AsyncExecutorProperties.Overflow overflow) {
+        Counter rejected = Counter.builder("executor.rejected")
+                .description("Tasks that overflowed the executor queue")
+                .tag("name", name)
+                .tag("overflow", overflow.name().toLowerCase())
+                .register(meterRegistry);
+        RejectedExecutionHandler delegate = overflow == AsyncExecutorProperties.Overflow.CALLER_RUNS
+                ? new ThreadPoolExecutor.CallerRunsPolicy()
+                : new ThreadPoolExecutor.DiscardPolicy();
+        return (task, executor) -> {
+            rejected.increment();
+            if (executor.isShutdown()) {
+                // Đang tắt: việc mới không còn được nhận, chỉ các việc đã xếp hàng được xả
+                log.warn("Executor {} is shutting down, dropping task", name);
+                return;
+            }
+            log.warn("Executor {} saturated (queue {}), overflow policy {}", name, executor.getQueue().size(), overflow);
+            delegate.rejectedExecution(task, executor);
+        };
+    }
+
+    private TaskDecorator queueWaitDecorator(String name) {
+        Timer queueWait = Timer.builder("executor.queue.wait")
+                .description("Time tasks spent waiting in the executor queue")
+                .tag("name", name)
+                .register(meterRegistry);
+        return task -> {
+            long submittedAt = System.nanoTime();
+            return () -> {
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                task.run();
+            };
+        };
+    }
+}
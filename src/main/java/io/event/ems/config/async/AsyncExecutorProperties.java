@@ -0,0 +1,61 @@
+package io.event.ems.config.async;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Cấu hình các executor riêng cho công việc bất đồng bộ ({@code ems.async.*}).
+ * Mỗi loại công việc có pool và hàng đợi giới hạn riêng để SMTP chậm ở một loại thư
+ * không làm nghẽn các loại khác.
+ */
+@Data
+@ConfigurationProperties(prefix = "ems.async")
+public class AsyncExecutorProperties {
+
+    // Thời gian tối đa chờ xả hết hàng đợi khi tắt ứng dụng
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+    // OTP: người dùng đang chờ mã, ưu tiên cao nhất và hàng đợi ngắn
+    private Pool otpMail = new Pool(2, 4, 200, Thread.NORM_PRIORITY + 2, Overflow.CALLER_RUNS);
+
+    // Vé điện tử đính kèm QR: không được làm mất, đầy hàng đợi thì chạy ngay trên thread gọi
+    private Pool purchaseMail = new Pool(2, 4, 500, Thread.NORM_PRIORITY, Overflow.CALLER_RUNS);
+
+    // Thư chào mừng: gửi hàng loạt, bỏ qua khi quá tải
+    private Pool welcomeMail = new Pool(1, 2, 1000, Thread.MIN_PRIORITY, Overflow.DISCARD);
+
+    private Pool notification = new Pool(2, 4, 1000, Thread.NORM_PRIORITY, Overflow.CALLER_RUNS);
+
+    /**
+     * Cách xử lý khi hàng đợi đầy.
+     */
+    public enum Overflow {
+        // Chạy đồng bộ trên thread gọi: tạo áp lực ngược thay vì làm mất việc
+        CALLER_RUNS,
+        // Bỏ việc mới và ghi log
+        DISCARD
+    }
+
+    @Data
+    public static class Pool {
+        private int coreSize;
+        // Chỉ tạo thêm thread vượt coreSize khi hàng đợi đã đầy
+        private int maxSize;
+        private int queueCapacity;
+        private int threadPriority;
+        private Overflow overflow;
+
+        public Pool() {
+        }
+
+        public Pool(int coreSize, int maxSize, int queueCapacity, int threadPriority, Overflow overflow) {
+            this.coreSize = coreSize;
+            this.maxSize = maxSize;
+            this.queueCapacity = queueCapacity;
+            this.threadPriority = threadPriority;
+            this.overflow = overflow;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package io.event.ems.config.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Gộp các lần tính lại cùng một khóa cache:
+ * <ul>
+ *     <li>trong một node: các luồng trượt cùng khóa chờ chung một phép tính đang chạy;</li>
+ *     <li>giữa các node: một lease ngắn trong Redis ({@code SET NX PX}) chỉ cho một node tính,
+ *     các node khác chờ giá trị xuất hiện ở L2.</li>
+ * </ul>
+ * Nếu Redis lỗi, lease coi như giành được để request vẫn được phục vụ.
+ */
+@Slf4j
+public class SingleFlight {
+
+    private static final String LEASE_PREFIX = "ems:cache:lease:";
+
+    // Chỉ xóa lease nếu vẫn là của mình (lease có thể đã hết hạn và bị node khác giành)
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Duration leaseTtl;
+
+    public SingleFlight(RedisTemplate<String, String> redisTemplate, Duration leaseTtl) {
+        this.redisTemplate = redisTemplate;
+        this.leaseTtl = leaseTtl;
+    }
+
+    /**
+     * Chạy {@code loader} nếu chưa có luồng nào trong node đang tính {@code key}; ngược lại chờ và dùng chung kết quả.
+     *
+     * @param onCoalesced gọi khi luồng hiện tại chỉ chờ kết quả của luồng khác
+     */
+    public Object execute(String key, Supplier<Object> loader, Runnable onCoalesced) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            onCoalesced.run();
+            return join(existing);
+        }
+        try {
+            Object value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * @return token của lease, hoặc null nếu node khác đang giữ.
+     */
+    public String tryAcquireLease(String key) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(LEASE_PREFIX + key, token, leaseTtl);
+            return Boolean.FALSE.equals(acquired) ? null : token;
+        } catch (Exception e) {
+            log.warn("Could not acquire cache lease for {}, computing without it: {}", key, e.getMessage());
+            return token;
+        }
+    }
+
+    public void releaseLease(String key, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(LEASE_PREFIX + key), token);
+        } catch (Exception e) {
+            // Lease tự hết hạn theo leaseTtl
+            log.debug("Could not release cache lease for {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Thời gian sống còn lại của khóa Redis, hoặc -1 nếu không xác định được.
+     */
+    public long remainingTtlMillis(String redisKey) {
+        try {
+            Long ttl = redisTemplate.getExpire(redisKey, TimeUnit.MILLISECONDS);
+            return ttl != null ? ttl : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
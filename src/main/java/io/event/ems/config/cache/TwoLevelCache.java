@@ -0,0 +1,312 @@
+package io.event.ems.config.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cache hai tầng: đọc L1 (Caffeine, trong tiến trình) trước, trượt thì đọc L2 (Redis) rồi nạp ngược vào L1.
+ * Ghi/xóa đi qua cả hai tầng và phát thông điệp để các node khác bỏ bản L1 của khóa đó.
+ * <p>
+ * Giá trị trong L1 là cùng một instance trả cho mọi caller, nên không được sửa đổi đối tượng lấy từ cache.
+ * <p>
+ * Với {@code @Cacheable(sync = true)}, lần trượt được gộp qua {@link SingleFlight} (một phép tính mỗi khóa
+ * trong node, một node mỗi khóa trong cluster) và khóa sắp hết hạn được làm mới sớm theo xác suất (XFetch):
+ * request bị chọn vẫn nhận ngay giá trị hiện tại từ L2, còn phép tính lại chạy nền trên {@code refreshExecutor}
+ * nên không request nào phải chờ nó. Phép tính nền không mang theo ngữ cảnh request của người gọi.
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private static final long REMOTE_POLL_INTERVAL_MILLIS = 50;
+    private static final double LOAD_TIME_SMOOTHING = 0.2;
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> l1;
+    private final Cache l2;
+    private final InvalidationPublisher invalidationPublisher;
+    private final SingleFlight singleFlight;
+    private final String redisKeyPrefix;
+    private final Duration leaseWait;
+    private final double earlyRefreshBeta;
+    private final Executor refreshExecutor;
+
+    // Khóa đang được làm mới nền trong node này
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    // Thời gian tính lại trung bình (EWMA, ms) của cache này, là "delta" trong XFetch
+    private volatile double averageLoadMillis;
+
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter l2Puts;
+    private final Counter l2Evictions;
+    private final Counter remoteInvalidations;
+    private final Counter coalescedLoads;
+    private final Counter remoteLoads;
+    private final Counter earlyRefreshes;
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> l1,
+                         Cache l2,
+                         InvalidationPublisher invalidationPublisher,
+                         SingleFlight singleFlight,
+                         String redisKeyPrefix,
+                         Duration leaseWait,
+                         double earlyRefreshBeta,
+                         Executor refreshExecutor,
+                         MeterRegistry meterRegistry) {
+        super(false);
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.invalidationPublisher = invalidationPublisher;
+        this.singleFlight = singleFlight;
+        this.redisKeyPrefix = redisKeyPrefix;
+        this.leaseWait = leaseWait;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.refreshExecutor = refreshExecutor;
+        this.l2Hits = counter(meterRegistry, "cache.gets", "result", "hit");
+        this.l2Misses = counter(meterRegistry, "cache.gets", "result", "miss");
+        this.l2Puts = counter(meterRegistry, "cache.puts");
+        this.l2Evictions = counter(meterRegistry, "cache.evictions");
+        this.remoteInvalidations = Counter.builder("cache.invalidations")
+                .description("L1 entries dropped because another node changed the key")
+                .tags("cache", name, "tier", "l1")
+                .register(meterRegistry);
+        this.coalescedLoads = loadCounter(meterRegistry, "coalesced");
+        this.remoteLoads = loadCounter(meterRegistry, "remote");
+        this.earlyRefreshes = loadCounter(meterRegistry, "early_refresh");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l1;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = l1.getIfPresent(localKey);
+        if (value != null) {
+            return value;
+        }
+        ValueWrapper wrapper = l2.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        l1.put(localKey, wrapper.get());
+        return wrapper.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = l1.getIfPresent(localKey);
+        if (value != null) {
+            return (T) value;
+        }
+        return (T) singleFlight.execute(name + "::" + localKey,
+                () -> loadThrough(key, localKey, valueLoader),
+                coalescedLoads::increment);
+    }
+
+    // Chỉ một luồng mỗi khóa trong node chạy tới đây
+    private Object loadThrough(Object key, String localKey, Callable<?> valueLoader) {
+        String leaseKey = name + "::" + localKey;
+        ValueWrapper wrapper = l2.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            l2Hits.increment();
+            if (shouldRefreshEarly(localKey)) {
+                refreshInBackground(key, localKey, valueLoader);
+            }
+            l1.put(localKey, wrapper.get());
+            return wrapper.get();
+        }
+        l2Misses.increment();
+
+        String token = singleFlight.tryAcquireLease(leaseKey);
+        if (token != null) {
+            try {
+                return computeAndPut(key, valueLoader);
+            } finally {
+                singleFlight.releaseLease(leaseKey, token);
+            }
+        }
+
+        // Node khác đang tính: chờ giá trị xuất hiện ở L2 thay vì cùng đánh vào DB
+        Object remote = awaitRemoteValue(key);
+        if (remote != null) {
+            remoteLoads.increment();
+            l1.put(localKey, remote);
+            return remote;
+        }
+        return computeAndPut(key, valueLoader);
+    }
+
+    private void refreshInBackground(Object key, String localKey, Callable<?> valueLoader) {
+        if (!refreshing.add(localKey)) {
+            return;
+        }
+        String leaseKey = name + "::" + localKey;
+        String token = singleFlight.tryAcquireLease(leaseKey);
+        if (token == null) {
+            refreshing.remove(localKey);
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    computeAndPut(key, valueLoader);
+                } catch (RuntimeException e) {
+                    // Giá trị cũ vẫn còn trong L2 tới hết TTL, lần trượt sau sẽ tính lại
+                    log.warn("Early refresh of cache {} key {} failed: {}", name, localKey, e.getMessage());
+                } finally {
+                    singleFlight.releaseLease(leaseKey, token);
+                    refreshing.remove(localKey);
+                }
+            });
+            earlyRefreshes.increment();
+        } catch (RejectedExecutionException e) {
+            singleFlight.releaseLease(leaseKey, token);
+            refreshing.remove(localKey);
+        }
+    }
+
+    private Object computeAndPut(Object key, Callable<?> valueLoader) {
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        recordLoadTime((System.nanoTime() - start) / 1_000_000.0);
+        put(key, value);
+        return value;
+    }
+
+    private Object awaitRemoteValue(Object key) {
+        long deadline = System.nanoTime() + leaseWait.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(REMOTE_POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            ValueWrapper wrapper = l2.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                return wrapper.get();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * XFetch: làm mới khi {@code delta * beta * -ln(rand) >= ttl còn lại}. Xác suất tăng dần khi gần hết hạn
+     * và khi phép tính càng đắt, nên chỉ một vài request tính lại thay vì tất cả cùng lúc khi khóa hết hạn.
+     */
+    private boolean shouldRefreshEarly(String localKey) {
+        double delta = averageLoadMillis;
+        if (earlyRefreshBeta <= 0 || delta <= 0) {
+            return false;
+        }
+        long remaining = singleFlight.remainingTtlMillis(redisKeyPrefix + localKey);
+        if (remaining < 0) {
+            return false;
+        }
+        double gap = -delta * earlyRefreshBeta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return gap >= remaining;
+    }
+
+    private void recordLoadTime(double millis) {
+        double previous = averageLoadMillis;
+        averageLoadMillis = previous <= 0 ? millis : previous + LOAD_TIME_SMOOTHING * (millis - previous);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            // L2 tắt cache null và Caffeine không nhận null: chỉ đảm bảo không còn bản cũ
+            evict(key);
+            return;
+        }
+        l2.put(key, value);
+        l2Puts.increment();
+        l1.put(localKey(key), value);
+        invalidationPublisher.publish(name, localKey(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        l2Evictions.increment();
+        l1.invalidate(localKey(key));
+        invalidationPublisher.publish(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        l1.invalidateAll();
+        invalidationPublisher.publish(name, null);
+    }
+
+    /**
+     * Áp dụng thông điệp invalidation từ node khác: chỉ bỏ L1, L2 đã được node kia cập nhật.
+     */
+    void invalidateLocal(String localKey) {
+        remoteInvalidations.increment();
+        if (localKey == null) {
+            l1.invalidateAll();
+        } else {
+            l1.invalidate(localKey);
+        }
+    }
+
+    // Khóa L1 là dạng chuỗi giống khóa Redis, để thông điệp invalidation chỉ cần mang chuỗi
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String meterName, String... extraTags) {
+        return Counter.builder(meterName)
+                .tags("cache", name, "tier", "l2")
+                .tags(extraTags)
+                .register(meterRegistry);
+    }
+
+    private Counter loadCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("cache.singleflight")
+                .description("Cache loads avoided or triggered by single-flight coordination")
+                .tags("cache", name, "outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    public interface InvalidationPublisher {
+        /**
+         * @param localKey null nghĩa là xóa toàn bộ cache.
+         */
+        void publish(String cacheName, String localKey);
+    }
+}
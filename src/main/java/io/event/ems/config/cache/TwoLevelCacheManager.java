@@ -0,0 +1,132 @@
+package io.event.ems.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CacheManager hai tầng: mỗi cache gồm L1 Caffeine giới hạn kích thước/thời gian và L2 là cache Redis tương ứng.
+ * <p>
+ * Khi một node ghi hoặc xóa khóa, thông điệp được phát trên {@link #INVALIDATION_CHANNEL} để các node khác
+ * bỏ bản L1 của khóa đó. TTL L1 ngắn giới hạn thời gian dữ liệu cũ nếu thông điệp bị mất.
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager
+        implements MessageListener, DisposableBean {
+
+    public static final String INVALIDATION_CHANNEL = "ems:cache:invalidate";
+
+    // Phân tách các trường trong thông điệp: nodeId, tên cache, khóa (trống = xóa toàn bộ)
+    private static final String SEPARATOR = "\n";
+
+    // Làm mới sớm (XFetch) là việc tùy chọn: pool nhỏ, hàng đợi ngắn, tràn thì bỏ qua và dùng tiếp giá trị cũ
+    private static final int REFRESH_THREADS = 2;
+    private static final int REFRESH_QUEUE_CAPACITY = 64;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> twoLevelCaches = new ConcurrentHashMap<>();
+
+    private final RedisCacheManager redisCacheManager;
+    private final TwoLevelCacheProperties properties;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final SingleFlight singleFlight;
+    private final ThreadPoolExecutor refreshExecutor;
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager,
+                                TwoLevelCacheProperties properties,
+                                RedisTemplate<String, String> redisTemplate,
+                                MeterRegistry meterRegistry) {
+        this.redisCacheManager = redisCacheManager;
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.singleFlight = new SingleFlight(redisTemplate, properties.getLeaseTtl());
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-refresh-");
+        threadFactory.setDaemon(true);
+        this.refreshExecutor = new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.refreshExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return properties.getCaches().keySet().stream()
+                .map(this::createCache)
+                .toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            // Thông điệp của chính node này: L1 đã được cập nhật trực tiếp
+            return;
+        }
+        TwoLevelCache cache = twoLevelCaches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        String key = parts.length == 3 && !parts[2].isEmpty() ? parts[2] : null;
+        log.debug("Invalidating L1 cache {} key {} on request from node {}", parts[1], key, parts[0]);
+        cache.invalidateLocal(key);
+    }
+
+    private TwoLevelCache createCache(String name) {
+        return twoLevelCaches.computeIfAbsent(name, cacheName -> {
+            TwoLevelCacheProperties.Spec spec = properties.specFor(cacheName);
+            com.github.benmanes.caffeine.cache.Cache<String, Object> l1 = Caffeine.newBuilder()
+                    .maximumSize(spec.getL1MaxSize())
+                    .expireAfterWrite(spec.getL1Ttl())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, l1, cacheName, "tier", "l1");
+
+            if (!(redisCacheManager.getCache(cacheName) instanceof RedisCache l2)) {
+                throw new IllegalStateException("No Redis cache available for " + cacheName);
+            }
+            return new TwoLevelCache(cacheName, l1, l2, this::publishInvalidation, singleFlight,
+                    l2.getCacheConfiguration().getKeyPrefixFor(cacheName),
+                    properties.getLeaseWait(), properties.getEarlyRefreshBeta(), refreshExecutor, meterRegistry);
+        });
+    }
+
+    private void publishInvalidation(String cacheName, String localKey) {
+        String payload = String.join(SEPARATOR, nodeId, cacheName, localKey != null ? localKey : "");
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, payload);
+        } catch (Exception e) {
+            // Các node khác sẽ tự hết hạn L1 theo TTL
+            log.warn("Could not publish cache invalidation for {}: {}", cacheName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.event.ems.config.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cấu hình cache hai tầng ({@code ems.cache.*}): L1 Caffeine trong tiến trình, L2 Redis dùng chung.
+ * Mỗi cache có thể ghi đè riêng qua {@code ems.cache.caches.<tên-cache>.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "ems.cache")
+public class TwoLevelCacheProperties {
+
+    // Mặc định cho mọi cache
+    private Spec defaults = new Spec(10_000L, Duration.ofSeconds(30), null);
+
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    // Lease Redis cho phép một node tính lại khóa bị trượt; nên lớn hơn thời gian tính lâu nhất
+    private Duration leaseTtl = Duration.ofSeconds(10);
+
+    // Thời gian tối đa chờ node giữ lease ghi giá trị, quá hạn thì tự tính
+    private Duration leaseWait = Duration.ofSeconds(2);
+
+    // Hệ số XFetch cho làm mới sớm; 0 để tắt, lớn hơn 1 để làm mới sớm hơn
+    private double earlyRefreshBeta = 1.0;
+
+    public Spec specFor(String cacheName) {
+        Spec override = caches.get(cacheName);
+        if (override == null) {
+            return defaults;
+        }
+        return new Spec(
+                override.getL1MaxSize() != null ? override.getL1MaxSize() : defaults.getL1MaxSize(),
+                override.getL1Ttl() != null ? override.getL1Ttl() : defaults.getL1Ttl(),
+                override.getL2Ttl() != null ? override.getL2Ttl() : defaults.getL2Ttl());
+    }
+
+    @Data
+    public static class Spec {
+        private Long l1MaxSize;
+        // Nên ngắn hơn L2: giới hạn thời gian dữ liệu cũ nếu lỡ mất thông điệp invalidation
+        private Duration l1Ttl;
+        // null: dùng spring.cache.redis.time-to-live
+        private Duration l2Ttl;
+
+        public Spec() {
+        }
+
+        public Spec(Long l1MaxSize, Duration l1Ttl, Duration l2Ttl) {
+            this.l1MaxSize = l1MaxSize;
+            this.l1Ttl = l1Ttl;
+            this.l2Ttl = l2Ttl;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package io.event.ems.config.datasource;
+
+import java.lang.annotation.*;
+
+/**
+ * Đánh dấu lớp/phương thức thuộc luồng thanh toán: mọi connection mở bên trong đi qua pool {@link Workload#CHECKOUT}.
+ * Không thay cho {@code @Transactional}, chỉ quyết định pool.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CheckoutTx {
+}
@@ -0,0 +1,136 @@
+package io.event.ems.config.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Bọc DataSource để đo thời gian từng lần execute của Statement/PreparedStatement và chuyển cho
+ * {@link SlowQueryRecorder}. Các lời gọi JDBC khác đi thẳng xuống connection thật.
+ * <p>
+ * {@code unwrap()} vẫn trả về pool bên dưới nên metric Hikari của Spring Boot không bị ảnh hưởng.
+ */
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    private final SlowQueryRecorder recorder;
+
+    public ProfilingDataSource(DataSource targetDataSource, SlowQueryRecorder recorder) {
+        super(targetDataSource);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "prepareStatement": {
+                    PreparedStatement statement = (PreparedStatement) ProfilingDataSource.invoke(target, method, args);
+                    return Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(),
+                            new Class<?>[]{PreparedStatement.class},
+                            new StatementHandler(statement, (Connection) proxy, (String) args[0]));
+                }
+                case "createStatement": {
+                    Statement statement = (Statement) ProfilingDataSource.invoke(target, method, args);
+                    return Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(),
+                            new Class<?>[]{Statement.class},
+                            new StatementHandler(statement, (Connection) proxy, null));
+                }
+                default:
+                    return ProfilingDataSource.invoke(target, method, args);
+            }
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final Connection connectionProxy;
+        private final String preparedSql;
+        // Chỉ PreparedStatement có tham số; Statement thường mang SQL trong lời gọi execute
+        private final SortedMap<Integer, Object> parameters;
+        private String batchSql;
+
+        private StatementHandler(Statement target, Connection connectionProxy, String preparedSql) {
+            this.target = target;
+            this.connectionProxy = connectionProxy;
+            this.preparedSql = preparedSql;
+            this.parameters = preparedSql != null ? new TreeMap<>() : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = preparedSql != null ? preparedSql
+                        : args != null && args.length > 0 && args[0] instanceof String s ? s
+                        : batchSql;
+                long start = System.nanoTime();
+                try {
+                    return ProfilingDataSource.invoke(target, method, args);
+                } finally {
+                    if (sql != null) {
+                        recorder.record(getTargetDataSource(), sql, System.nanoTime() - start, parameters);
+                    }
+                }
+            }
+            if (parameters != null && name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (parameters != null && name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (preparedSql == null && name.equals("addBatch") && args != null && args.length == 1) {
+                batchSql = (String) args[0];
+            }
+            return switch (name) {
+                case "getConnection" -> connectionProxy;
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> ProfilingDataSource.invoke(target, method, args);
+            };
+        }
+    }
+}
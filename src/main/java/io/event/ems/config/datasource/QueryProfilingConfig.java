@@ -0,0 +1,57 @@
+package io.event.ems.config.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Thay cho {@code spring.jpa.show-sql}: đo thời gian mọi câu SQL trên DataSource chính, ghi log câu chậm kèm
+ * EXPLAIN và công bố các fingerprint chậm nhất qua {@code /actuator/slowqueries}.
+ * <p>
+ * Độ trễ theo từng phương thức repository đã có sẵn qua metric {@code spring.data.repository.invocations}
+ * của Spring Boot; ở đây chỉ bổ sung tầng JDBC bên dưới. Tắt bằng {@code ems.query-profiling.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ems.query-profiling", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(QueryProfilingProperties.class)
+@Slf4j
+public class QueryProfilingConfig {
+
+    // Bean mặc định của Spring Boot và bean @Primary của ReplicaRoutingConfig/WorkloadPoolConfig đều mang tên này
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public SlowQueryRecorder slowQueryRecorder(QueryProfilingProperties properties, MeterRegistry meterRegistry) {
+        return new SlowQueryRecorder(properties, meterRegistry);
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryRecorder slowQueryRecorder) {
+        return new SlowQueryEndpoint(slowQueryRecorder);
+    }
+
+    /**
+     * Chỉ bọc DataSource mà JPA dùng; các pool Hikari bên dưới routing không bị bọc thêm lần nữa.
+     */
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor(ObjectProvider<SlowQueryRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof ProfilingDataSource)) {
+                    log.info("Query profiling enabled on data source '{}'", beanName);
+                    return new ProfilingDataSource(dataSource, recorder.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package io.event.ems.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Cấu hình đo thời gian câu SQL ({@code ems.query-profiling.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "ems.query-profiling")
+public class QueryProfilingProperties {
+
+    private boolean enabled = true;
+
+    // Câu chạy lâu hơn ngưỡng này được ghi log WARN kèm kiểu tham số và kế hoạch thực thi
+    private Duration slowThreshold = Duration.ofMillis(200);
+
+    // Chạy EXPLAIN (không ANALYZE) cho câu SELECT chậm, trên connection riêng và thread nền
+    private boolean explain = true;
+
+    // Mỗi fingerprint chỉ EXPLAIN lại sau khoảng này để không dồn tải lên DB đang chậm
+    private Duration explainInterval = Duration.ofMinutes(10);
+
+    // Số fingerprint tối đa được theo dõi; câu mới vượt giới hạn chỉ còn được tính vào metric tổng
+    private int maxFingerprints = 1000;
+
+    // Số fingerprint mặc định trả về ở /actuator/slowqueries
+    private int topN = 20;
+}
@@ -0,0 +1,24 @@
+package io.event.ems.config.datasource;
+
+/**
+ * Cờ theo luồng: khi bật, mọi transaction (kể cả readOnly) trong request hiện tại đi về primary.
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+
+    public static void clear() {
+        PINNED_TO_PRIMARY.remove();
+    }
+}
@@ -0,0 +1,44 @@
+package io.event.ems.config.datasource;
+
+import io.event.ems.security.CustomUserDetails;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Chạy sau Spring Security: nếu người dùng hiện tại vừa mua vé, ghim cả request về primary.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadYourWritesService readYourWritesService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !readYourWritesService.isRoutingEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails user
+                    && readYourWritesService.hasRecentWrite(user.getId())) {
+                ReadYourWritesContext.pinToPrimary();
+            }
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+    }
+}
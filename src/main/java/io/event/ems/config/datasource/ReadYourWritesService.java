@@ -0,0 +1,59 @@
+package io.event.ems.config.datasource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Ghi nhớ (trong Redis, dùng chung mọi node) rằng người dùng vừa ghi dữ liệu quan trọng, vd. mua vé,
+ * để các request đọc tiếp theo của họ trong {@code read-your-writes-window} không đọc từ replica còn trễ.
+ * Không làm gì khi định tuyến replica đang tắt.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReadYourWritesService {
+
+    private static final String KEY_PREFIX = "ems:ryw:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${ems.datasource.routing.enabled:false}")
+    private boolean routingEnabled;
+
+    @Value("${ems.datasource.routing.read-your-writes-window:30s}")
+    private Duration window;
+
+    public void markWrite(UUID userId) {
+        if (!routingEnabled || userId == null) {
+            return;
+        }
+        ReadYourWritesContext.pinToPrimary();
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + userId, "1", window);
+        } catch (Exception e) {
+            log.warn("Could not record recent write for user [{}]: {}", userId, e.getMessage());
+        }
+    }
+
+    public boolean hasRecentWrite(UUID userId) {
+        if (!routingEnabled || userId == null) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + userId));
+        } catch (Exception e) {
+            // Không chắc chắn thì đọc từ primary cho an toàn
+            return true;
+        }
+    }
+
+    public boolean isRoutingEnabled() {
+        return routingEnabled;
+    }
+}
@@ -0,0 +1,79 @@
+package io.event.ems.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bật bằng {@code ems.datasource.routing.enabled=true}: transaction readOnly đọc từ replica,
+ * phần còn lại (giữ vé, thanh toán, ghi) đi về primary. Khi tắt, Spring Boot tự cấu hình một DataSource như cũ.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ems.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+@Slf4j
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             ReplicaRoutingProperties routingProperties,
+                                                             ObjectProvider<WorkloadRoutingDataSource> bulkheads,
+                                                             Environment environment) {
+        // Có bulkhead thì primary đã được chia pool theo loại tải
+        WorkloadRoutingDataSource bulkhead = bulkheads.getIfAvailable();
+        DataSource primary = bulkhead != null ? bulkhead : primaryPool(dataSourceProperties, environment);
+
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < routingProperties.getReplicas().size(); i++) {
+            ReplicaRoutingProperties.Replica replica = routingProperties.getReplicas().get(i);
+            HikariDataSource replicaDataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            // Cùng thiết lập connection (gồm connection-init-sql) với primary, chỉ khác kích thước pool
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(replicaDataSource));
+            replicaDataSource.setPoolName("ems-replica-" + i);
+            replicaDataSource.setMaximumPoolSize(routingProperties.getReplicaPoolSize());
+            replicaDataSource.setReadOnly(true);
+            replicas.put("replica-" + i, replicaDataSource);
+        }
+        log.info("Read/write routing enabled with {} replica(s), max lag {}",
+                replicas.size(), routingProperties.getMaxLag());
+
+        return new ReplicaRoutingDataSource(primary, replicas, routingProperties.getMaxLag());
+    }
+
+    private static HikariDataSource primaryPool(DataSourceProperties dataSourceProperties, Environment environment) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        // Giữ nguyên các thiết lập spring.datasource.hikari.* cho primary
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("ems-primary");
+        return primary;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,116 @@
+package io.event.ems.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gửi transaction readOnly tới một replica khỏe (round-robin), mọi thứ khác tới primary.
+ * <p>
+ * Phải được bọc trong {@code LazyConnectionDataSourceProxy}: JPA lấy connection ngay khi bắt đầu transaction,
+ * trước khi cờ readOnly được gắn vào TransactionSynchronizationManager.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY_KEY = "primary";
+
+    // Trả NULL (không khỏe) khi replica không có tiến trình WAL receiver đang stream từ primary. Nếu đã replay
+    // hết WAL nhận được thì coi như bắt kịp; còn WAL chờ replay thì độ trễ là tuổi của giao dịch replay gần nhất
+    // (NULL nếu chưa replay giao dịch nào), nên replay bị kẹt sẽ tăng dần và vượt ngưỡng.
+    // Người dùng thiếu quyền pg_read_all_stats chỉ thấy cột pid của pg_stat_wal_receiver (status là NULL).
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver
+                                        WHERE status IS NULL OR status = 'streaming') THEN NULL
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+                   END""";
+
+    private final DataSource primary;
+    private final Map<String, HikariDataSource> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    // Rỗng cho tới lần kiểm tra đầu tiên: replica chưa được đo thì không nhận read
+    private volatile List<String> healthyReplicas = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, HikariDataSource> replicas, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY_KEY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        refreshReplicaHealth();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReadYourWritesContext.isPinnedToPrimary()) {
+            return PRIMARY_KEY;
+        }
+        List<String> candidates = this.healthyReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY_KEY;
+        }
+        return candidates.get(Math.floorMod(counter.getAndIncrement(), candidates.size()));
+    }
+
+    /**
+     * Đo độ trễ từng replica; replica lỗi hoặc trễ quá {@code maxLag} bị tạm loại (fallback về primary).
+     */
+    @Scheduled(fixedDelayString = "${ems.datasource.routing.lag-check-interval:5s}")
+    public void refreshReplicaHealth() {
+        List<String> healthy = new ArrayList<>();
+        for (Map.Entry<String, HikariDataSource> replica : replicas.entrySet()) {
+            try (Connection connection = replica.getValue().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                double lagSeconds = rs.next() ? rs.getDouble(1) : Double.NaN;
+                if (Double.isNaN(lagSeconds) || rs.wasNull()) {
+                    log.warn("Replica [{}] is not streaming from primary, routing reads to other nodes", replica.getKey());
+                } else if (lagSeconds * 1000 <= maxLag.toMillis()) {
+                    healthy.add(replica.getKey());
+                } else {
+                    log.warn("Replica [{}] is lagging {}s behind primary, routing reads to other nodes", replica.getKey(), lagSeconds);
+                }
+            } catch (Exception e) {
+                log.warn("Replica [{}] health check failed: {}", replica.getKey(), e.getMessage());
+            }
+        }
+        if (!healthy.equals(this.healthyReplicas)) {
+            log.info("Healthy read replicas: {}", healthy);
+        }
+        this.healthyReplicas = List.copyOf(healthy);
+    }
+
+    @Override
+    public void destroy() {
+        replicas.values().forEach(HikariDataSource::close);
+        // Primary là router bulkhead thì do chính bean đó tự đóng các pool
+        if (primary instanceof HikariDataSource hikari) {
+            hikari.close();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.event.ems.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cấu hình định tuyến đọc/ghi ({@code ems.datasource.routing.*}). Primary vẫn lấy từ {@code spring.datasource.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "ems.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Replica trễ hơn ngưỡng này bị loại khỏi vòng định tuyến cho đến lần kiểm tra sau
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    // Sau khi người dùng mua vé, các đọc của chính họ đi về primary trong khoảng này
+    private Duration readYourWritesWindow = Duration.ofSeconds(30);
+
+    private int replicaPoolSize = 10;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
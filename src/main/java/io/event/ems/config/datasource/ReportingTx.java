@@ -0,0 +1,13 @@
+package io.event.ems.config.datasource;
+
+import java.lang.annotation.*;
+
+/**
+ * Truy vấn báo cáo/quản trị chạy trên pool {@link Workload#REPORTING} nhỏ, để một trang thống kê nặng
+ * không chiếm connection của khách đang xem hay đang mua vé.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReportingTx {
+}
@@ -0,0 +1,40 @@
+package io.event.ems.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+/**
+ * Bảng được Hibernate tạo/cập nhật ({@code ddl-auto=update}); các migration Flyway chỉ bổ sung phần JPA không
+ * biểu diễn được (extension, hàm {@code f_unaccent}, index trigram/keyset). Vì vậy Flyway phải chạy SAU khi
+ * EntityManagerFactory dựng xong schema, ngược với thứ tự mặc định của Spring Boot.
+ * <p>
+ * Database chưa có lịch sử Flyway được baseline ở V2 ({@code spring.flyway.baseline-version}): V2 là migration
+ * dữ liệu cũ từ cột {@code category_id}, schema hiện tại đã ở dạng bảng {@code event_categories}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.flyway", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SchemaMigrationConfig {
+
+    // Bỏ lượt migrate mà Spring Boot chạy trước khi dựng EntityManagerFactory
+    @Bean
+    public FlywayMigrationStrategy deferredFlywayMigrationStrategy() {
+        return flyway -> log.debug("Deferring Flyway migrations until Hibernate has updated the schema");
+    }
+
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public InitializingBean flywayMigrationAfterHibernate(Flyway flyway) {
+        return () -> {
+            int applied = flyway.migrate().migrationsExecuted;
+            log.info("Flyway applied {} migration(s), schema version {}", applied, flyway.info().current() != null
+                    ? flyway.info().current().getVersion() : "none");
+        };
+    }
+}
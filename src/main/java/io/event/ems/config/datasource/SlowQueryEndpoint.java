@@ -0,0 +1,30 @@
+package io.event.ems.config.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/slowqueries?limit=&sortBy=max|mean|total}: các fingerprint SQL chậm nhất từ lúc khởi động
+ * (hoặc từ lần reset gần nhất). {@code DELETE /actuator/slowqueries} xóa thống kê, ví dụ trước một đợt load test.
+ */
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final SlowQueryRecorder recorder;
+
+    @ReadOperation
+    public List<SlowQueryRecorder.QueryStatsView> slowQueries(@Nullable Integer limit, @Nullable String sortBy) {
+        return recorder.top(limit != null && limit > 0 ? limit : recorder.defaultLimit(), sortBy);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        recorder.reset();
+    }
+}
@@ -0,0 +1,220 @@
+package io.event.ems.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thống kê thời gian chạy theo fingerprint câu SQL và xử lý câu chậm.
+ * <p>
+ * Mọi câu được ghi vào timer {@code jdbc.statements} (tag theo loại câu, không theo nội dung để giữ số
+ * series nhỏ) và vào bảng fingerprint phục vụ {@code /actuator/slowqueries}. Câu vượt ngưỡng được ghi
+ * log kèm kiểu của tham số (không ghi giá trị), và với SELECT thì chạy EXPLAIN trên thread nền.
+ */
+@Slf4j
+public class SlowQueryRecorder implements DisposableBean {
+
+    private final QueryProfilingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, QueryStats> stats = new ConcurrentHashMap<>();
+    // Hibernate dùng lại cùng vài trăm câu SQL: chỉ chuẩn hóa mỗi câu một lần
+    private final Cache<String, String> fingerprints = Caffeine.newBuilder().maximumSize(5_000).build();
+    private final AtomicBoolean overflowLogged = new AtomicBoolean();
+    private final ThreadPoolExecutor explainExecutor;
+
+    public SlowQueryRecorder(QueryProfilingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        // Một thread, hàng đợi ngắn: EXPLAIN chỉ là thông tin chẩn đoán, quá tải thì bỏ
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(16), runnable -> {
+            Thread thread = new Thread(runnable, "slow-query-explain");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Ghi nhận một lần thực thi.
+     *
+     * @param source     DataSource gốc (chưa bọc) dùng để chạy EXPLAIN.
+     * @param parameters Tham số đã bind theo vị trí; {@code null} với Statement thường.
+     */
+    public void record(DataSource source, String sql, long elapsedNanos, SortedMap<Integer, Object> parameters) {
+        String operation = SqlFingerprint.operationOf(sql);
+        timers.computeIfAbsent(operation, op -> Timer.builder("jdbc.statements")
+                        .description("JDBC statement execution time")
+                        .tag("operation", op)
+                        .register(meterRegistry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        String fingerprint = fingerprints.get(sql, SqlFingerprint::of);
+        QueryStats queryStats = stats.get(fingerprint);
+        if (queryStats == null) {
+            if (stats.size() >= properties.getMaxFingerprints()) {
+                if (overflowLogged.compareAndSet(false, true)) {
+                    log.warn("Query profiling is tracking {} fingerprints, new ones are no longer listed", stats.size());
+                }
+                return;
+            }
+            queryStats = stats.computeIfAbsent(fingerprint, f -> new QueryStats(f, operation));
+        }
+        queryStats.record(elapsedNanos);
+
+        if (elapsedNanos < properties.getSlowThreshold().toNanos()) {
+            return;
+        }
+        List<String> shapes = parameterShapes(parameters);
+        queryStats.markSlow(shapes);
+        // Fingerprint thay cho SQL gốc: câu chạy bằng Statement thường chứa giá trị literal ngay trong văn bản
+        log.warn("Slow query [{}] took {} ms, params {}: {}", queryStats.id, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                shapes, fingerprint);
+        if (properties.isExplain() && "select".equals(operation) && queryStats.claimExplain(properties.getExplainInterval().toMillis())) {
+            Object[] values = parameters != null ? parameters.values().toArray() : new Object[0];
+            QueryStats slow = queryStats;
+            explainExecutor.execute(() -> explain(source, sql, values, slow));
+        }
+    }
+
+    /**
+     * Các fingerprint chậm nhất, sắp theo {@code sortBy}: {@code max} (mặc định), {@code mean} hoặc {@code total}.
+     */
+    public List<QueryStatsView> top(int limit, String sortBy) {
+        Comparator<QueryStatsView> order = switch (sortBy == null ? "max" : sortBy) {
+            case "mean" -> Comparator.comparingDouble(QueryStatsView::meanMs);
+            case "total" -> Comparator.comparingDouble(QueryStatsView::totalMs);
+            default -> Comparator.comparingDouble(QueryStatsView::maxMs);
+        };
+        return stats.values().stream()
+                .map(QueryStats::view)
+                .sorted(order.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public int defaultLimit() {
+        return properties.getTopN();
+    }
+
+    public void reset() {
+        stats.clear();
+        overflowLogged.set(false);
+    }
+
+    @Override
+    public void destroy() {
+        explainExecutor.shutdownNow();
+    }
+
+    private void explain(DataSource source, String sql, Object[] values, QueryStats queryStats) {
+        StringBuilder plan = new StringBuilder();
+        try (Connection connection = source.getConnection()) {
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < values.length; i++) {
+                    statement.setObject(i + 1, values[i]);
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Could not EXPLAIN slow query [{}]: {}", queryStats.id, e.getMessage());
+            return;
+        }
+        queryStats.plan = plan.toString();
+        log.warn("Plan for slow query [{}]:\n{}", queryStats.id, queryStats.plan);
+    }
+
+    private static List<String> parameterShapes(SortedMap<Integer, Object> parameters) {
+        if (parameters == null || parameters.isEmpty()) {
+            return List.of();
+        }
+        List<String> shapes = new ArrayList<>(parameters.size());
+        for (Object value : parameters.values()) {
+            if (value == null) {
+                shapes.add("null");
+            } else if (value instanceof Collection<?> collection) {
+                shapes.add(value.getClass().getSimpleName() + "[" + collection.size() + "]");
+            } else if (value.getClass().isArray()) {
+                shapes.add(value.getClass().getComponentType().getSimpleName() + "[" + java.lang.reflect.Array.getLength(value) + "]");
+            } else if (value instanceof java.sql.Array) {
+                shapes.add("Array");
+            } else {
+                shapes.add(value.getClass().getSimpleName());
+            }
+        }
+        return shapes;
+    }
+
+    /**
+     * Ảnh chụp thống kê một fingerprint, trả về qua actuator.
+     */
+    public record QueryStatsView(String id, String operation, String sql, long count, long slowCount,
+                                 double totalMs, double meanMs, double maxMs, Instant lastSlowAt,
+                                 List<String> lastSlowParameterTypes, String plan) {
+    }
+
+    private static final class QueryStats {
+        private final String fingerprint;
+        private final String id;
+        private final String operation;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder slowCount = new LongAdder();
+        private final AtomicLong lastExplainAt = new AtomicLong();
+        private volatile Instant lastSlowAt;
+        private volatile List<String> lastSlowParameterTypes = List.of();
+        private volatile String plan;
+
+        private QueryStats(String fingerprint, String operation) {
+            this.fingerprint = fingerprint;
+            this.id = SqlFingerprint.idOf(fingerprint);
+            this.operation = operation;
+        }
+
+        private void record(long elapsedNanos) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+
+        private void markSlow(List<String> parameterTypes) {
+            slowCount.increment();
+            lastSlowAt = Instant.now();
+            lastSlowParameterTypes = parameterTypes;
+        }
+
+        private boolean claimExplain(long intervalMillis) {
+            long now = System.currentTimeMillis();
+            long last = lastExplainAt.get();
+            return (last == 0 || now - last >= intervalMillis) && lastExplainAt.compareAndSet(last, now);
+        }
+
+        private QueryStatsView view() {
+            long executions = count.sum();
+            double totalMs = totalNanos.sum() / 1_000_000.0;
+            return new QueryStatsView(id, operation, fingerprint, executions, slowCount.sum(), totalMs,
+                    executions == 0 ? 0 : totalMs / executions, maxNanos.get() / 1_000_000.0,
+                    lastSlowAt, lastSlowParameterTypes, plan);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.event.ems.config.datasource;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Chuẩn hóa câu SQL thành fingerprint: bỏ giá trị literal và gộp danh sách IN, để các câu chỉ khác
+ * tham số được thống kê chung một dòng.
+ */
+final class SqlFingerprint {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprint() {
+    }
+
+    static String of(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    /**
+     * Mã ngắn để đối chiếu dòng log câu chậm với kết quả ở actuator.
+     */
+    static String idOf(String fingerprint) {
+        return String.format("%08x", fingerprint.hashCode());
+    }
+
+    static String operationOf(String sql) {
+        String head = sql.stripLeading();
+        int end = 0;
+        while (end < head.length() && Character.isLetter(head.charAt(end))) {
+            end++;
+        }
+        String keyword = head.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "with" -> "select";
+            case "insert", "update", "delete", "merge" -> keyword;
+            default -> "other";
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package io.event.ems.config.datasource;
+
+/**
+ * Loại tải dùng để chọn pool kết nối khi bật {@code ems.datasource.bulkhead.enabled}.
+ */
+public enum Workload {
+
+    // Giữ vé, thanh toán, hoàn tất đơn: luồng tạo doanh thu, luôn phải còn connection
+    CHECKOUT,
+
+    // Transaction readOnly của khách xem sự kiện/danh sách
+    BROWSING,
+
+    // Truy vấn quản trị/báo cáo quét nhiều dòng
+    REPORTING,
+
+    // Mọi thứ còn lại: đăng nhập, ghi dữ liệu quản trị, job nền
+    GENERAL
+}
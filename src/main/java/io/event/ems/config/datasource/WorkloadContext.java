@@ -0,0 +1,34 @@
+package io.event.ems.config.datasource;
+
+/**
+ * Loại tải khai báo tường minh cho luồng hiện tại; {@code null} nghĩa là để {@link WorkloadRoutingDataSource}
+ * tự suy ra từ transaction.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static Workload current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Đặt loại tải và trả về giá trị trước đó để khôi phục bằng {@link #restore(Workload)}.
+     */
+    static Workload enter(Workload workload) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    static void restore(Workload previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
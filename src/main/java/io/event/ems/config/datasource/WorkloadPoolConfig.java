@@ -0,0 +1,115 @@
+package io.event.ems.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.lang.annotation.Annotation;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Bật bằng {@code ems.datasource.bulkhead.enabled=true}: thay một pool dùng chung bằng các pool riêng cho thanh toán,
+ * xem sự kiện, báo cáo và phần còn lại, để lượt xem tăng vọt hay một báo cáo nặng không làm cạn connection
+ * của luồng mua vé. Mỗi pool mang tên {@code ems-<loại tải>} nên metric {@code hikaricp.connections.*} tách theo
+ * tag {@code pool}.
+ * <p>
+ * Khi bật cùng {@link ReplicaRoutingConfig}, router này đóng vai primary; đọc readOnly vẫn ưu tiên replica.
+ * <p>
+ * Yêu cầu {@code spring.jpa.open-in-view=false}: với open-in-view, connection đầu tiên của request được giữ tới khi
+ * ghi xong response nên pool bị chọn một lần cho cả request thay vì theo từng transaction.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ems.datasource.bulkhead", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(WorkloadPoolProperties.class)
+@Slf4j
+public class WorkloadPoolConfig {
+
+    @Bean
+    public WorkloadRoutingDataSource workloadRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                               WorkloadPoolProperties bulkheadProperties,
+                                                               MeterRegistry meterRegistry,
+                                                               Environment environment) {
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            throw new IllegalStateException("Connection bulkheads require spring.jpa.open-in-view=false");
+        }
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            WorkloadPoolProperties.Pool settings = bulkheadProperties.pool(workload);
+            HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setPoolName("ems-" + workload.name().toLowerCase());
+            pool.setMaximumPoolSize(settings.getMaximumPoolSize());
+            pool.setMinimumIdle(Math.min(settings.getMinimumIdle(), settings.getMaximumPoolSize()));
+            pool.setConnectionTimeout(settings.getConnectionTimeout().toMillis());
+            // Các pool này không phải bean nên Spring Boot không tự gắn metric cho chúng
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.put(workload, pool);
+        }
+        log.info("Connection bulkheads enabled: {}", pools.entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue().getMaximumPoolSize())
+                .toList());
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "ems.datasource.routing", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public DataSource dataSource(WorkloadRoutingDataSource workloadRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(workloadRoutingDataSource);
+    }
+
+    /**
+     * Đứng ngoài interceptor {@code @Transactional} để loại tải đã được đặt khi transaction mở connection.
+     * Role infrastructure để auto-proxy creator mặc định (không có AspectJ) nhận advisor này.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor checkoutWorkloadAdvisor() {
+        return workloadAdvisor(CheckoutTx.class, Workload.CHECKOUT);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor reportingWorkloadAdvisor() {
+        return workloadAdvisor(ReportingTx.class, Workload.REPORTING);
+    }
+
+    private static Advisor workloadAdvisor(Class<? extends Annotation> marker, Workload workload) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(marker, true))
+                .union(new AnnotationMatchingPointcut(null, marker, true));
+        MethodInterceptor interceptor = invocation -> {
+            Workload previous = WorkloadContext.enter(workload);
+            try {
+                return invocation.proceed();
+            } finally {
+                WorkloadContext.restore(previous);
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,48 @@
+package io.event.ems.config.datasource;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Kích thước và thời gian chờ của từng pool theo loại tải ({@code ems.datasource.bulkhead.*}).
+ * Các thiết lập khác (URL, tài khoản, {@code spring.datasource.hikari.*}) dùng chung với DataSource chính.
+ */
+@Data
+@ConfigurationProperties(prefix = "ems.datasource.bulkhead")
+public class WorkloadPoolProperties {
+
+    private boolean enabled = false;
+
+    // Giữ sẵn toàn bộ connection, chờ vừa đủ để vượt qua đợt tăng đột biến lúc mở bán
+    private Pool checkout = new Pool(10, 10, Duration.ofSeconds(3));
+
+    // Trang xem sự kiện phần lớn trúng cache; hết connection thì báo lỗi nhanh thay vì xếp hàng
+    private Pool browsing = new Pool(10, 2, Duration.ofSeconds(1));
+
+    // Báo cáo chịu chờ lâu nhưng chỉ được vài connection
+    private Pool reporting = new Pool(2, 0, Duration.ofSeconds(10));
+
+    private Pool general = new Pool(8, 2, Duration.ofSeconds(5));
+
+    public Pool pool(Workload workload) {
+        return switch (workload) {
+            case CHECKOUT -> checkout;
+            case BROWSING -> browsing;
+            case REPORTING -> reporting;
+            case GENERAL -> general;
+        };
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+        private int maximumPoolSize;
+        private int minimumIdle;
+        private Duration connectionTimeout;
+    }
+}
@@ -0,0 +1,43 @@
+package io.event.ems.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Chia kết nối tới cùng một database thành các pool cách ly (bulkhead) theo {@link Workload}:
+ * loại tải khai báo qua {@link CheckoutTx}/{@link ReportingTx} được ưu tiên, nếu không thì transaction readOnly
+ * thuộc {@link Workload#BROWSING} và phần còn lại thuộc {@link Workload#GENERAL}.
+ * <p>
+ * Giống {@link ReplicaRoutingDataSource}, cần bọc trong {@code LazyConnectionDataSourceProxy} để cờ readOnly
+ * đã được gắn trước khi chọn pool.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private final Map<Workload, HikariDataSource> pools;
+
+    public WorkloadRoutingDataSource(Map<Workload, HikariDataSource> pools) {
+        this.pools = new EnumMap<>(pools);
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(Workload.GENERAL));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Workload declared = WorkloadContext.current();
+        if (declared != null) {
+            return declared;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Workload.BROWSING : Workload.GENERAL;
+    }
+
+    @Override
+    public void destroy() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
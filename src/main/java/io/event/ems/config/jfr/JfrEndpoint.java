@@ -0,0 +1,80 @@
+package io.event.ems.config.jfr;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Điều khiển Java Flight Recorder qua actuator (chỉ ADMIN, trên cổng management):
+ * <ul>
+ *     <li>{@code GET /actuator/jfr}: trạng thái bản ghi nền, phiên đang chạy và các file hiện có.</li>
+ *     <li>{@code POST /actuator/jfr/start} với {@code {"profiles": "cpu,locks", "durationSeconds": 120}}:
+ *     bắt đầu phiên ghi ({@code cpu}, {@code allocation}, {@code locks}).</li>
+ *     <li>{@code POST /actuator/jfr/stop}: dừng phiên, trả về tên file và bản tóm tắt.</li>
+ *     <li>{@code POST /actuator/jfr/dump}: ghi ring buffer của bản ghi nền ra file, trả về tên file và bản tóm tắt.</li>
+ *     <li>{@code GET /actuator/jfr/{file}}: tải file .jfr để mở bằng JDK Mission Control.</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(prefix = "ems.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrEndpoint {
+
+    private final JfrRecordingService recordingService;
+
+    @ReadOperation
+    public JfrRecordingService.Status status() {
+        return recordingService.status();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector String file) {
+        return recordingService.find(file)
+                .<WebEndpointResponse<Resource>>map(path -> new WebEndpointResponse<>(new FileSystemResource(path)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> control(@Selector String action, @Nullable String profiles,
+                                               @Nullable Long durationSeconds) {
+        try {
+            Object body = switch (action) {
+                case "start" -> recordingService.startSession(parseProfiles(profiles),
+                        durationSeconds != null ? Duration.ofSeconds(durationSeconds) : null);
+                case "stop" -> recordingService.stopSession();
+                case "dump" -> recordingService.dumpContinuous();
+                default -> throw new IllegalArgumentException("Unknown action: " + action);
+            };
+            return new WebEndpointResponse<>(body);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return new WebEndpointResponse<>(e.getMessage(), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    private static Set<JfrProfile> parseProfiles(String profiles) {
+        if (profiles == null || profiles.isBlank()) {
+            return EnumSet.of(JfrProfile.CPU);
+        }
+        Set<JfrProfile> result = EnumSet.noneOf(JfrProfile.class);
+        Arrays.stream(profiles.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .forEach(name -> result.add(JfrProfile.valueOf(name.toUpperCase(Locale.ROOT))));
+        return result;
+    }
+}
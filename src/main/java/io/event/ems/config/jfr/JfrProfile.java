@@ -0,0 +1,38 @@
+package io.event.ems.config.jfr;
+
+import java.util.Map;
+
+/**
+ * Các cấu hình ghi dựng sẵn, chồng lên cấu hình "default" của JDK.
+ */
+public enum JfrProfile {
+
+    // Lấy mẫu CPU dày hơn mặc định (20 ms) để thấy rõ method nóng trong vài phút ghi
+    CPU(Map.of(
+            "jdk.ExecutionSample#enabled", "true",
+            "jdk.ExecutionSample#period", "10 ms",
+            "jdk.NativeMethodSample#period", "20 ms")),
+
+    ALLOCATION(Map.of(
+            "jdk.ObjectAllocationSample#enabled", "true",
+            "jdk.ObjectAllocationSample#throttle", "300/s",
+            "jdk.ObjectAllocationSample#stackTrace", "true")),
+
+    // Ghi mọi lần chờ monitor/park từ 5 ms, thay vì 20 ms như mặc định
+    LOCKS(Map.of(
+            "jdk.JavaMonitorEnter#enabled", "true",
+            "jdk.JavaMonitorEnter#threshold", "5 ms",
+            "jdk.JavaMonitorWait#threshold", "5 ms",
+            "jdk.ThreadPark#enabled", "true",
+            "jdk.ThreadPark#threshold", "5 ms"));
+
+    private final Map<String, String> settings;
+
+    JfrProfile(Map<String, String> settings) {
+        this.settings = settings;
+    }
+
+    public Map<String, String> getSettings() {
+        return settings;
+    }
+}
@@ -0,0 +1,44 @@
+package io.event.ems.config.jfr;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Cấu hình ghi Java Flight Recorder theo yêu cầu ({@code ems.jfr.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "ems.jfr")
+public class JfrProperties {
+
+    private boolean enabled = true;
+
+    // Thư mục chứa file .jfr; nên là volume để còn lấy được file sau khi container khởi động lại
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "ems-jfr");
+
+    // Chỉ giữ bấy nhiêu file mới nhất, file cũ bị xóa khi ghi file mới
+    private int maxFiles = 10;
+
+    // Phiên ghi theo yêu cầu tự dừng sau khoảng này nếu không ai gọi stop
+    private Duration defaultDuration = Duration.ofMinutes(2);
+    private Duration maxDuration = Duration.ofMinutes(15);
+
+    // Số dòng trong mỗi bảng tóm tắt (method nóng, nơi cấp phát, tranh chấp khóa)
+    private int summaryTopN = 15;
+
+    private Continuous continuous = new Continuous();
+
+    /**
+     * Bản ghi nền dạng ring buffer với cấu hình "default" của JDK (overhead khoảng 1%),
+     * dump ra file sau khi sự cố đã xảy ra.
+     */
+    @Data
+    public static class Continuous {
+        private boolean enabled = true;
+        private Duration maxAge = Duration.ofMinutes(30);
+        private DataSize maxSize = DataSize.ofMegabytes(100);
+    }
+}
@@ -0,0 +1,294 @@
+package io.event.ems.config.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Quản lý các bản ghi JFR của tiến trình: một bản ghi nền dạng ring buffer chạy liên tục và tối đa
+ * một phiên ghi theo yêu cầu (CPU, cấp phát, tranh chấp khóa) tại một thời điểm.
+ * <p>
+ * File được ghi vào {@code ems.jfr.directory} và chỉ giữ {@code ems.jfr.max-files} file mới nhất.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ems.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(JfrProperties.class)
+@Slf4j
+public class JfrRecordingService implements SmartLifecycle {
+
+    private static final String FILE_SUFFIX = ".jfr";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JfrProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Recording continuous;
+    private Recording session;
+    private Path sessionFile;
+
+    public JfrRecordingService(JfrProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.getContinuous().isEnabled()) {
+            return;
+        }
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName("ems-continuous");
+            recording.setToDisk(true);
+            recording.setMaxAge(properties.getContinuous().getMaxAge());
+            recording.setMaxSize(properties.getContinuous().getMaxSize().toBytes());
+            recording.start();
+            this.continuous = recording;
+            log.info("Continuous JFR recording started (max age {}, max size {})",
+                    properties.getContinuous().getMaxAge(), properties.getContinuous().getMaxSize());
+        } catch (Exception e) {
+            // JFR có thể bị tắt trên JVM đích; ứng dụng vẫn chạy bình thường
+            log.warn("Could not start continuous JFR recording: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            if (session != null) {
+                // Dừng trước khi đóng để phiên đang dở vẫn được ghi ra file
+                if (session.getState() == RecordingState.RUNNING) {
+                    session.stop();
+                }
+                session.close();
+                session = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        Recording recording = this.continuous;
+        this.continuous = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return continuous != null;
+    }
+
+    /**
+     * Bắt đầu một phiên ghi; phiên tự dừng và ghi file sau {@code duration} nếu không gọi {@link #stopSession()}.
+     */
+    public RecordingInfo startSession(Set<JfrProfile> profiles, Duration duration) {
+        if (profiles.isEmpty()) {
+            throw new IllegalArgumentException("At least one profile is required");
+        }
+        Duration effective = duration == null ? properties.getDefaultDuration() : duration;
+        if (effective.isNegative() || effective.isZero() || effective.compareTo(properties.getMaxDuration()) > 0) {
+            throw new IllegalArgumentException("Duration must be between 1s and " + properties.getMaxDuration());
+        }
+
+        lock.lock();
+        try {
+            if (session != null && session.getState() == RecordingState.RUNNING) {
+                throw new IllegalStateException("A JFR session is already running: " + sessionFile.getFileName());
+            }
+            if (session != null) {
+                // Phiên trước đã tự dừng theo duration và ghi xong file: giải phóng recording cùng các chunk của nó
+                session.close();
+                session = null;
+            }
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            profiles.forEach(profile -> settings.putAll(profile.getSettings()));
+
+            Path file = newFile(profiles.stream().map(p -> p.name().toLowerCase(Locale.ROOT)).sorted()
+                    .reduce((a, b) -> a + "-" + b).orElseThrow());
+            Recording recording = new Recording(settings);
+            recording.setName("ems-" + file.getFileName());
+            recording.setToDisk(true);
+            recording.setDestination(file);
+            recording.setDuration(effective);
+            recording.start();
+
+            this.session = recording;
+            this.sessionFile = file;
+            log.warn("JFR session started with profiles {} for {}, writing to {}", profiles, effective, file);
+            return RecordingInfo.of(file, "RUNNING", recording.getStartTime(), effective);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not start JFR session", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Dừng phiên đang chạy (hoặc lấy phiên vừa tự dừng) và trả về file kèm bản tóm tắt.
+     */
+    public RecordingResult stopSession() {
+        lock.lock();
+        try {
+            if (session == null) {
+                throw new IllegalStateException("No JFR session has been started");
+            }
+            if (session.getState() == RecordingState.RUNNING) {
+                session.stop();
+            }
+            Path file = sessionFile;
+            session.close();
+            session = null;
+            sessionFile = null;
+            log.warn("JFR session stopped, written to {}", file);
+            return result(file);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ghi nội dung hiện có của bản ghi nền ra file, ví dụ ngay sau khi checkout chậm bất thường.
+     */
+    public RecordingResult dumpContinuous() {
+        Recording recording = this.continuous;
+        if (recording == null) {
+            throw new IllegalStateException("Continuous JFR recording is not running");
+        }
+        lock.lock();
+        try {
+            Path file = newFile("continuous");
+            recording.dump(file);
+            log.warn("Continuous JFR recording dumped to {}", file);
+            return result(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dump continuous JFR recording", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Status status() {
+        lock.lock();
+        try {
+            RecordingInfo active = session == null ? null : RecordingInfo.of(sessionFile, session.getState().name(),
+                    session.getStartTime(), session.getDuration());
+            return new Status(continuous != null, active, files());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tìm file theo tên trong thư mục ghi; chỉ chấp nhận tên file do service này tạo ra.
+     */
+    public Optional<Path> find(String name) {
+        if (name == null || !name.endsWith(FILE_SUFFIX) || name.contains("/") || name.contains("\\")) {
+            return Optional.empty();
+        }
+        Path file = properties.getDirectory().resolve(name).normalize();
+        if (!file.getParent().equals(properties.getDirectory().normalize()) || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
+    private RecordingResult result(Path file) {
+        JfrSummary summary;
+        try {
+            summary = JfrSummary.of(file, properties.getSummaryTopN());
+        } catch (IOException e) {
+            log.warn("Could not summarize JFR file {}: {}", file, e.getMessage());
+            summary = null;
+        }
+        return new RecordingResult(file.getFileName().toString(), sizeOf(file), summary);
+    }
+
+    private Path newFile(String label) {
+        try {
+            Files.createDirectories(properties.getDirectory());
+            pruneOldFiles();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare JFR directory " + properties.getDirectory(), e);
+        }
+        return properties.getDirectory().resolve("ems-" + label + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + FILE_SUFFIX);
+    }
+
+    // Chừa chỗ cho file sắp ghi
+    private void pruneOldFiles() throws IOException {
+        List<Path> existing = listFiles();
+        for (int i = 0; i <= existing.size() - properties.getMaxFiles(); i++) {
+            Files.deleteIfExists(existing.get(i));
+        }
+    }
+
+    private List<FileInfo> files() {
+        try {
+            return listFiles().stream()
+                    .map(file -> new FileInfo(file.getFileName().toString(), sizeOf(file), modifiedAt(file)))
+                    .toList();
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    // Cũ nhất trước
+    private List<Path> listFiles() throws IOException {
+        if (!Files.isDirectory(properties.getDirectory())) {
+            return List.of();
+        }
+        try (Stream<Path> stream = Files.list(properties.getDirectory())) {
+            return stream.filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .sorted(Comparator.comparing(JfrRecordingService::modifiedAt))
+                    .toList();
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static Instant modifiedAt(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.EPOCH;
+        }
+    }
+
+    public record RecordingInfo(String file, String state, Instant startedAt, Duration duration) {
+        static RecordingInfo of(Path file, String state, Instant startedAt, Duration duration) {
+            return new RecordingInfo(file.getFileName().toString(), state, startedAt, duration);
+        }
+    }
+
+    public record RecordingResult(String file, long sizeBytes, JfrSummary summary) {
+    }
+
+    public record FileInfo(String name, long sizeBytes, Instant modifiedAt) {
+    }
+
+    public record Status(boolean continuousRunning, RecordingInfo session, List<FileInfo> files) {
+    }
+}
@@ -0,0 +1,84 @@
+package io.event.ems.config.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tóm tắt một file .jfr ngay trong ứng dụng, đủ để khoanh vùng sự cố mà không cần mở JDK Mission Control:
+ * method nóng nhất theo số mẫu CPU, nơi cấp phát nhiều nhất theo số byte ước lượng, và chỗ chờ khóa lâu nhất.
+ *
+ * @param executionSamples Tổng số mẫu CPU (jdk.ExecutionSample).
+ * @param hotMethods       Method ở đỉnh stack, kèm số mẫu và tỷ lệ phần trăm.
+ * @param topAllocators    Kiểu đối tượng và method cấp phát, kèm số byte ước lượng (trọng số của jdk.ObjectAllocationSample).
+ * @param lockContention   Chỗ chờ monitor/park, kèm tổng thời gian chờ tính bằng mili giây.
+ */
+public record JfrSummary(long executionSamples, List<Entry> hotMethods, List<Entry> topAllocators,
+                         List<Entry> lockContention) {
+
+    public record Entry(String frame, long value, double percent) {
+    }
+
+    static JfrSummary of(Path file, int topN) throws IOException {
+        Map<String, Long> cpu = new HashMap<>();
+        Map<String, Long> allocations = new HashMap<>();
+        Map<String, Long> contention = new HashMap<>();
+        long samples = 0;
+
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        samples++;
+                        cpu.merge(topFrame(event.getStackTrace()), 1L, Long::sum);
+                    }
+                    case "jdk.ObjectAllocationSample" -> allocations.merge(
+                            event.getClass("objectClass").getName() + " @ " + topFrame(event.getStackTrace()),
+                            event.getLong("weight"), Long::sum);
+                    case "jdk.JavaMonitorEnter" -> contention.merge(
+                            "monitor " + event.getClass("monitorClass").getName() + " @ " + topFrame(event.getStackTrace()),
+                            durationMillis(event.getDuration()), Long::sum);
+                    case "jdk.ThreadPark" -> contention.merge(
+                            "park @ " + topFrame(event.getStackTrace()),
+                            durationMillis(event.getDuration()), Long::sum);
+                    default -> {
+                    }
+                }
+            }
+        }
+        return new JfrSummary(samples, top(cpu, topN), top(allocations, topN), top(contention, topN));
+    }
+
+    private static List<Entry> top(Map<String, Long> values, int topN) {
+        long total = values.values().stream().mapToLong(Long::longValue).sum();
+        return values.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(topN)
+                .map(e -> new Entry(e.getKey(), e.getValue(),
+                        total == 0 ? 0 : Math.round(e.getValue() * 1000.0 / total) / 10.0))
+                .toList();
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "<unknown>";
+        }
+        RecordedFrame frame = stackTrace.getFrames().get(0);
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + (frame.isJavaFrame() ? ":" + frame.getLineNumber() : "");
+    }
+
+    private static long durationMillis(Duration duration) {
+        return duration == null ? 0 : duration.toMillis();
+    }
+}
@@ -1,12 +1,21 @@
 package io.event.ems.controller;
 
 import io.event.ems.dto.ApiResponse;
+import io.event.ems.dto.CursorPageDTO;
 import io.event.ems.dto.EventCreationDTO;
+import io.event.ems.dto.EventFacetedSearchDTO;
+import io.event.ems.dto.EventNearbyDTO;
 import io.event.ems.dto.EventResponseDTO;
+import io.event.ems.dto.EventSuggestionDTO;
 import io.event.ems.exception.ResourceNotFoundException;
 import io.event.ems.service.EventService;
+import io.event.ems.service.specialized.ContentVersionService;
+import io.event.ems.service.specialized.EventSuggestionIndex;
+import io.event.ems.service.specialized.RenderedResponseCache;
+import io.event.ems.util.HttpCacheUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -31,6 +40,9 @@ import java.util.UUID;
 public class EventController {
 
     private final EventService eventService;
+    private final EventSuggestionIndex eventSuggestionIndex;
+    private final ContentVersionService contentVersionService;
+    private final RenderedResponseCache renderedResponseCache;
 
     // =================================================================
     // ADMIN & ORGANIZER ENDPOINTS
@@ -127,12 +139,37 @@ public class EventController {
             @RequestParam(required = false) Boolean isPublic, // Sẽ là null nếu public user gọi
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
-            @PageableDefault(sort = "startDate") Pageable pageable) {
+            @PageableDefault(sort = "startDate") Pageable pageable,
+            HttpServletRequest request) {
 
         // Service của bạn cần có logic phân quyền bên trong để xử lý các filter admin
-        Page<EventResponseDTO> events = eventService.searchEventsWithFilters(
-                keyword, categoryIds, statusId, isPublic, startDate, endDate, pageable);
-        return ResponseEntity.ok(ApiResponse.success(events));
+        return HttpCacheUtil.conditional(request, publicCatalogVersion(statusId, isPublic), HttpCacheUtil.Policy.LISTING, () -> {
+            Page<EventResponseDTO> events = eventService.searchEventsWithFilters(
+                    keyword, categoryIds, statusId, isPublic, startDate, endDate, pageable);
+            return ResponseEntity.ok(ApiResponse.success(events));
+        });
+    }
+
+    @GetMapping("/search/faceted")
+    @Operation(
+            summary = "Event search with facet counts",
+            description = "Same filters as `/search`, plus counts per category, venue city, month and price band " +
+                    "for the current filter set, so a search page needs a single request."
+    )
+    public ResponseEntity<ApiResponse<EventFacetedSearchDTO>> searchEventsWithFacets(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) List<UUID> categoryIds,
+            @RequestParam(required = false) Integer statusId,
+            @RequestParam(required = false) Boolean isPublic,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @PageableDefault(sort = "startDate") Pageable pageable,
+            HttpServletRequest request) {
+        return HttpCacheUtil.conditional(request, publicCatalogVersion(statusId, isPublic), HttpCacheUtil.Policy.LISTING, () -> {
+            EventFacetedSearchDTO result = eventService.searchEventsWithFacets(
+                    keyword, categoryIds, statusId, isPublic, startDate, endDate, pageable);
+            return ResponseEntity.ok(ApiResponse.success(result));
+        });
     }
 
 
@@ -146,9 +183,88 @@ public class EventController {
             description = "Retrieves all approved and public events with pagination support. No authentication required."
     )
     public ResponseEntity<ApiResponse<Page<EventResponseDTO>>> getPublicEvents(
-            @PageableDefault(size = 6, sort = "startDate") Pageable pageable) {
-        Page<EventResponseDTO> events = eventService.getPublicEvents(pageable);
-        return ResponseEntity.ok(ApiResponse.success(events));
+            @PageableDefault(size = 6, sort = "startDate") Pageable pageable,
+            HttpServletRequest request) {
+        return HttpCacheUtil.conditional(request, contentVersionService.catalogVersion(), HttpCacheUtil.Policy.LISTING, () -> {
+            Page<EventResponseDTO> events = eventService.getPublicEvents(pageable);
+            return ResponseEntity.ok(ApiResponse.success(events));
+        });
+    }
+
+    @GetMapping("/public/scroll")
+    @Operation(
+            summary = "Scroll public events with a cursor",
+            description = "Keyset-paginated variant of `/public` for infinite scroll. Pass `nextCursor` from the previous " +
+                    "response as `cursor`; no total count is computed. No authentication required."
+    )
+    public ResponseEntity<ApiResponse<CursorPageDTO<EventResponseDTO>>> scrollPublicEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "6") Integer size,
+            HttpServletRequest request) {
+        return HttpCacheUtil.conditional(request, contentVersionService.catalogVersion(), HttpCacheUtil.Policy.LISTING, () -> {
+            CursorPageDTO<EventResponseDTO> events = eventService.scrollPublicEvents(cursor, size);
+            return ResponseEntity.ok(ApiResponse.success(events));
+        });
+    }
+
+    @GetMapping("/suggest")
+    @Operation(
+            summary = "Typeahead suggestions",
+            description = "Returns matching event titles, venues and categories for a (partial, accent-insensitive) query. " +
+                    "Served from an in-memory index, no authentication required."
+    )
+    public ResponseEntity<ApiResponse<List<EventSuggestionDTO>>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") Integer limit,
+            HttpServletRequest request) {
+        return HttpCacheUtil.conditional(request, contentVersionService.catalogVersion(), HttpCacheUtil.Policy.LISTING, () -> {
+            List<EventSuggestionDTO> suggestions = eventSuggestionIndex.suggest(q, limit);
+            return ResponseEntity.ok(ApiResponse.success(suggestions));
+        });
+    }
+
+    @GetMapping("/nearby")
+    @Operation(
+            summary = "Find events near a location",
+            description = "Public, approved, upcoming events within `radiusKm` of (`lat`, `lng`), nearest first. " +
+                    "Optionally restricted to events overlapping [`from`, `to`] and to the given categories."
+    )
+    public ResponseEntity<ApiResponse<List<EventNearbyDTO>>> findEventsNearby(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) List<UUID> categoryIds,
+            @RequestParam(defaultValue = "20") Integer limit,
+            HttpServletRequest request) {
+        return HttpCacheUtil.conditional(request, contentVersionService.catalogVersion(), HttpCacheUtil.Policy.LISTING, () -> {
+            List<EventNearbyDTO> events = eventService.findEventsNearby(lat, lng, radiusKm, from, to, categoryIds, limit);
+            return ResponseEntity.ok(ApiResponse.success(events));
+        });
+    }
+
+    @GetMapping("/within")
+    @Operation(
+            summary = "Find events inside a map bounding box",
+            description = "Public, approved, upcoming events inside the box, ordered by distance to its center. " +
+                    "Intended for map views; the box may span at most 5 degrees."
+    )
+    public ResponseEntity<ApiResponse<List<EventNearbyDTO>>> findEventsInBox(
+            @RequestParam double minLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLat,
+            @RequestParam double maxLng,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) List<UUID> categoryIds,
+            @RequestParam(defaultValue = "50") Integer limit,
+            HttpServletRequest request) {
+        return HttpCacheUtil.conditional(request, contentVersionService.catalogVersion(), HttpCacheUtil.Policy.LISTING, () -> {
+            List<EventNearbyDTO> events = eventService.findEventsInBox(
+                    minLat, minLng, maxLat, maxLng, from, to, categoryIds, limit);
+            return ResponseEntity.ok(ApiResponse.success(events));
+        });
     }
 
     @GetMapping("/slug/{slug}")
@@ -156,11 +272,15 @@ public class EventController {
             summary = "Get a public event by slug",
             description = "Retrieves a single, publicly visible event by its unique slug. No authentication required."
     )
-    public ResponseEntity<ApiResponse<EventResponseDTO>> getEventBySlug(@PathVariable String slug) {
-        Optional<EventResponseDTO> event = eventService.getEventBySlug(slug);
-        return event.map(dto -> ResponseEntity.ok(ApiResponse.success(dto)))
-                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body(ApiResponse.error(HttpStatus.NOT_FOUND, "Event not found with slug: " + slug)));
+    public ResponseEntity<byte[]> getEventBySlug(@PathVariable String slug, HttpServletRequest request) {
+        Optional<String> version = contentVersionService.eventVersion(slug, false);
+        return HttpCacheUtil.conditional(request, version, HttpCacheUtil.Policy.DETAIL,
+                () -> renderedResponseCache.render(request, "event", slug, version, () -> {
+                    Optional<EventResponseDTO> event = eventService.getEventBySlug(slug);
+                    return event.map(dto -> ResponseEntity.ok(ApiResponse.success(dto)))
+                            .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                    .body(ApiResponse.error(HttpStatus.NOT_FOUND, "Event not found with slug: " + slug)));
+                }));
     }
 
     @GetMapping("/category/{categoryId}")
@@ -168,9 +288,17 @@ public class EventController {
             summary = "Get public events by category",
             description = "Retrieves public events belonging to a specific category. No authentication required."
     )
-    public ResponseEntity<ApiResponse<Page<EventResponseDTO>>> getEventsByCategoryId(@PathVariable UUID categoryId, @PageableDefault(size = 6) Pageable pageable) {
-        Page<EventResponseDTO> events = eventService.findByCategories_Id(categoryId, pageable);
-        return ResponseEntity.ok(ApiResponse.success(events));
+    public ResponseEntity<ApiResponse<Page<EventResponseDTO>>> getEventsByCategoryId(@PathVariable UUID categoryId, @PageableDefault(size = 6) Pageable pageable,
+                                                                                     HttpServletRequest request) {
+        return HttpCacheUtil.conditional(request, contentVersionService.catalogVersion(), HttpCacheUtil.Policy.LISTING, () -> {
+            Page<EventResponseDTO> events = eventService.findByCategories_Id(categoryId, pageable);
+            return ResponseEntity.ok(ApiResponse.success(events));
+        });
+    }
+
+    // Bộ lọc dành cho admin (statusId, isPublic) có thể trả sự kiện chưa công khai: không cho CDN cache
+    private Optional<String> publicCatalogVersion(Integer statusId, Boolean isPublic) {
+        return statusId == null && isPublic == null ? contentVersionService.catalogVersion() : Optional.empty();
     }
 
 }
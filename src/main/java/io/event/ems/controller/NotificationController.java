@@ -1,6 +1,7 @@
 package io.event.ems.controller;
 
 import io.event.ems.dto.ApiResponse;
+import io.event.ems.dto.CursorPageDTO;
 import io.event.ems.dto.NotificationDTO;
 import io.event.ems.exception.UnauthorizedException;
 import io.event.ems.security.CustomUserDetails;
@@ -51,6 +52,19 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success(page));
     }
 
+    @Operation(summary = "Scroll unread notifications", description = "Cursor-paginated unread notifications for the current user, newest first. No total count is computed")
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPageDTO<NotificationDTO>>> scrollNotifications(
+            @AuthenticationPrincipal CustomUserDetails currentUser,
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size) {
+        UUID userId = Optional.ofNullable(currentUser)
+                .orElseThrow(() -> new UnauthorizedException("User principal not found."))
+                .getId();
+        CursorPageDTO<NotificationDTO> page = notificationService.scrollUserNotifications(userId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
     // Record này dùng để nhận request body, an toàn và ngắn gọn hơn List
     public record MarkReadRequest(List<UUID> ids) {
     }
@@ -1,6 +1,7 @@
 package io.event.ems.controller;
 
 import io.event.ems.dto.ApiResponse;
+import io.event.ems.dto.CursorPageDTO;
 import io.event.ems.dto.PurchaseDetailDTO;
 import io.event.ems.dto.PurchaseListItemDTO;
 import io.event.ems.security.CustomUserDetails;
@@ -14,10 +15,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
 import java.util.UUID;
 
@@ -59,6 +57,29 @@ public class TicketPurchaseController {
         return ResponseEntity.ok(ApiResponse.success(purchases));
     }
 
+    @GetMapping("/users/me/purchases/scroll")
+    @Operation(summary = "Scroll my purchases", description = "Cursor-paginated purchases of the current user, newest first. No total count is computed.")
+    public ResponseEntity<ApiResponse<CursorPageDTO<PurchaseListItemDTO>>> scrollMyPurchases(
+            @AuthenticationPrincipal CustomUserDetails currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size
+    ) {
+        CursorPageDTO<PurchaseListItemDTO> purchases = ticketPurchaseService.scrollPurchasesByUserId(currentUser.getId(), cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(purchases));
+    }
+
+    @GetMapping("/admin/events/{eventId}/purchases/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Scroll purchases of an event", description = "Cursor-paginated purchases of an event, newest first. No total count is computed.")
+    public ResponseEntity<ApiResponse<CursorPageDTO<PurchaseListItemDTO>>> scrollEventPurchases(
+            @PathVariable UUID eventId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") Integer size
+    ) {
+        CursorPageDTO<PurchaseListItemDTO> purchases = ticketPurchaseService.scrollPurchasesByEventId(eventId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(purchases));
+    }
+
     @GetMapping("users/me/purchases/{purchaseId}")
     @Operation(summary = "Get purchase details by ID", description = "Retrieves a purchase details by its ID.")
     public ResponseEntity<ApiResponse<PurchaseDetailDTO>> getPurchaseDetailsByMe(
@@ -5,8 +5,12 @@ import io.event.ems.exception.UnauthorizedException;
 import io.event.ems.security.CustomUserDetails;
 import io.event.ems.service.EventTicketingQueryService;
 import io.event.ems.service.TicketHoldService;
+import io.event.ems.service.specialized.ContentVersionService;
+import io.event.ems.service.specialized.RenderedResponseCache;
+import io.event.ems.util.HttpCacheUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -25,11 +29,18 @@ public class TicketingController {
 
     private final EventTicketingQueryService queryService;
     private final TicketHoldService holdService;
+    private final ContentVersionService contentVersionService;
+    private final RenderedResponseCache renderedResponseCache;
 
     @GetMapping("/events/slug/{slug}")
     @Operation(summary = "Get event ticketing by slug", description = "Get event ticketing by slug.")
-    public ResponseEntity<ApiResponse<EventTicketingResponseDTO>> getEventTicketingBySlug(@PathVariable String slug) {
-        return ResponseEntity.ok(ApiResponse.success(queryService.getEventTicketingBySlug(slug)));
+    public ResponseEntity<byte[]> getEventTicketingBySlug(@PathVariable String slug, HttpServletRequest request) {
+        Optional<String> version = contentVersionService.eventVersion(slug, true);
+        return HttpCacheUtil.conditional(request, version, HttpCacheUtil.Policy.AVAILABILITY,
+                () -> renderedResponseCache.render(request, "ticketing", slug, version,
+                        () -> ResponseEntity.ok(ApiResponse.success(version
+                                .map(v -> queryService.getEventTicketingBySlug(slug, v))
+                                .orElseGet(() -> queryService.getEventTicketingBySlug(slug))))));
     }
 
     @PostMapping("/events/{eventId}/hold")
@@ -0,0 +1,39 @@
+package io.event.ems.dto;
+
+import io.event.ems.util.CursorUtil;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Một "trang" kết quả ở chế độ cursor: không có totalElements/totalPages vì
+ * không chạy câu COUNT, client dùng {@code nextCursor} để lấy trang tiếp theo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+
+    public static <E, T> CursorPageDTO<T> of(Window<E> window, Function<E, T> mapper, String sortProperty) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? CursorUtil.encode(window.positionAt(window.size() - 1), sortProperty)
+                : null;
+        return CursorPageDTO.<T>builder()
+                .content(window.map(mapper).getContent())
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .size(window.size())
+                .build();
+    }
+}
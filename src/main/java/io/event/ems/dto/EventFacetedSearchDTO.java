@@ -0,0 +1,31 @@
+package io.event.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kết quả tìm kiếm kèm số lượng theo từng facet, để trang tìm kiếm chỉ cần một request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventFacetedSearchDTO {
+
+    private Page<EventResponseDTO> events;
+
+    @Builder.Default
+    private List<FacetBucketDTO> categories = new ArrayList<>();
+    @Builder.Default
+    private List<FacetBucketDTO> cities = new ArrayList<>();
+    @Builder.Default
+    private List<FacetBucketDTO> months = new ArrayList<>();
+    @Builder.Default
+    private List<FacetBucketDTO> priceBands = new ArrayList<>();
+}
@@ -0,0 +1,14 @@
+package io.event.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventNearbyDTO {
+
+    private EventResponseDTO event;
+    private double distanceKm; // Khoảng cách (km) tới điểm tìm kiếm
+}
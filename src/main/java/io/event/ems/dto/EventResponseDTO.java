@@ -28,6 +28,8 @@ public class EventResponseDTO {
     private StatusCodeDTO status;
     private Boolean isPublic;
     private String coverImageUrl;
+    private Double latitude;
+    private Double longitude;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
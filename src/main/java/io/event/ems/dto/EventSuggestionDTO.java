@@ -0,0 +1,24 @@
+package io.event.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSuggestionDTO {
+
+    public static final String TYPE_EVENT = "EVENT";
+    public static final String TYPE_VENUE = "VENUE";
+    public static final String TYPE_CATEGORY = "CATEGORY";
+
+    private String type; // EVENT, VENUE hoặc CATEGORY
+    private UUID id;
+    private String label;
+    private String slug; // Chỉ có với EVENT
+}
@@ -0,0 +1,17 @@
+package io.event.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetBucketDTO {
+
+    private String key;   // Giá trị dùng để lọc tiếp (UUID category, tên thành phố, "2025-07", "UNDER_200K"...)
+    private String label; // Nhãn hiển thị
+    private long count;
+}
@@ -3,6 +3,7 @@ package io.event.ems.exception;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -112,4 +113,14 @@ public class GlobalExceptionHandler {
                 return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
         }
 
+        @ExceptionHandler(ServiceOverloadedException.class)
+        public ResponseEntity<ErrorResponse> handleServiceOverloadedException(ServiceOverloadedException ex,
+                        WebRequest request) {
+                ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage(),
+                                request.getDescription(false));
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                                .body(errorResponse);
+        }
+
 }
@@ -0,0 +1,18 @@
+package io.event.ems.exception;
+
+/**
+ * Tài nguyên giới hạn (vd. pool băm mật khẩu) đã bão hòa: trả 503 ngay thay vì xếp hàng vô hạn.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -28,8 +28,6 @@ public interface EventMapper {
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "categories", ignore = true)
     @Mapping(target = "seatMap", ignore = true)
-    @Mapping(target = "latitude", ignore = true)
-    @Mapping(target = "longitude", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     Event toEntity(EventCreationDTO eventCreationDTO);
@@ -41,8 +39,6 @@ public interface EventMapper {
     @Mapping(target = "status", ignore = true)
     @Mapping(target = "categories", ignore = true)
     @Mapping(target = "seatMap", ignore = true)
-    @Mapping(target = "latitude", ignore = true)
-    @Mapping(target = "longitude", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     void updateEntityFromDTO(EventCreationDTO dto, @MappingTarget Event entity);
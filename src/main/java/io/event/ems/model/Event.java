@@ -3,6 +3,7 @@ package io.event.ems.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.UuidGenerator;
@@ -14,6 +15,19 @@ import java.util.UUID;
 
 @Entity
 @Data
+// Đồ thị dùng cho mọi trang danh sách: nạp các quan hệ to-one mà EventMapper đọc trong cùng câu SELECT.
+// categories (ManyToMany) không join ở đây để không phá phân trang, mà được nạp theo lô nhờ @BatchSize.
+@NamedEntityGraph(name = Event.LISTING_GRAPH, attributeNodes = {
+        @NamedAttributeNode("venue"),
+        @NamedAttributeNode(value = "creator", subgraph = "creator"),
+        @NamedAttributeNode("status"),
+        @NamedAttributeNode(value = "seatMap", subgraph = "seatMap")
+}, subgraphs = {
+        @NamedSubgraph(name = "creator", attributeNodes = {
+                @NamedAttributeNode("status"),
+                @NamedAttributeNode("settings")}),
+        @NamedSubgraph(name = "seatMap", attributeNodes = @NamedAttributeNode("venue"))
+})
 @Table(name = "events", indexes = {
         @Index(name = "idx_event_title", columnList = "title"),
         @Index(name = "idx_event_slug", columnList = "slug"),
@@ -22,9 +36,12 @@ import java.util.UUID;
         @Index(name = "idx_event_status_id", columnList = "status_id"),
         @Index(name = "idx_event_venue_id", columnList = "venue_id"),
         @Index(name = "idx_event_public", columnList = "is_public"),
-        @Index(name = "idx_event_dates", columnList = "start_date, end_date")})
+        @Index(name = "idx_event_dates", columnList = "start_date, end_date"),
+        @Index(name = "idx_event_public_listing", columnList = "status_id, is_public, start_date, id")})
 public class Event {
 
+    public static final String LISTING_GRAPH = "Event.listing";
+
     @Id
     @UuidGenerator(style = UuidGenerator.Style.RANDOM)
     @Column(columnDefinition = "uuid")
@@ -50,6 +67,7 @@ public class Event {
     private Venue venue;
 
     @ManyToMany
+    @BatchSize(size = 100)
     @JoinTable(name = "event_categories", joinColumns = @JoinColumn(name = "event_id"), inverseJoinColumns = @JoinColumn(name = "category_id"))
     private Set<Category> categories = new HashSet<>();
 
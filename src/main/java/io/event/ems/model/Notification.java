@@ -11,7 +11,8 @@ import java.util.UUID;
 @Entity
 @Table(name = "notifications", indexes = {
         @Index(name = "idx_notification_user_read", columnList = "user_id, read"),
-        @Index(name = "idx_notification_user_created", columnList = "user_id, created_at")
+        @Index(name = "idx_notification_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_notification_user_unread_keyset", columnList = "user_id, read, created_at, id")
 })
 @Data
 public class Notification {
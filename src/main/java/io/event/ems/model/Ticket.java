@@ -13,7 +13,8 @@ import java.util.UUID;
 
 @Entity
 @Data
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = {
+        @Index(name = "idx_ticket_event_price", columnList = "event_id, price")})
 @NoArgsConstructor
 @AllArgsConstructor
 public class Ticket {
@@ -11,7 +11,10 @@ import java.util.UUID;
 
 @Entity
 @Data
-@Table(name = "ticket_purchases")
+@Table(name = "ticket_purchases", indexes = {
+        @Index(name = "idx_ticket_purchase_user_date", columnList = "user_id, purchase_date, id"),
+        @Index(name = "idx_ticket_purchase_event_date", columnList = "event_id, purchase_date, id")
+})
 public class TicketPurchase {
 
     @Id
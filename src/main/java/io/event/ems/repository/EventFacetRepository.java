@@ -0,0 +1,30 @@
+package io.event.ems.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fragment tùy biến của {@link EventRepository}: đếm facet cho trang tìm kiếm bằng một câu SQL duy nhất.
+ */
+public interface EventFacetRepository {
+
+    String FACET_CATEGORY = "CATEGORY";
+    String FACET_CITY = "CITY";
+    String FACET_MONTH = "MONTH";
+    String FACET_PRICE_BAND = "PRICE_BAND";
+
+    /**
+     * Trả về các dòng {facet, key, label, count} với cùng bộ lọc như {@link EventSpecification#withDynamicQuery}.
+     * Facet CATEGORY bỏ qua bộ lọc categoryIds để người dùng vẫn thấy số lượng của các danh mục khác.
+     */
+    List<FacetRow> countFacets(String keyword,
+                               List<UUID> categoryIds,
+                               Integer statusId,
+                               Boolean isPublic,
+                               LocalDateTime startDate,
+                               LocalDateTime endDate);
+
+    record FacetRow(String facet, String key, String label, long count) {
+    }
+}
@@ -0,0 +1,130 @@
+package io.event.ems.repository;
+
+import io.event.ems.util.SearchTextUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+@RequiredArgsConstructor
+public class EventFacetRepositoryImpl implements EventFacetRepository {
+
+    private final EntityManager entityManager;
+
+    /*
+     * base     = sự kiện thỏa mọi bộ lọc trừ categoryIds (dùng cho facet CATEGORY)
+     * filtered = base + bộ lọc categoryIds (dùng cho các facet còn lại)
+     * Giá của một sự kiện là giá vé thấp nhất của nó.
+     */
+    private static final String FACET_SQL = """
+            WITH base AS (
+                SELECT e.id, e.venue_id, e.start_date
+                FROM events e
+                WHERE %s
+            ), filtered AS (
+                SELECT b.* FROM base b
+                WHERE %s
+            )
+            SELECT 'CATEGORY' AS facet, CAST(c.id AS text) AS bucket, c.name AS label, COUNT(*) AS cnt
+            FROM base b
+            JOIN event_categories ec ON ec.event_id = b.id
+            JOIN categories c ON c.id = ec.category_id
+            GROUP BY c.id, c.name
+            UNION ALL
+            SELECT 'CITY', v.city, v.city, COUNT(*)
+            FROM filtered f
+            JOIN venues v ON v.id = f.venue_id
+            WHERE v.city IS NOT NULL
+            GROUP BY v.city
+            UNION ALL
+            SELECT 'MONTH', to_char(f.start_date, 'YYYY-MM'), to_char(f.start_date, 'MM/YYYY'), COUNT(*)
+            FROM filtered f
+            GROUP BY to_char(f.start_date, 'YYYY-MM'), to_char(f.start_date, 'MM/YYYY')
+            UNION ALL
+            SELECT 'PRICE_BAND', band, band, COUNT(*)
+            FROM (
+                SELECT CASE
+                           WHEN p.min_price IS NULL THEN 'UNKNOWN'
+                           WHEN p.min_price = 0 THEN 'FREE'
+                           WHEN p.min_price < 200000 THEN 'UNDER_200K'
+                           WHEN p.min_price < 500000 THEN '200K_500K'
+                           WHEN p.min_price < 1000000 THEN '500K_1M'
+                           ELSE 'OVER_1M'
+                       END AS band
+                FROM filtered f
+                LEFT JOIN LATERAL (SELECT MIN(t.price) AS min_price FROM tickets t WHERE t.event_id = f.id) p ON true
+            ) bands
+            GROUP BY band
+            """;
+
+    private static final Map<String, String> PRICE_BAND_LABELS = Map.of(
+            "FREE", "Miễn phí",
+            "UNDER_200K", "Dưới 200.000đ",
+            "200K_500K", "200.000đ - 500.000đ",
+            "500K_1M", "500.000đ - 1.000.000đ",
+            "OVER_1M", "Trên 1.000.000đ",
+            "UNKNOWN", "Chưa có giá");
+
+    @Override
+    public List<FacetRow> countFacets(String keyword,
+                                      List<UUID> categoryIds,
+                                      Integer statusId,
+                                      Boolean isPublic,
+                                      LocalDateTime startDate,
+                                      LocalDateTime endDate) {
+        List<String> baseConditions = new ArrayList<>();
+        Map<String, Object> params = new HashMap<>();
+        baseConditions.add("TRUE");
+
+        if (StringUtils.hasText(keyword)) {
+            baseConditions.add("(lower(public.f_unaccent(e.title)) LIKE :pattern ESCAPE '\\' " +
+                    "OR lower(public.f_unaccent(e.description)) LIKE :pattern ESCAPE '\\' " +
+                    "OR e.venue_id IN (SELECT v.id FROM venues v " +
+                    "WHERE lower(public.f_unaccent(v.name)) LIKE :pattern ESCAPE '\\' " +
+                    "OR lower(public.f_unaccent(v.address)) LIKE :pattern ESCAPE '\\'))");
+            params.put("pattern", SearchTextUtil.containsPattern(keyword));
+        }
+        if (statusId != null) {
+            baseConditions.add("e.status_id = :statusId");
+            params.put("statusId", statusId);
+        }
+        if (isPublic != null) {
+            baseConditions.add("e.is_public = :isPublic");
+            params.put("isPublic", isPublic);
+        }
+        if (startDate != null) {
+            baseConditions.add("e.start_date >= :startDate");
+            params.put("startDate", startDate);
+        }
+        if (endDate != null) {
+            baseConditions.add("e.end_date <= :endDate");
+            params.put("endDate", endDate);
+        }
+
+        String categoryCondition = "TRUE";
+        if (!CollectionUtils.isEmpty(categoryIds)) {
+            categoryCondition = "EXISTS (SELECT 1 FROM event_categories ec " +
+                    "WHERE ec.event_id = b.id AND ec.category_id IN (:categoryIds))";
+            params.put("categoryIds", categoryIds);
+        }
+
+        Query query = entityManager.createNativeQuery(
+                FACET_SQL.formatted(String.join(" AND ", baseConditions), categoryCondition));
+        params.forEach(query::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        List<FacetRow> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            String facet = (String) row[0];
+            String key = (String) row[1];
+            String label = FACET_PRICE_BAND.equals(facet) ? PRICE_BAND_LABELS.getOrDefault(key, key) : (String) row[2];
+            result.add(new FacetRow(facet, key, label, ((Number) row[3]).longValue()));
+        }
+        return result;
+    }
+}
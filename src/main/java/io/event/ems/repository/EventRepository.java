@@ -1,8 +1,10 @@
 package io.event.ems.repository;
 
+import io.event.ems.dto.EventSuggestionDTO;
 import io.event.ems.model.Event;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -10,11 +12,21 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecificationExecutor<Event>, EventFacetRepository {
+
+    @Override
+    @EntityGraph(Event.LISTING_GRAPH)
+    Page<Event> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(Event.LISTING_GRAPH)
+    Page<Event> findAll(Specification<Event> spec, Pageable pageable);
 
     Optional<Event> findBySlug(String slug);
 
@@ -36,46 +48,137 @@ public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecific
             "WHERE e.slug = :slug")
     Optional<Event> findBySlugWithDetails(@Param("slug") String slug);
 
-    @Query("SELECT e FROM Event e WHERE lower(e.title) LIKE lower(concat('%', :keyword, '%')) AND e.isPublic = true AND e.status.status = 'APPROVED'")
+    // :keyword là pattern đã chuẩn hóa (SearchTextUtil.containsPattern), khớp index trigram trên lower(f_unaccent(title))
+    @EntityGraph(Event.LISTING_GRAPH)
+    @Query("SELECT e FROM Event e WHERE lower(function('f_unaccent', e.title)) LIKE :keyword ESCAPE '\\' AND e.isPublic = true AND e.status.status = 'APPROVED'")
     Page<Event> findPublishedByTitleContainingIgnoreCase(@Param("keyword") String keyword, Pageable pageable);
 
-    @Query("SELECT e FROM Event e WHERE lower(e.title) LIKE lower(:title) AND e.isPublic = true")
+    // :title phải được chuẩn hóa bằng SearchTextUtil.normalize để so khớp không phân biệt dấu.
+    // Chatbot đọc venue sau khi transaction đã đóng nên nạp sẵn các quan hệ to-one.
+    @EntityGraph(Event.LISTING_GRAPH)
+    @Query("SELECT e FROM Event e WHERE lower(function('f_unaccent', e.title)) = :title AND e.isPublic = true")
     Optional<Event> findByTitleIgnoreCase(@Param("title") String title);
 
+    @EntityGraph(Event.LISTING_GRAPH)
     Page<Event> findByCreatorId(UUID id, Pageable pageable);
 
+    @EntityGraph(Event.LISTING_GRAPH)
     Page<Event> findByCategories_Id(UUID id, Pageable pageable);
 
+    @EntityGraph(Event.LISTING_GRAPH)
     Page<Event> findByStatusId(Integer id, Pageable pageable);
 
+    @EntityGraph(Event.LISTING_GRAPH)
     Page<Event> findByStartDateBetween(LocalDateTime start, LocalDateTime end, Pageable pageable);
 
+    @EntityGraph(Event.LISTING_GRAPH)
     Page<Event> findByIsPublicTrueAndStatusId(Integer statusId, Pageable pageable);
 
-    // Simple search
+    /**
+     * Phân trang keyset cho danh sách sự kiện công khai: seek theo (start_date, id)
+     * thay vì OFFSET và không chạy câu COUNT.
+     */
+    @EntityGraph(Event.LISTING_GRAPH)
+    Window<Event> findByIsPublicTrueAndStatusId(Integer statusId, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Tìm kiếm sự kiện công khai theo tiêu đề, không phân biệt dấu và chịu được lỗi chính tả.
+     * <p>
+     * {@code :query} phải được chuẩn hóa trước bằng {@code SearchTextUtil.normalize}, {@code :pattern} là
+     * {@code SearchTextUtil.containsPattern} của cùng từ khóa (đã escape % và _).
+     * Điều kiện dùng index GIN trigram idx_event_title_unaccent_trgm (migration V4):
+     * toán tử {@code <%} (word similarity) bắt lỗi gõ, {@code LIKE} bắt chuỗi con.
+     * Xếp hạng theo độ tương đồng, cộng thêm điểm cho sự kiện diễn ra gần thời điểm hiện tại.
+     */
     @Query(
             value = """
                     SELECT * FROM public.events e
                     WHERE
                         e.status_id = :statusId AND
                         e.is_public = true AND
-                        e.fts_document @@ websearch_to_tsquery('english', :query)
-                    ORDER BY ts_rank_cd(e.fts_document, websearch_to_tsquery('english', :query)) DESC
+                        (:query <% lower(public.f_unaccent(e.title))
+                            OR lower(public.f_unaccent(e.title)) LIKE :pattern ESCAPE '\\')
+                    ORDER BY
+                        word_similarity(:query, lower(public.f_unaccent(e.title)))
+                            + 0.2 / (1 + abs(extract(epoch FROM (e.start_date - now()))) / 2592000) DESC,
+                        e.start_date
                     """,
             countQuery = """
                     SELECT count(*) FROM public.events e
                     WHERE
                         e.status_id = :statusId AND
                         e.is_public = true AND
-                        e.fts_document @@ websearch_to_tsquery('english', :query)
+                        (:query <% lower(public.f_unaccent(e.title))
+                            OR lower(public.f_unaccent(e.title)) LIKE :pattern ESCAPE '\\')
                     """,
             nativeQuery = true // Đánh dấu đây là một native query
     )
     Page<Event> searchByFullText(
             @Param("query") String query,
+            @Param("pattern") String pattern,
             @Param("statusId") Integer statusId,
             Pageable pageable
     );
 
+    // Projection nhẹ để dựng chỉ mục gợi ý (typeahead) lúc khởi động, không tải cả entity
+    @Query("SELECT new io.event.ems.dto.EventSuggestionDTO('EVENT', e.id, e.title, e.slug) " +
+            "FROM Event e WHERE e.isPublic = true AND e.status.id = :statusId")
+    List<EventSuggestionDTO> findSuggestionsByStatusId(@Param("statusId") Integer statusId);
+
+    // Tọa độ các sự kiện công khai sắp diễn ra, dùng để dựng lưới địa lý trong bộ nhớ (EventGeoIndex)
+    @Query("SELECT e.id AS id, e.latitude AS latitude, e.longitude AS longitude, " +
+            "e.startDate AS startDate, e.endDate AS endDate FROM Event e " +
+            "WHERE e.isPublic = true AND e.status.id = :statusId AND e.endDate >= :from " +
+            "AND e.latitude IS NOT NULL AND e.longitude IS NOT NULL")
+    List<GeoPointView> findGeoPoints(@Param("statusId") Integer statusId, @Param("from") LocalDateTime from);
+
+    @Query("SELECT e.id AS id, e.latitude AS latitude, e.longitude AS longitude, " +
+            "e.startDate AS startDate, e.endDate AS endDate FROM Event e " +
+            "WHERE e.id = :id AND e.isPublic = true AND e.status.id = :statusId AND e.endDate >= :from " +
+            "AND e.latitude IS NOT NULL AND e.longitude IS NOT NULL")
+    Optional<GeoPointView> findGeoPoint(@Param("id") UUID id,
+                                        @Param("statusId") Integer statusId,
+                                        @Param("from") LocalDateTime from);
+
+    @Query("SELECT e.id AS eventId, c.id AS categoryId FROM Event e JOIN e.categories c " +
+            "WHERE e.isPublic = true AND e.status.id = :statusId AND e.endDate >= :from " +
+            "AND e.latitude IS NOT NULL AND e.longitude IS NOT NULL")
+    List<CategoryLinkView> findGeoCategoryLinks(@Param("statusId") Integer statusId, @Param("from") LocalDateTime from);
+
+    @Query("SELECT e.id AS eventId, c.id AS categoryId FROM Event e JOIN e.categories c WHERE e.id = :eventId")
+    List<CategoryLinkView> findCategoryLinksByEventId(@Param("eventId") UUID eventId);
+
+    @EntityGraph(Event.LISTING_GRAPH)
+    List<Event> findByIdIn(Collection<UUID> ids);
+
+    // Chỉ đọc (id, updatedAt) để dựng ETag mà không nạp cả sự kiện; sự kiện chưa công khai/duyệt không có phiên bản
+    @Query("SELECT e.id AS id, e.updatedAt AS updatedAt FROM Event e " +
+            "WHERE e.slug = :slug AND e.isPublic = true AND e.status.status = 'APPROVED'")
+    Optional<VersionView> findPublicVersionBySlug(@Param("slug") String slug);
+
     boolean existsByVenueId(UUID venueId);
+
+    interface GeoPointView {
+        UUID getId();
+
+        Double getLatitude();
+
+        Double getLongitude();
+
+        LocalDateTime getStartDate();
+
+        LocalDateTime getEndDate();
+    }
+
+    interface CategoryLinkView {
+        UUID getEventId();
+
+        UUID getCategoryId();
+    }
+
+    interface VersionView {
+        UUID getId();
+
+        LocalDateTime getUpdatedAt();
+    }
 }
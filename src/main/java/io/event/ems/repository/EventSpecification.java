@@ -3,9 +3,8 @@ package io.event.ems.repository;
 import io.event.ems.model.Category;
 import io.event.ems.model.Event;
 import io.event.ems.model.Venue;
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.JoinType;
-import jakarta.persistence.criteria.Predicate;
+import io.event.ems.util.SearchTextUtil;
+import jakarta.persistence.criteria.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
@@ -29,15 +28,22 @@ public class EventSpecification {
             Predicate predicate = criteriaBuilder.conjunction();
 
             // 1. Lọc theo Keyword (title, description, venue name/address)
+            // So khớp trên lower(f_unaccent(...)) để "ha noi" khớp "Hà Nội" và dùng được index trigram (V4).
+            // Venue được lọc bằng subquery thay vì LEFT JOIN để planner có thể BitmapOr các index của events.
             if (StringUtils.hasText(keyword)) {
-                Join<Event, Venue> venueJoin = root.join("venue", JoinType.LEFT);
-                String pattern = "%" + keyword.toLowerCase() + "%";
+                String pattern = SearchTextUtil.containsPattern(keyword);
+
+                Subquery<UUID> matchingVenues = query.subquery(UUID.class);
+                Root<Venue> venueRoot = matchingVenues.from(Venue.class);
+                matchingVenues.select(venueRoot.get("id")).where(criteriaBuilder.or(
+                        unaccentLike(criteriaBuilder, venueRoot.get("name"), pattern),
+                        unaccentLike(criteriaBuilder, venueRoot.get("address"), pattern)
+                ));
 
                 Predicate keywordPredicate = criteriaBuilder.or(
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("title")), pattern),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), pattern),
-                        criteriaBuilder.like(criteriaBuilder.lower(venueJoin.get("name")), pattern),
-                        criteriaBuilder.like(criteriaBuilder.lower(venueJoin.get("address")), pattern)
+                        unaccentLike(criteriaBuilder, root.get("title"), pattern),
+                        unaccentLike(criteriaBuilder, root.get("description"), pattern),
+                        root.get("venue").get("id").in(matchingVenues)
                 );
                 predicate = criteriaBuilder.and(predicate, keywordPredicate);
             }
@@ -80,4 +86,10 @@ public class EventSpecification {
             return predicate;
         };
     }
+
+    private static Predicate unaccentLike(CriteriaBuilder criteriaBuilder, Expression<String> column, String pattern) {
+        Expression<String> normalized = criteriaBuilder.lower(
+                criteriaBuilder.function("f_unaccent", String.class, column));
+        return criteriaBuilder.like(normalized, pattern, SearchTextUtil.LIKE_ESCAPE_CHAR);
+    }
 }
\ No newline at end of file
@@ -1,8 +1,8 @@
 package io.event.ems.repository;
 
 import io.event.ems.model.Notification;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -16,6 +16,10 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     Page<Notification> findByUser_IdAndReadFalseOrderByCreatedAtDesc(UUID userId, Pageable pageable);
 
+    // Keyset: seek theo (created_at, id), không cần COUNT cho infinite scroll
+    @EntityGraph(attributePaths = {"relatedEvent"})
+    Window<Notification> findByUser_IdAndReadFalse(UUID userId, ScrollPosition position, Sort sort, Limit limit);
+
     @Modifying // Bắt buộc cho các câu lệnh UPDATE/DELETE
     @Query("UPDATE Notification n SET n.read = true WHERE n.user.id = :userId AND n.id IN :notificationIds AND n.read = false")
     int markAsReadForUser(UUID userId, List<UUID> notificationIds);
@@ -1,8 +1,8 @@
 package io.event.ems.repository;
 
 import io.event.ems.model.TicketPurchase;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -46,6 +46,31 @@ public interface TicketPurchaseRepository extends JpaRepository<TicketPurchase,
             countQuery = "SELECT COUNT(tp) FROM TicketPurchase tp WHERE tp.event.id = :eventId")
     Page<TicketPurchase> findByEventIdWithDetails(UUID eventId, Pageable pageable);
 
+    /**
+     * Phiên bản keyset của {@link #findByUserIdWithDetails}: không có COUNT query,
+     * seek theo (purchase_date, id) trên index idx_ticket_purchase_user_date.
+     *
+     * @param userId   ID của người dùng.
+     * @param position Vị trí bắt đầu (giải mã từ cursor).
+     * @param sort     Thứ tự sắp xếp, phải kết thúc bằng id để duy nhất.
+     * @param limit    Số bản ghi tối đa.
+     * @return Một cửa sổ (Window) các đơn hàng.
+     */
+    @EntityGraph(attributePaths = {"user", "event", "status"})
+    Window<TicketPurchase> findByUser_Id(UUID userId, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Phiên bản keyset của {@link #findByEventIdWithDetails}.
+     *
+     * @param eventId  ID của sự kiện.
+     * @param position Vị trí bắt đầu (giải mã từ cursor).
+     * @param sort     Thứ tự sắp xếp, phải kết thúc bằng id để duy nhất.
+     * @param limit    Số bản ghi tối đa.
+     * @return Một cửa sổ (Window) các đơn hàng.
+     */
+    @EntityGraph(attributePaths = {"user", "event", "status"})
+    Window<TicketPurchase> findByEvent_Id(UUID eventId, ScrollPosition position, Sort sort, Limit limit);
+
     /**
      * Lấy chi tiết một đơn hàng cụ thể, đảm bảo nó thuộc về người dùng đang yêu cầu.
      * Tải các thông tin ManyToOne liên quan.
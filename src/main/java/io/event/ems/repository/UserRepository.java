@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import io.event.ems.model.User;
+import io.event.ems.security.UserState;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
@@ -30,4 +31,9 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByUsernameOrEmail(String username, String email);
 
+    // Chỉ các cột cần để xác thực, tránh nạp User kèm settings (OneToOne luôn eager)
+    @Query("SELECT new io.event.ems.security.UserState(u.id, u.username, u.email, u.role, s.status) "
+            + "FROM User u JOIN u.status s WHERE u.id = :id")
+    Optional<UserState> findStateById(@Param("id") UUID id);
+
 }
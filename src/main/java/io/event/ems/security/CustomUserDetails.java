@@ -1,7 +1,6 @@
 package io.event.ems.security;
 
 import io.event.ems.model.Role;
-import io.event.ems.model.StatusCode;
 import io.event.ems.model.User;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
@@ -20,8 +19,9 @@ public class CustomUserDetails implements UserDetails {
     private final String email;
     private final String password;
     private final Role role;
-    private final StatusCode status;
+    private final String status;
     private final Collection<? extends GrantedAuthority> authorities;
+    // Chỉ có khi nạp từ DB (đăng nhập); null với principal dựng từ access token
     private final User user;
 
     public CustomUserDetails(User user) {
@@ -31,10 +31,24 @@ public class CustomUserDetails implements UserDetails {
         this.email = user.getEmail();
         this.password = user.getPassword();
         this.role = user.getRole();
-        this.status = user.getStatus();
+        this.status = user.getStatus().getStatus();
         this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
     }
 
+    /**
+     * Principal cho request mang access token hợp lệ: dựng từ trạng thái đã cache, không có mật khẩu.
+     */
+    public CustomUserDetails(UserState state) {
+        this.user = null;
+        this.id = state.getId();
+        this.username = state.getUsername();
+        this.email = state.getEmail();
+        this.password = null;
+        this.role = state.getRole();
+        this.status = state.getStatus();
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + state.getRole().name()));
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -57,7 +71,7 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isAccountNonLocked() {
-        return !status.getStatus().equalsIgnoreCase("LOCKED");
+        return !status.equalsIgnoreCase("LOCKED");
     }
 
     @Override
@@ -67,6 +81,6 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return status.getStatus().equalsIgnoreCase("ACTIVE");
+        return status.equalsIgnoreCase("ACTIVE");
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package io.event.ems.security;
+
+import io.event.ems.model.Role;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Phần trạng thái người dùng cần để xác thực một request (không có mật khẩu, không nạp entity User).
+ * Được cache trong "userState" và so với claim trong access token.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserState {
+
+    private UUID id;
+    private String username;
+    private String email;
+    private Role role;
+    private String status;
+}
@@ -0,0 +1,41 @@
+package io.event.ems.security;
+
+import io.event.ems.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Trạng thái người dùng phục vụ xác thực JWT, cache trong "userState" (L1 Caffeine + L2 Redis),
+ * nên request đã đăng nhập không cần truy vấn bảng users.
+ * <p>
+ * Mọi thay đổi ảnh hưởng quyền truy cập (khóa/vô hiệu hóa, xóa, đổi vai trò) phải gọi {@link #invalidate(UUID)};
+ * việc xóa cache được hoãn tới sau commit và lan tới các node khác.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserStateService {
+
+    public static final String CACHE_NAME = "userState";
+
+    private final UserRepository userRepository;
+
+    /**
+     * @return trạng thái hiện tại, hoặc null nếu người dùng không còn tồn tại (không được cache).
+     */
+    @Cacheable(value = CACHE_NAME, key = "#userId", sync = true)
+    public UserState getState(UUID userId) {
+        log.debug("Loading user state for {}", userId);
+        return userRepository.findStateById(userId).orElse(null);
+    }
+
+    @CacheEvict(value = CACHE_NAME, key = "#userId")
+    public void invalidate(UUID userId) {
+        log.debug("Invalidated cached user state for {}", userId);
+    }
+}
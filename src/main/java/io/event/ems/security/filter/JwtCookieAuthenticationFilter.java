@@ -1,7 +1,11 @@
 package io.event.ems.security.filter;
 
+import io.event.ems.security.CustomUserDetails;
+import io.event.ems.security.UserState;
+import io.event.ems.security.UserStateService;
 import io.event.ems.security.jwt.JwtService;
 import io.event.ems.service.impl.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -25,6 +29,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 
 
 @Component
@@ -34,6 +39,7 @@ public class JwtCookieAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final UserStateService userStateService;
 
     private static final String ACCESS_TOKEN_COOKIE_NAME = "accessToken";
     private static final String ERROR_JSON_FORMAT = "{\"error\":\"%s\", \"message\":\"%s\", \"status\":%d}";
@@ -49,14 +55,11 @@ public class JwtCookieAuthenticationFilter extends OncePerRequestFilter {
         
         if (jwt != null && !jwt.isBlank()) {
             try {
-                String username = jwtService.extractUsername(jwt);
+                // Một lần parse: kiểm tra chữ ký + hạn dùng và lấy claims
+                Claims claims = jwtService.parseClaims(jwt);
 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-                    if (jwtService.isTokenValid(jwt, userDetails)) {
-                        setAuthenticationInContext(userDetails, request);
-                    }
+                if (claims.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                    setAuthenticationInContext(resolvePrincipal(claims), request);
                 }
 
             } catch (ExpiredJwtException ex) {
@@ -89,6 +92,27 @@ public class JwtCookieAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Dựng principal từ claims đã ký, đối chiếu với trạng thái người dùng đã cache: tài khoản bị khóa, xóa
+     * hoặc đổi vai trò sau khi token được cấp sẽ bị từ chối cho tới khi làm mới token.
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        String userId = claims.get(JwtService.CLAIM_USER_ID, String.class);
+        if (userId == null) {
+            // Token cấp trước khi có claim userId: xác thực theo cách cũ
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        UserState state = userStateService.getState(UUID.fromString(userId));
+        if (state == null || !"ACTIVE".equalsIgnoreCase(state.getStatus())) {
+            throw new UsernameNotFoundException("User not found or inactive: " + userId);
+        }
+        if (!state.getRole().name().equals(claims.get(JwtService.CLAIM_ROLE, String.class))) {
+            throw new UsernameNotFoundException("Role changed since token was issued for user: " + userId);
+        }
+        return new CustomUserDetails(state);
+    }
+
     private String extractTokenFromCookie(HttpServletRequest request) {
         Cookie[] cookies = request.getCookies();
         if (cookies == null) {
@@ -1,7 +1,7 @@
 package io.event.ems.security.jwt;
 
 import io.event.ems.exception.UnauthorizedException;
-import io.event.ems.service.RedisService;
+import io.event.ems.security.CustomUserDetails;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -12,6 +12,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -32,26 +33,70 @@ public class JwtService {
     @Value("${jwt.refresh-token.expiration-ms}")
     private long refreshTokenExpiration;
 
-    @Value("${redis.ttl}")
-    private long redisTtl;
+    // Hai tab cùng làm mới, hoặc client gửi lại request làm mới bị mất phản hồi, trong khoảng này không bị coi là đánh cắp
+    @Value("${jwt.refresh-token.reuse-grace:20s}")
+    private Duration refreshReuseGrace;
 
-    private final RedisService redisService;
+    private final RefreshTokenBlacklist refreshTokenBlacklist;
 
-    private static final String REFRESH_TOKEN_BLACKLIST_PREFIX = "blacklist:refresh";
+    private static final String REFRESH_TOKEN_TYPE = "refresh_token";
 
+    public static final String CLAIM_USER_ID = "userId";
+    // Họ token: giữ nguyên qua các lần xoay vòng refresh token của cùng một lần đăng nhập
+    public static final String CLAIM_FAMILY = "fid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_STATUS = "status";
+
+    // Khóa và parser chỉ dựng một lần thay vì decode secret ở mỗi lần parse
+    private volatile JwtParser parser;
+
+    /**
+     * Access token mang id, vai trò và trạng thái của người dùng để filter dựng principal mà không cần truy vấn DB.
+     */
     public String generateAccessToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails, accessTokenExpiration, null);
+        Map<String, Object> extraClaims = new HashMap<>();
+        if (userDetails instanceof CustomUserDetails customUserDetails) {
+            extraClaims.put(CLAIM_USER_ID, customUserDetails.getId().toString());
+            extraClaims.put(CLAIM_ROLE, customUserDetails.getRole().name());
+            extraClaims.put(CLAIM_STATUS, customUserDetails.getStatus());
+        }
+        return generateToken(extraClaims, userDetails, accessTokenExpiration, null);
     }
 
+    /**
+     * Refresh token mở một họ token mới (đăng nhập mới).
+     */
     public String generateRefreshToken(UserDetails userDetails, UUID userId) {
+        return generateRefreshToken(userDetails, userId, UUID.randomUUID().toString());
+    }
+
+    private String generateRefreshToken(UserDetails userDetails, UUID userId, String familyId) {
         String jti = UUID.randomUUID().toString();
         Map<String, Object> extraClaims = new HashMap<>();
-        extraClaims.put("userId", userId.toString());
-        extraClaims.put("type", "refresh_token");
+        extraClaims.put(CLAIM_USER_ID, userId.toString());
+        extraClaims.put(CLAIM_FAMILY, familyId);
+        extraClaims.put("type", REFRESH_TOKEN_TYPE);
 
         return generateToken(extraClaims, userDetails, refreshTokenExpiration, jti);
     }
 
+    /**
+     * Thu hồi refresh token đã dùng và cấp token mới cùng họ. Token cũ bị dùng lại sau đó được coi là bị đánh cắp
+     * và làm thu hồi cả họ (xem {@link #isTokenValid(String, UserDetails)}), trừ khi đó là token vừa bị thay thế
+     * và còn trong {@code jwt.refresh-token.reuse-grace}.
+     */
+    public String rotateRefreshToken(String refreshToken, UserDetails userDetails, UUID userId) {
+        Claims claims = extractAllClaims(refreshToken);
+        String familyId = claims.get(CLAIM_FAMILY, String.class);
+        if (claims.getId() != null) {
+            refreshTokenBlacklist.revokeToken(claims.getId(), remainingLifetime(claims));
+            if (familyId != null) {
+                refreshTokenBlacklist.recordRotation(familyId, claims.getId(), refreshReuseGrace);
+            }
+        }
+        return generateRefreshToken(userDetails, userId, familyId != null ? familyId : UUID.randomUUID().toString());
+    }
+
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration, String jti) {
         JwtBuilder builder = Jwts.builder()
                 .claims(extraClaims)
@@ -69,15 +114,12 @@ public class JwtService {
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            boolean valid = (username.equals(userDetails.getUsername())) && isTokenExpired(token);
+            Claims claims = extractAllClaims(token);
+            boolean valid = claims.getSubject().equals(userDetails.getUsername())
+                    && !claims.getExpiration().before(new Date());
 
-            if (valid && isRefreshToken(token)) {
-                String jti = extractJti(token);
-                if (jti != null && isRefreshTokenBlacklisted(jti)) {
-                    log.warn("Attempted to use blacklisted refresh token (JTI: {})", jti);
-                    return false;
-                }
+            if (valid && REFRESH_TOKEN_TYPE.equals(claims.get("type", String.class))) {
+                return !isRevoked(claims);
             }
 
             return valid;
@@ -93,19 +135,51 @@ public class JwtService {
         }
     }
 
-    public void blacklistRefreshToken(String jti) {
-        if (jti == null)
-            return;
-        String key = REFRESH_TOKEN_BLACKLIST_PREFIX + jti;
-        redisService.setValue(key, "blacklisted", redisTtl);
-        log.info("Blacklisted refresh token (JTI: {})", jti);
+    /**
+     * Thu hồi refresh token khi đăng xuất: cả họ nếu token có family, ngược lại chỉ token đó.
+     */
+    public void revokeRefreshToken(String refreshToken) {
+        Claims claims = extractAllClaims(refreshToken);
+        String familyId = claims.get(CLAIM_FAMILY, String.class);
+        if (familyId != null) {
+            refreshTokenBlacklist.revokeFamily(familyId, Duration.ofMillis(refreshTokenExpiration));
+            log.info("Revoked refresh token family {}", familyId);
+        } else if (claims.getId() != null) {
+            refreshTokenBlacklist.revokeToken(claims.getId(), remainingLifetime(claims));
+            log.info("Blacklisted refresh token (JTI: {})", claims.getId());
+        }
     }
 
-    public boolean isRefreshTokenBlacklisted(String jti) {
-        if (jti == null)
-            return false;
-        String key = REFRESH_TOKEN_BLACKLIST_PREFIX + jti;
-        return redisService.getValue(key) != null;
+    private boolean isRevoked(Claims claims) {
+        String jti = claims.getId();
+        String familyId = claims.get(CLAIM_FAMILY, String.class);
+        switch (refreshTokenBlacklist.check(jti, familyId)) {
+            case FAMILY -> {
+                log.warn("Attempted to use refresh token from revoked family {} (JTI: {})", familyId, jti);
+                return true;
+            }
+            case TOKEN -> {
+                if (familyId != null && refreshTokenBlacklist.isRecentRotation(familyId, jti)) {
+                    log.info("Refresh token (JTI: {}) reused within grace window, family {} kept", jti, familyId);
+                    return false;
+                }
+                if (familyId != null) {
+                    // Token đã xoay vòng bị dùng lại: coi như bị lộ, thu hồi cả họ bằng một lần ghi
+                    refreshTokenBlacklist.revokeFamily(familyId, Duration.ofMillis(refreshTokenExpiration));
+                    log.warn("Refresh token reuse detected (JTI: {}), revoked family {}", jti, familyId);
+                } else {
+                    log.warn("Attempted to use blacklisted refresh token (JTI: {})", jti);
+                }
+                return true;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    private static Duration remainingLifetime(Claims claims) {
+        return Duration.ofMillis(claims.getExpiration().getTime() - System.currentTimeMillis());
     }
 
     public String extractJti(String token) {
@@ -125,7 +199,7 @@ public class JwtService {
 
             Claims claims = extractAllClaims(token);
             String type = claims.get("type", String.class);
-            return "refresh_token".equals(type);
+            return REFRESH_TOKEN_TYPE.equals(type);
 
         } catch (JwtException | IllegalArgumentException | NullPointerException e) {
             return false;
@@ -156,14 +230,31 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Kiểm tra chữ ký, hạn dùng và trả claims sau một lần parse duy nhất.
+     * Ném {@link ExpiredJwtException}, {@link MalformedJwtException}, ... như các hàm extract khác.
+     */
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
+        return parser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
+    private JwtParser parser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parser()
+                    .verifyWith(getSignInKey())
+                    .build();
+            parser = current;
+        }
+        return current;
+    }
+
     private SecretKey getSignInKey() {
         if (jwtSecret == null || jwtSecret.isEmpty()) {
             throw new IllegalArgumentException("JWT secret is not set");
@@ -0,0 +1,230 @@
+package io.event.ems.security.jwt;
+
+import io.event.ems.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Danh sách thu hồi refresh token, theo từng token (jti) và theo cả họ token (family: mọi token sinh ra
+ * bằng cách xoay vòng từ cùng một lần đăng nhập).
+ * <p>
+ * Redis là nguồn sự thật. Mỗi node giữ thêm một Bloom filter của các id đã thu hồi, đồng bộ qua pub/sub và
+ * dựng lại định kỳ từ Redis (để bỏ khóa đã hết hạn và bù thông điệp bị lỡ). Filter trả "chắc chắn không có"
+ * thì không cần hỏi Redis; chỉ khi có thể trùng mới GET Redis để xác nhận.
+ * <p>
+ * Trước lần dựng filter thành công đầu tiên (node vừa khởi động, hoặc lần SCAN đầu lỗi) filter rỗng không nói lên
+ * điều gì, nên mọi lần kiểm tra đi thẳng tới Redis.
+ */
+@Service
+@Slf4j
+public class RefreshTokenBlacklist implements MessageListener {
+
+    public static final String CHANNEL = "ems:refresh-blacklist:revoked";
+
+    // Giữ nguyên tiền tố cũ để các jti đã thu hồi trước đây vẫn có hiệu lực
+    private static final String TOKEN_PREFIX = "blacklist:refresh";
+    private static final String FAMILY_PREFIX = "blacklist:refresh-family:";
+    private static final String SCAN_PATTERN = "blacklist:refresh*";
+    private static final String TOKEN_MEMBER = "t:";
+    private static final String FAMILY_MEMBER = "f:";
+    // Ngoài SCAN_PATTERN: không phải khóa thu hồi nên không vào filter
+    private static final String ROTATION_PREFIX = "ems:refresh-rotation:";
+
+    public enum Revocation {
+        NONE, TOKEN, FAMILY
+    }
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private final Counter filteredLookups;
+    private final Counter redisLookups;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Object filterLock = new Object();
+    private volatile BloomFilter filter;
+    // Chỉ bật sau khi filter đã được dựng đầy đủ từ Redis ít nhất một lần
+    private volatile boolean ready;
+    // Filter đang được dựng lại; thu hồi mới phải ghi vào cả hai (guarded by filterLock)
+    private BloomFilter building;
+
+    public RefreshTokenBlacklist(RedisTemplate<String, String> redisTemplate,
+                                 RedisMessageListenerContainer redisMessageListenerContainer,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${ems.refresh-blacklist.expected-insertions:1000000}") long expectedInsertions,
+                                 @Value("${ems.refresh-blacklist.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.redisTemplate = redisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(expectedInsertions, falsePositiveRate);
+        this.filteredLookups = lookupCounter(meterRegistry, "filtered");
+        this.redisLookups = lookupCounter(meterRegistry, "redis");
+    }
+
+    @PostConstruct
+    void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Dựng lại filter từ các khóa còn hiệu lực trong Redis. Trong lúc dựng, filter cũ vẫn được dùng và
+     * các thu hồi mới được ghi vào cả hai.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${ems.refresh-blacklist.rebuild-interval:5m}",
+            initialDelayString = "${ems.refresh-blacklist.rebuild-interval:5m}")
+    public void rebuild() {
+        // Quét Redis có thể mất vài giây: dùng ReentrantLock để không ghim virtual thread như synchronized
+        rebuildLock.lock();
+        try {
+            BloomFilter fresh = BloomFilter.create(expectedInsertions, falsePositiveRate);
+            synchronized (filterLock) {
+                building = fresh;
+            }
+            long count = 0;
+            ScanOptions options = ScanOptions.scanOptions().match(SCAN_PATTERN).count(1000).build();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    fresh.put(memberForKey(cursor.next()));
+                    count++;
+                }
+            } catch (Exception e) {
+                // Giữ filter cũ: nếu đã từng dựng thành công thì vẫn đúng (chỉ có thể thừa phần tử),
+                // nếu chưa thì ready vẫn false và check() tiếp tục hỏi Redis
+                log.warn("Could not rebuild refresh token blacklist filter: {}", e.getMessage());
+                synchronized (filterLock) {
+                    building = null;
+                }
+                return;
+            }
+            synchronized (filterLock) {
+                filter = fresh;
+                building = null;
+            }
+            ready = true;
+            log.info("Rebuilt refresh token blacklist filter with {} entries ({} KB)", count, fresh.sizeInBytes() / 1024);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Thu hồi một token tới khi nó tự hết hạn.
+     */
+    public void revokeToken(String jti, Duration remainingLifetime) {
+        revoke(TOKEN_PREFIX + jti, TOKEN_MEMBER + jti, remainingLifetime);
+    }
+
+    /**
+     * Thu hồi cả họ token chỉ bằng một lần ghi. {@code lifetime} phải bao phủ token mới nhất trong họ.
+     */
+    public void revokeFamily(String familyId, Duration lifetime) {
+        revoke(FAMILY_PREFIX + familyId, FAMILY_MEMBER + familyId, lifetime);
+    }
+
+    /**
+     * Ghi nhận {@code jti} là token vừa bị thay thế gần nhất của họ, trong {@code window}.
+     * Token bị thay thế trước đó nữa không còn được tha thứ.
+     */
+    public void recordRotation(String familyId, String jti, Duration window) {
+        String key = ROTATION_PREFIX + familyId;
+        try {
+            // Dùng lại chính token này trong cửa sổ thì không kéo dài cửa sổ
+            if (!jti.equals(redisTemplate.opsForValue().get(key))) {
+                redisTemplate.opsForValue().set(key, jti, window);
+            }
+        } catch (Exception e) {
+            log.warn("Could not record refresh token rotation for family {}: {}", familyId, e.getMessage());
+        }
+    }
+
+    public boolean isRecentRotation(String familyId, String jti) {
+        try {
+            return jti.equals(redisTemplate.opsForValue().get(ROTATION_PREFIX + familyId));
+        } catch (Exception e) {
+            log.warn("Could not read refresh token rotation for family {}: {}", familyId, e.getMessage());
+            return false;
+        }
+    }
+
+    public Revocation check(String jti, String familyId) {
+        boolean trustFilter = ready;
+        boolean tokenCandidate = jti != null && (!trustFilter || filter.mightContain(TOKEN_MEMBER + jti));
+        boolean familyCandidate = familyId != null && (!trustFilter || filter.mightContain(FAMILY_MEMBER + familyId));
+        if (!tokenCandidate && !familyCandidate) {
+            filteredLookups.increment();
+            return Revocation.NONE;
+        }
+        redisLookups.increment();
+        if (familyCandidate && Boolean.TRUE.equals(redisTemplate.hasKey(FAMILY_PREFIX + familyId))) {
+            return Revocation.FAMILY;
+        }
+        if (tokenCandidate && Boolean.TRUE.equals(redisTemplate.hasKey(TOKEN_PREFIX + jti))) {
+            return Revocation.TOKEN;
+        }
+        return Revocation.NONE;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        addMember(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void revoke(String key, String member, Duration lifetime) {
+        if (lifetime.isNegative() || lifetime.isZero()) {
+            return; // Token đã hết hạn, không cần thu hồi
+        }
+        redisTemplate.opsForValue().set(key, "revoked", lifetime);
+        addMember(member);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, member);
+        } catch (Exception e) {
+            // Node khác sẽ thấy khóa ở lần dựng lại filter kế tiếp
+            log.warn("Could not publish refresh token revocation: {}", e.getMessage());
+        }
+    }
+
+    private void addMember(String member) {
+        synchronized (filterLock) {
+            filter.put(member);
+            if (building != null) {
+                building.put(member);
+            }
+        }
+    }
+
+    private static String memberForKey(String key) {
+        if (key.startsWith(FAMILY_PREFIX)) {
+            return FAMILY_MEMBER + key.substring(FAMILY_PREFIX.length());
+        }
+        return TOKEN_MEMBER + key.substring(TOKEN_PREFIX.length());
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.refresh.blacklist.lookups")
+                .description("Refresh token blacklist checks answered by the local filter or by Redis")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -2,25 +2,40 @@ package io.event.ems.security.otp;
 
 import java.security.SecureRandom;
 import java.time.Instant;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import io.event.ems.exception.OtpException;
-import io.event.ems.service.RedisService;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Cấp và kiểm tra OTP. Mỗi luồng (cấp / kiểm tra) là một Lua script chạy nguyên tử trên Redis,
+ * nên chỉ tốn một round trip và các lần thử song song không thể vượt quá giới hạn số lần sai.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class OtpService {
 
-    private final RedisService redisService;
+    private final RedisTemplate<String, String> redisTemplate;
     private final SecureRandom secureRandom = new SecureRandom();
 
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> GENERATE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/otp/generate.lua"), List.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> VALIDATE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/otp/validate.lua"), List.class);
+
     @Value("${ems.security.otp.length}")
     private int otpLength;
 
@@ -84,133 +99,108 @@ public class OtpService {
     }
 
     public String generateAndStoreOtp(String identifier, String otpType) {
-        String baseKey = otpType + ":" + identifier;
-        String lockoutKey = OTP_LOCKOUT_PREFIX + baseKey;
-        String resendDelayKey = OTP_RESEND_DELAY_PREFIX + baseKey;
+        String baseKey = baseKey(identifier, otpType);
         long currentHour = Instant.now().getEpochSecond() / ONE_HOUR_IN_SECONDS;
-        String hourlyCountKey = OTP_RESEND_HOURLY_COUNT_PREFIX + baseKey + ":" + currentHour;
-
-        checkLockoutStatus(lockoutKey, otpType, identifier);
-        checkResendDelay(resendDelayKey, otpType, identifier);
-        checkAndIncrementHourlyLimit(hourlyCountKey, otpType, identifier);
-
-        // Invalidate any existing OTP before issuing new one
-        invalidateOtp(identifier, otpType);
-
-        String otp = generateOtpString();
-        String valueKey = OTP_VALUE_PREFIX + baseKey;
         long otpValiditySeconds = otpValidityMinutes * ONE_MINUTE_IN_SECONDS;
-        redisService.setValue(valueKey, otp, otpValiditySeconds);
-        log.debug("Stored new OTP for {}:{} with validity {} seconds", otpType, identifier, otpValiditySeconds);
-
-        resetAttemptCounter(baseKey, otpValiditySeconds);
+        String otp = generateOtpString();
 
-        if (resendDelaySeconds > 0) {
-            redisService.setValue(resendDelayKey, "active", resendDelaySeconds);
-            log.debug("Set resend delay for {}:{} for {} seconds", otpType, identifier, resendDelaySeconds);
+        ScriptResult result = run(GENERATE_SCRIPT,
+                List.of(OTP_LOCKOUT_PREFIX + baseKey,
+                        OTP_RESEND_DELAY_PREFIX + baseKey,
+                        OTP_RESEND_HOURLY_COUNT_PREFIX + baseKey + ":" + currentHour,
+                        OTP_VALUE_PREFIX + baseKey,
+                        OTP_ATTEMPT_PREFIX + baseKey),
+                otp,
+                String.valueOf(otpValiditySeconds),
+                String.valueOf(resendDelaySeconds),
+                String.valueOf(maxResendRequestsPerHour),
+                String.valueOf(ONE_HOUR_IN_SECONDS),
+                String.valueOf(otpValiditySeconds + ONE_MINUTE_IN_SECONDS));
+
+        switch (result.status()) {
+            case "LOCKED" -> throw lockedException(result.value(), otpType, identifier);
+            case "RESEND_DELAY" -> {
+                log.warn("Resend delay active for {}:{} remaining {} seconds", otpType, identifier, result.value());
+                throw new OtpException("Please wait " + result.value() + " second(s) before requesting a new code");
+            }
+            case "HOURLY_LIMIT" -> {
+                log.warn("Hourly OTP limit exceeded for {}:{} count={}", otpType, identifier, result.value());
+                throw new OtpException(
+                        "You have reached the maximum limit of " + maxResendRequestsPerHour + " OTP requests per hour.");
+            }
+            default -> {
+                log.info("Generated OTP successfully for {}:{}", otpType, identifier);
+                return otp;
+            }
         }
-        log.info("Generated OTP successfully for {}:{}", otpType, identifier);
-        return otp;
     }
 
     public boolean validateOtp(String identifier, String otpType, String otp) {
-        String baseKey = otpType + ":" + identifier;
-        String valueKey = OTP_VALUE_PREFIX + baseKey;
-        String attemptKey = OTP_ATTEMPT_PREFIX + baseKey;
-        String lockoutKey = OTP_LOCKOUT_PREFIX + baseKey;
-
-        checkLockoutStatus(lockoutKey, otpType, identifier);
-        String storedOtp = (String) redisService.getValue(valueKey);
-
-        if (storedOtp == null) {
-            log.warn("OTP validation failed for {}:{} - not found or expired", otpType, identifier);
-            handleInvalidAttempt(identifier, otpType, attemptKey, lockoutKey);
-            throw new OtpException("OTP is invalid or has expired. Please request a new one");
-        }
+        String baseKey = baseKey(identifier, otpType);
+        long currentHour = Instant.now().getEpochSecond() / ONE_HOUR_IN_SECONDS;
 
-        if (storedOtp.equals(otp)) {
-            handleSuccessfulValidation(identifier, otpType, valueKey, attemptKey);
-            return true;
-        } else {
-            log.warn("OTP validation failed for {}:{} - incorrect OTP", otpType, identifier);
-            handleInvalidAttempt(identifier, otpType, attemptKey, lockoutKey);
-            return false;
+        ScriptResult result = run(VALIDATE_SCRIPT,
+                List.of(OTP_LOCKOUT_PREFIX + baseKey,
+                        OTP_VALUE_PREFIX + baseKey,
+                        OTP_ATTEMPT_PREFIX + baseKey,
+                        OTP_RESEND_DELAY_PREFIX + baseKey,
+                        OTP_RESEND_HOURLY_COUNT_PREFIX + baseKey + ":" + currentHour),
+                otp == null ? "" : otp,
+                String.valueOf(maxAttempts),
+                String.valueOf(lockoutDurationMinutes * ONE_MINUTE_IN_SECONDS),
+                String.valueOf(otpValidityMinutes * ONE_MINUTE_IN_SECONDS + ONE_MINUTE_IN_SECONDS));
+
+        switch (result.status()) {
+            case "OK" -> {
+                log.info("Successful OTP validation for {}:{} cleaned up keys", otpType, identifier);
+                return true;
+            }
+            case "LOCKED" -> throw lockedException(result.value(), otpType, identifier);
+            case "LOCKED_NOW" -> {
+                log.error("Account locked for {}:{} for {} minute(s) due to {} failed attempts", otpType, identifier,
+                        lockoutDurationMinutes, result.value());
+                throw new OtpException(
+                        "Too many failed attempts. Account locked for " + lockoutDurationMinutes + " minute(s).");
+            }
+            case "EXPIRED" -> {
+                log.warn("OTP validation failed for {}:{} - not found or expired (attempt {}/{})",
+                        otpType, identifier, result.value(), maxAttempts);
+                throw new OtpException("OTP is invalid or has expired. Please request a new one");
+            }
+            default -> {
+                log.warn("OTP validation failed for {}:{} - incorrect OTP (attempt {}/{})",
+                        otpType, identifier, result.value(), maxAttempts);
+                return false;
+            }
         }
     }
 
     public void invalidateOtp(String identifier, String otpType) {
-        String baseKey = otpType + ":" + identifier;
-        String key = OTP_VALUE_PREFIX + baseKey;
-        redisService.deleteValue(key);
+        redisTemplate.delete(OTP_VALUE_PREFIX + baseKey(identifier, otpType));
         log.debug("Invalidated OTP for {}:{}", otpType, identifier);
     }
 
-    private void checkLockoutStatus(String lockoutKey, String otpType, String identifier) {
-        if (redisService.getValue(lockoutKey) != null) {
-            long ttl = redisService.getTtl(lockoutKey);
-            long mins = (ttl + ONE_MINUTE_IN_SECONDS - 1) / ONE_MINUTE_IN_SECONDS;
-            log.warn("Lockout active for {}:{} remaining {} seconds", otpType, identifier, ttl);
-            throw new OtpException("Too many failed attempts. Try again in " + mins + " minute(s).");
-        }
-    }
-
-    private void checkResendDelay(String resendDelayKey, String otpType, String identifier) {
-        if (resendDelaySeconds > 0 && redisService.getValue(resendDelayKey) != null) {
-            long remaining = redisService.getTtl(resendDelayKey);
-            log.warn("Resend delay active for {}:{} remaining {} seconds", otpType, identifier, remaining);
-            throw new OtpException("Please wait " + remaining + " second(s) before requesting a new code");
-        }
+    private OtpException lockedException(long ttlSeconds, String otpType, String identifier) {
+        long mins = (ttlSeconds + ONE_MINUTE_IN_SECONDS - 1) / ONE_MINUTE_IN_SECONDS;
+        log.warn("Lockout active for {}:{} remaining {} seconds", otpType, identifier, ttlSeconds);
+        return new OtpException("Too many failed attempts. Try again in " + mins + " minute(s).");
     }
 
-    private void checkAndIncrementHourlyLimit(String hourlyCountKey, String otpType, String identifier) {
-        long newCount = redisService.incrementValue(hourlyCountKey);
-        if (newCount == 1) {
-            redisService.expire(hourlyCountKey, ONE_HOUR_IN_SECONDS);
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private ScriptResult run(RedisScript<List> script, List<String> keys, String... args) {
+        List<Object> result = redisTemplate.execute(script, keys, (Object[]) args);
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("Unexpected OTP script result: " + result);
         }
-        if (newCount > maxResendRequestsPerHour) {
-            log.warn("Hourly OTP limit exceeded for {}:{} count={}", otpType, identifier, newCount);
-            throw new OtpException(
-                    "You have reached the maximum limit of " + maxResendRequestsPerHour + " OTP requests per hour.");
-        }
-        log.debug("Hourly OTP request count for {}:{} is now {}/{}", otpType, identifier, newCount,
-                maxResendRequestsPerHour);
+        return new ScriptResult(String.valueOf(result.get(0)), ((Number) result.get(1)).longValue());
     }
 
-    private void resetAttemptCounter(String baseKey, long otpValiditySeconds) {
-        String attemptKey = OTP_ATTEMPT_PREFIX + baseKey;
-        redisService.setValue(attemptKey, 0, otpValiditySeconds + ONE_MINUTE_IN_SECONDS);
-        log.debug("Reset attempt counter for {}", baseKey);
+    // Hash tag {...} giữ mọi khóa của một OTP trên cùng slot khi chạy Redis Cluster
+    private static String baseKey(String identifier, String otpType) {
+        return "{" + otpType + ":" + identifier + "}";
     }
 
-    private void handleSuccessfulValidation(String identifier, String otpType, String valueKey, String attemptKey) {
-        String baseKey = otpType + ":" + identifier;
-        String resendDelayKey = OTP_RESEND_DELAY_PREFIX + baseKey;
-        long currentHour = Instant.now().getEpochSecond() / ONE_HOUR_IN_SECONDS;
-        String hourlyCountKey = OTP_RESEND_HOURLY_COUNT_PREFIX + baseKey + ":" + currentHour;
-
-        redisService.deleteValue(valueKey);
-        redisService.deleteValue(attemptKey);
-        redisService.deleteValue(resendDelayKey);
-        redisService.deleteValue(hourlyCountKey);
-        log.info("Successful OTP validation for {}:{} cleaned up keys", otpType, identifier);
-    }
-
-    private void handleInvalidAttempt(String identifier, String otpType, String attemptKey, String lockoutKey) {
-        long attempts = redisService.incrementValue(attemptKey);
-        long ttl = redisService.getTtl(attemptKey);
-        if (ttl < 0) {
-            redisService.expire(attemptKey, otpValidityMinutes * ONE_MINUTE_IN_SECONDS + ONE_MINUTE_IN_SECONDS);
-        }
-        log.warn("Invalid OTP attempt {}/{} for {}:{}", attempts, maxAttempts, otpType, identifier);
-        if (attempts >= maxAttempts) {
-            long lockoutSec = lockoutDurationMinutes * ONE_MINUTE_IN_SECONDS;
-            redisService.setValue(lockoutKey, "locked", lockoutSec);
-            redisService.deleteValue(attemptKey);
-            log.error("Account locked for {}:{} for {} seconds due to {} failed attempts", otpType, identifier,
-                    lockoutSec, attempts);
-            throw new OtpException(
-                    "Too many failed attempts. Account locked for " + lockoutDurationMinutes + " minute(s).");
-        }
+    private record ScriptResult(String status, long value) {
     }
 
     private String generateOtpString() {
@@ -1,6 +1,9 @@
 package io.event.ems.service;
 
+import io.event.ems.dto.CursorPageDTO;
 import io.event.ems.dto.EventCreationDTO;
+import io.event.ems.dto.EventFacetedSearchDTO;
+import io.event.ems.dto.EventNearbyDTO;
 import io.event.ems.dto.EventResponseDTO;
 import io.event.ems.exception.ResourceNotFoundException;
 import org.springframework.data.domain.Page;
@@ -27,6 +30,8 @@ public interface EventService {
 
     Page<EventResponseDTO> getPublicEvents(Pageable pageable);
 
+    CursorPageDTO<EventResponseDTO> scrollPublicEvents(String cursor, Integer size);
+
     Page<EventResponseDTO> searchEvents(String keyword, Pageable pageable);
 
     Page<EventResponseDTO> searchEventsWithFilters(String keyword,
@@ -37,6 +42,31 @@ public interface EventService {
                                                    LocalDateTime endDate,
                                                    Pageable pageable);
 
+    EventFacetedSearchDTO searchEventsWithFacets(String keyword,
+                                                 List<UUID> categoryIds,
+                                                 Integer statusId,
+                                                 Boolean isPublic,
+                                                 LocalDateTime startDate,
+                                                 LocalDateTime endDate,
+                                                 Pageable pageable);
+
+    List<EventNearbyDTO> findEventsNearby(double latitude,
+                                          double longitude,
+                                          double radiusKm,
+                                          LocalDateTime from,
+                                          LocalDateTime to,
+                                          List<UUID> categoryIds,
+                                          Integer limit);
+
+    List<EventNearbyDTO> findEventsInBox(double minLatitude,
+                                         double minLongitude,
+                                         double maxLatitude,
+                                         double maxLongitude,
+                                         LocalDateTime from,
+                                         LocalDateTime to,
+                                         List<UUID> categoryIds,
+                                         Integer limit);
+
     EventResponseDTO updateEvent(UUID id, EventCreationDTO eventCreationDTO) throws ResourceNotFoundException;
 
     void deleteEvent(UUID id) throws ResourceNotFoundException;
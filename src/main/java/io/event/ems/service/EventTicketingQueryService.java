@@ -5,4 +5,10 @@ import io.event.ems.dto.EventTicketingResponseDTO;
 public interface EventTicketingQueryService {
 
     EventTicketingResponseDTO getEventTicketingBySlug(String slug);
+
+    /**
+     * Như {@link #getEventTicketingBySlug(String)} nhưng được cache theo phiên bản nội dung của sự kiện
+     * (đổi khi sự kiện, dữ liệu tham chiếu hoặc tồn vé thay đổi), nên không cần evict thủ công.
+     */
+    EventTicketingResponseDTO getEventTicketingBySlug(String slug, String contentVersion);
 }
@@ -1,8 +1,7 @@
 package io.event.ems.service;
 
+import io.event.ems.dto.CursorPageDTO;
 import io.event.ems.dto.NotificationDTO;
-import io.event.ems.model.Event;
-import io.event.ems.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -15,9 +14,15 @@ public interface NotificationService {
 
     Page<NotificationDTO> getUserNotifications(UUID userId, Pageable pageable);
 
+    CursorPageDTO<NotificationDTO> scrollUserNotifications(UUID userId, String cursor, Integer size);
+
     void markAsRead(UUID userId, List<UUID> notificationIds);
 
-    void createNotification(User user, String type, String content, Event relatedEvent);
+    /**
+     * Tạo thông báo bất đồng bộ. Nhận id thay vì entity vì phương thức chạy trên luồng khác,
+     * nơi entity của persistence context gọi đến đã bị tách rời.
+     */
+    void createNotification(UUID userId, String type, String content, UUID relatedEventId);
 
 }
 
@@ -1,5 +1,6 @@
 package io.event.ems.service;
 
+import io.event.ems.dto.CursorPageDTO;
 import io.event.ems.dto.PurchaseDetailDTO;
 import io.event.ems.dto.PurchaseListItemDTO;
 import org.springframework.data.domain.Page;
@@ -26,6 +27,26 @@ public interface TicketPurchaseService {
      */
     Page<PurchaseListItemDTO> getPurchasesByUserId(UUID userId, Pageable pageable);
 
+    /**
+     * Lấy danh sách đơn hàng của người dùng ở chế độ cursor (keyset), mới nhất trước.
+     *
+     * @param userId ID của người dùng.
+     * @param cursor Continuation token từ trang trước, null cho trang đầu.
+     * @param size   Số đơn hàng tối đa.
+     * @return Trang cursor các đơn hàng tóm tắt.
+     */
+    CursorPageDTO<PurchaseListItemDTO> scrollPurchasesByUserId(UUID userId, String cursor, Integer size);
+
+    /**
+     * Lấy danh sách đơn hàng của một sự kiện ở chế độ cursor (keyset), mới nhất trước.
+     *
+     * @param eventId ID của sự kiện.
+     * @param cursor  Continuation token từ trang trước, null cho trang đầu.
+     * @param size    Số đơn hàng tối đa.
+     * @return Trang cursor các đơn hàng tóm tắt.
+     */
+    CursorPageDTO<PurchaseListItemDTO> scrollPurchasesByEventId(UUID eventId, String cursor, Integer size);
+
     /**
      * Lấy thông tin chi tiết của một đơn hàng.
      *
@@ -7,7 +7,6 @@ import io.event.ems.model.Role;
 import io.event.ems.model.StatusCode;
 import io.event.ems.model.User;
 import io.event.ems.model.UserSettings;
-import io.event.ems.repository.StatusCodeRepository;
 import io.event.ems.repository.UserRepository;
 import io.event.ems.security.CustomUserDetails;
 import io.event.ems.security.jwt.JwtService;
@@ -16,12 +15,14 @@ import io.event.ems.security.otp.OtpService;
 import io.event.ems.security.otp.ResetTokenService;
 import io.event.ems.service.AuthService;
 import io.event.ems.service.EmailService;
+import io.event.ems.service.specialized.ReferenceDataRegistry;
 import io.event.ems.util.CookieUtil;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.mail.MailException;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.Authentication;
@@ -46,10 +47,12 @@ public class AuthServiceImpl implements AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final OtpService otpService;
+    // Mail chỉ cần ở lần gửi đầu tiên; ở profile fast-startup bean mail được khởi tạo lười
+    @Lazy
     private final EmailService emailService;
     private final UserDetailsServiceImpl userDetailsService;
     private final UserMapper mapper;
-    private final StatusCodeRepository statusCodeRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final CookieUtil cookieUtil;
     private final ResetTokenService resetTokenService;
     private final ChallengeTokenService challengeTokenService;
@@ -105,7 +108,7 @@ public class AuthServiceImpl implements AuthService {
         } catch (DisabledException e) {
             log.warn("Login failed for username '{}': Account disabled/inactive", request.getUsername());
             throw new AuthException("Account is not active. Please verify your email or contact support.");
-        } catch (AuthException ae) {
+        } catch (AuthException | ServiceOverloadedException ae) {
             throw ae;
         } catch (OtpException | MailException oe) {
             log.error("OTP sending error during login for {}: {}", request.getUsername(), oe.getMessage());
@@ -139,7 +142,7 @@ public class AuthServiceImpl implements AuthService {
             user.setTwoFactorEnabled(false);
             user.setRole(Role.USER);
 
-            StatusCode unverifiedStatus = statusCodeRepository.findByEntityTypeAndStatus("USER", STATUS_UNVERIFIED)
+            StatusCode unverifiedStatus = referenceDataRegistry.findStatus("USER", STATUS_UNVERIFIED)
                     .orElseThrow(() -> new ResourceNotFoundException("Default status not found"));
             user.setStatus(unverifiedStatus);
 
@@ -152,6 +155,8 @@ public class AuthServiceImpl implements AuthService {
             emailService.sendOtpEmail(user.getEmail(), "Verify your EMS account", otp);
         } catch (MailException e) {
             log.error("Failed to send welcome email to {}: {}", request.getEmail(), e.getMessage());
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Registration failed for username {}: {}", request.getUsername(), e.getMessage(), e);
             throw new AuthException("Registration failed due to an unexpected error");
@@ -241,10 +246,10 @@ public class AuthServiceImpl implements AuthService {
             User user = findUserByUsername(username);
 
             String newAccessToken = jwtService.generateAccessToken(userDetails);
-            // Rolling refresh token? Nếu có thì generate và set lại, nếu không thì chỉ set
-            // access token.
+            // Xoay vòng refresh token: token cũ bị thu hồi, dùng lại nó sẽ thu hồi cả họ
+            String newRefreshToken = jwtService.rotateRefreshToken(refreshToken, userDetails, user.getId());
             cookieUtil.createAccessTokenCookie(response, newAccessToken);
-            cookieUtil.createRefreshTokenCookie(response, refreshToken);
+            cookieUtil.createRefreshTokenCookie(response, newRefreshToken);
 
             log.info("Access token refreshed successfully for user {}", username);
 
@@ -340,8 +345,8 @@ public class AuthServiceImpl implements AuthService {
 
         String jti = jwtService.extractJti(refreshToken);
         if (jti != null) {
-            jwtService.blacklistRefreshToken(jti);
-            log.info("User logged out. Refresh token blacklisted (JTI ending with: ...{})",
+            jwtService.revokeRefreshToken(refreshToken);
+            log.info("User logged out. Refresh token revoked (JTI ending with: ...{})",
                     jti.substring(Math.max(0, jti.length() - 6)));
         } else {
             log.warn("Could not blacklist refresh token during logout: JTI not found in token.");
@@ -577,7 +582,7 @@ public class AuthServiceImpl implements AuthService {
             throw new AuthException("Email already verified");
         }
         validateOtp(email, OTP_TYPE_EMAIL_VERIFY, otp);
-        StatusCode activeStatus = statusCodeRepository.findByEntityTypeAndStatus("USER", "ACTIVE")
+        StatusCode activeStatus = referenceDataRegistry.findStatus("USER", "ACTIVE")
                 .orElseThrow(() -> new ResourceNotFoundException("Default status not found"));
         user.setStatus(activeStatus);
         user.setEmailVerified(true);
@@ -14,6 +14,7 @@ import io.event.ems.mapper.CategoryMapper;
 import io.event.ems.model.Category;
 import io.event.ems.repository.CategoryRepository;
 import io.event.ems.service.CategoryService;
+import io.event.ems.service.specialized.ReferenceDataRegistry;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -22,6 +23,7 @@ public class CategoryServiceImpl implements CategoryService {
     
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final ReferenceDataRegistry referenceDataRegistry;
     
     @Override
     public Page<CategoryDTO> getAllCategory(Pageable pageable) {
@@ -42,6 +44,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
         Category category = categoryMapper.toEntity(categoryDTO);
         category = categoryRepository.save(category);
+        referenceDataRegistry.invalidate();
         return categoryMapper.toDTO(category);
     }
 
@@ -57,6 +60,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         categoryMapper.updateCategoryFromDTO(categoryDTO, category);
         category = categoryRepository.save(category);
+        referenceDataRegistry.invalidate();
         return categoryMapper.toDTO(category);
     }
 
@@ -66,6 +70,7 @@ public class CategoryServiceImpl implements CategoryService {
             throw new ResourceNotFoundException("Category not found with id: " + id);
         }
         categoryRepository.deleteById(id);
+        referenceDataRegistry.invalidate();
     }
 
 }
@@ -1,5 +1,6 @@
 package io.event.ems.service.impl;
 
+import io.event.ems.config.async.AsyncExecutorConfig;
 import io.event.ems.dto.EmailDetails;
 import io.event.ems.service.EmailService;
 import jakarta.mail.MessagingException;
@@ -33,7 +34,7 @@ public class EmailServiceImpl implements EmailService {
     private static final String PURCHASE_CONFIRMATION_TEMPLATE_NAME = "purchase-confirmation";
 
     @Override
-    @Async
+    @Async(AsyncExecutorConfig.OTP_MAIL_EXECUTOR)
     public void sendOtpEmail(String toMail, String subject, String otp) {
 
         log.info("Attempting to send OTP email to {} with subject '{}'", toMail, subject);
@@ -67,7 +68,7 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
+    @Async(AsyncExecutorConfig.PURCHASE_MAIL_EXECUTOR)
     public void sendPurchaseConfirmationEmail(EmailDetails emailDetails) {
         final String toEmail = emailDetails.getToEmail();
         // Bạn có thể giữ nguyên subject hoặc làm cho nó chi tiết hơn
@@ -124,7 +125,7 @@ public class EmailServiceImpl implements EmailService {
         }
     }
 
-    @Async
+    @Async(AsyncExecutorConfig.WELCOME_MAIL_EXECUTOR)
     @Override
     public void sendWelcomeEmail(String to, String username) {
         try {
@@ -1,6 +1,10 @@
 package io.event.ems.service.impl;
 
+import io.event.ems.dto.CursorPageDTO;
 import io.event.ems.dto.EventCreationDTO;
+import io.event.ems.dto.EventFacetedSearchDTO;
+import io.event.ems.dto.EventNearbyDTO;
+import io.event.ems.dto.FacetBucketDTO;
 import io.event.ems.dto.EventResponseDTO;
 import io.event.ems.exception.ResourceNotFoundException;
 import io.event.ems.mapper.EventMapper;
@@ -8,10 +12,18 @@ import io.event.ems.model.*;
 import io.event.ems.repository.*;
 import io.event.ems.security.CustomUserDetails;
 import io.event.ems.service.EventService;
+import io.event.ems.service.specialized.EventCatalogChangedEvent;
+import io.event.ems.service.specialized.EventGeoIndex;
+import io.event.ems.service.specialized.ReferenceDataRegistry;
+import io.event.ems.util.CursorUtil;
+import io.event.ems.util.SearchTextUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -29,22 +41,27 @@ public class EventServiceImpl implements EventService {
 
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
-    private final CategoryRepository categoryRepository;
-    private final StatusCodeRepository statusCodeRepository;
     private final UserRepository userRepository;
-    private final VenueRepository venueRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final SeatMapRepository seatMapRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final EventGeoIndex eventGeoIndex;
 
     private static final String EVENT_ENTITY_TYPE = "EVENT";
     private static final String STATUS_PENDING = "PENDING_APPROVAL";
     private static final String STATUS_APPROVED = "APPROVED";
     private static final String STATUS_REJECTED = "REJECTED";
+    private static final String PUBLIC_LISTING_SORT_PROPERTY = "startDate";
+    private static final double MAX_NEARBY_RADIUS_KM = 200;
+    private static final double MAX_BOX_SPAN_DEGREES = 5;
+    private static final int DEFAULT_NEARBY_LIMIT = 20;
+    private static final int MAX_NEARBY_LIMIT = 100;
 
     @Override
     public EventResponseDTO createEvent(EventCreationDTO eventCreationDTO) {
         log.info("Creating event: {}", eventCreationDTO);
 
-        Venue venue = venueRepository.findById(eventCreationDTO.getVenueId())
+        Venue venue = referenceDataRegistry.findVenue(eventCreationDTO.getVenueId())
                 .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + eventCreationDTO.getVenueId()));
 
         User creator = userRepository.findById(eventCreationDTO.getCreatorId())
@@ -53,7 +70,7 @@ public class EventServiceImpl implements EventService {
 
         String slug = generateUniqueSlug(eventCreationDTO.getTitle());
 
-        StatusCode statusCode = statusCodeRepository.findByEntityTypeAndStatus(EVENT_ENTITY_TYPE, STATUS_PENDING)
+        StatusCode statusCode = referenceDataRegistry.findStatus(EVENT_ENTITY_TYPE, STATUS_PENDING)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Status not found with Entity: EVENT and Status: PENDING_APPROVAL"));
 
@@ -66,7 +83,7 @@ public class EventServiceImpl implements EventService {
         if (eventCreationDTO.getCategoryIds() != null && !eventCreationDTO.getCategoryIds().isEmpty()) {
             Set<Category> categories = new HashSet<>();
             for (UUID categoryId : eventCreationDTO.getCategoryIds()) {
-                Category category = categoryRepository.findById(categoryId)
+                Category category = referenceDataRegistry.findCategory(categoryId)
                         .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + categoryId));
                 categories.add(category);
             }
@@ -80,6 +97,7 @@ public class EventServiceImpl implements EventService {
         }
 
         Event savedEvent = eventRepository.save(event);
+        applicationEventPublisher.publishEvent(EventCatalogChangedEvent.changed(savedEvent.getId()));
         return eventMapper.toResponseDTO(savedEvent);
     }
 
@@ -93,12 +111,13 @@ public class EventServiceImpl implements EventService {
             throw new IllegalStateException("Event is not in PENDING_APPROVAL status");
         }
 
-        event.setStatus(statusCodeRepository.findByEntityTypeAndStatus(EVENT_ENTITY_TYPE, STATUS_APPROVED)
+        event.setStatus(referenceDataRegistry.findStatus(EVENT_ENTITY_TYPE, STATUS_APPROVED)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Status not found with Entity: EVENT and Status: APPROVED")));
 
         Event updatedEvent = eventRepository.save(event);
         log.info("Approved event with Id: {}", updatedEvent.getId());
+        applicationEventPublisher.publishEvent(EventCatalogChangedEvent.changed(updatedEvent.getId()));
         return eventMapper.toResponseDTO(updatedEvent);
     }
 
@@ -113,11 +132,12 @@ public class EventServiceImpl implements EventService {
             throw new IllegalStateException("Event is not in PENDING_APPROVAL status");
         }
 
-        event.setStatus(statusCodeRepository.findByEntityTypeAndStatus(EVENT_ENTITY_TYPE, STATUS_REJECTED)
+        event.setStatus(referenceDataRegistry.findStatus(EVENT_ENTITY_TYPE, STATUS_REJECTED)
                 .orElseThrow(() -> new ResourceNotFoundException("Status 'REJECTED' not found.")));
 
         Event updatedEvent = eventRepository.save(event);
         log.info("Rejected event with Id: {}", updatedEvent.getId());
+        applicationEventPublisher.publishEvent(EventCatalogChangedEvent.changed(updatedEvent.getId()));
         return eventMapper.toResponseDTO(updatedEvent);
     }
 
@@ -165,12 +185,25 @@ public class EventServiceImpl implements EventService {
     @Transactional(readOnly = true)
     public Page<EventResponseDTO> getPublicEvents(Pageable pageable) {
         log.debug("Fetching all public events");
-        StatusCode statusCode = statusCodeRepository.findByEntityTypeAndStatus(EVENT_ENTITY_TYPE, STATUS_APPROVED)
+        StatusCode statusCode = referenceDataRegistry.findStatus(EVENT_ENTITY_TYPE, STATUS_APPROVED)
                 .orElseThrow(() -> new ResourceNotFoundException("Status 'APPROVED' not found."));
         return eventRepository.findByIsPublicTrueAndStatusId(statusCode.getId(), pageable)
                 .map(eventMapper::toResponseDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EventResponseDTO> scrollPublicEvents(String cursor, Integer size) {
+        log.debug("Scrolling public events with cursor: {}", cursor);
+        StatusCode statusCode = referenceDataRegistry.findStatus(EVENT_ENTITY_TYPE, STATUS_APPROVED)
+                .orElseThrow(() -> new ResourceNotFoundException("Status 'APPROVED' not found."));
+        Sort sort = Sort.by(Sort.Order.asc(PUBLIC_LISTING_SORT_PROPERTY), Sort.Order.asc(CursorUtil.ID_PROPERTY));
+        return CursorPageDTO.of(
+                eventRepository.findByIsPublicTrueAndStatusId(statusCode.getId(),
+                        CursorUtil.decode(cursor, PUBLIC_LISTING_SORT_PROPERTY), sort, Limit.of(CursorUtil.clampSize(size))),
+                eventMapper::toResponseDTO,
+                PUBLIC_LISTING_SORT_PROPERTY);
+    }
 
     @Override
     @Transactional(readOnly = true)
@@ -180,12 +213,14 @@ public class EventServiceImpl implements EventService {
             return getPublicEvents(pageable);
         }
 
-        StatusCode approvedStatus = statusCodeRepository.findByEntityTypeAndStatus(EVENT_ENTITY_TYPE, STATUS_APPROVED)
+        StatusCode approvedStatus = referenceDataRegistry.findStatus(EVENT_ENTITY_TYPE, STATUS_APPROVED)
                 .orElseThrow(() -> new IllegalStateException("APPROVED status not found in database."));
 
-        String processedQuery = keyword.trim().replaceAll("\\s+", " & ");
+        // Bỏ dấu phía ứng dụng để "ha noi" khớp "Hà Nội" qua index trigram
+        String normalizedQuery = SearchTextUtil.normalize(keyword);
 
-        return eventRepository.searchByFullText(processedQuery, approvedStatus.getId(), pageable)
+        return eventRepository.searchByFullText(normalizedQuery,
+                        SearchTextUtil.containsPattern(keyword), approvedStatus.getId(), pageable)
                 .map(eventMapper::toResponseDTO);
     }
 
@@ -209,6 +244,112 @@ public class EventServiceImpl implements EventService {
                 .map(eventMapper::toResponseDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public EventFacetedSearchDTO searchEventsWithFacets(String keyword,
+                                                        List<UUID> categoryIds,
+                                                        Integer statusId,
+                                                        Boolean isPublic,
+                                                        LocalDateTime startDate,
+                                                        LocalDateTime endDate,
+                                                        Pageable pageable) {
+        Page<EventResponseDTO> events = searchEventsWithFilters(
+                keyword, categoryIds, statusId, isPublic, startDate, endDate, pageable);
+
+        // Toàn bộ facet được đếm trong một câu SQL (CTE + UNION ALL), không gọi riêng từng loại
+        EventFacetedSearchDTO result = EventFacetedSearchDTO.builder().events(events).build();
+        for (EventFacetRepository.FacetRow row : eventRepository.countFacets(
+                keyword, categoryIds, statusId, isPublic, startDate, endDate)) {
+            FacetBucketDTO bucket = new FacetBucketDTO(row.key(), row.label(), row.count());
+            switch (row.facet()) {
+                case EventFacetRepository.FACET_CATEGORY -> result.getCategories().add(bucket);
+                case EventFacetRepository.FACET_CITY -> result.getCities().add(bucket);
+                case EventFacetRepository.FACET_MONTH -> result.getMonths().add(bucket);
+                case EventFacetRepository.FACET_PRICE_BAND -> result.getPriceBands().add(bucket);
+                default -> log.warn("Unknown facet type: {}", row.facet());
+            }
+        }
+        result.getCategories().sort(Comparator.comparingLong(FacetBucketDTO::getCount).reversed());
+        result.getCities().sort(Comparator.comparingLong(FacetBucketDTO::getCount).reversed());
+        result.getMonths().sort(Comparator.comparing(FacetBucketDTO::getKey));
+        return result;
+    }
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventNearbyDTO> findEventsNearby(double latitude,
+                                                 double longitude,
+                                                 double radiusKm,
+                                                 LocalDateTime from,
+                                                 LocalDateTime to,
+                                                 List<UUID> categoryIds,
+                                                 Integer limit) {
+        if (radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new IllegalArgumentException("radiusKm must be between 0 and " + MAX_NEARBY_RADIUS_KM);
+        }
+        validateCoordinates(latitude, longitude);
+
+        List<EventGeoIndex.GeoHit> hits = eventGeoIndex.findWithinRadius(
+                latitude, longitude, radiusKm, from, to, categoryIds, nearbyLimit(limit));
+        return loadNearbyEvents(hits);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventNearbyDTO> findEventsInBox(double minLatitude,
+                                                double minLongitude,
+                                                double maxLatitude,
+                                                double maxLongitude,
+                                                LocalDateTime from,
+                                                LocalDateTime to,
+                                                List<UUID> categoryIds,
+                                                Integer limit) {
+        validateCoordinates(minLatitude, minLongitude);
+        validateCoordinates(maxLatitude, maxLongitude);
+        if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            throw new IllegalArgumentException("Bounding box min coordinates must not exceed max coordinates");
+        }
+        if (maxLatitude - minLatitude > MAX_BOX_SPAN_DEGREES || maxLongitude - minLongitude > MAX_BOX_SPAN_DEGREES) {
+            throw new IllegalArgumentException("Bounding box must not span more than " + MAX_BOX_SPAN_DEGREES + " degrees");
+        }
+
+        // Sắp theo khoảng cách tới tâm khung (tâm bản đồ đang hiển thị)
+        List<EventGeoIndex.GeoHit> hits = eventGeoIndex.findWithinBox(
+                minLatitude, minLongitude, maxLatitude, maxLongitude,
+                (minLatitude + maxLatitude) / 2, (minLongitude + maxLongitude) / 2,
+                from, to, categoryIds, nearbyLimit(limit));
+        return loadNearbyEvents(hits);
+    }
+
+    private List<EventNearbyDTO> loadNearbyEvents(List<EventGeoIndex.GeoHit> hits) {
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // Một truy vấn duy nhất cho các sự kiện trúng, giữ nguyên thứ tự theo khoảng cách
+        Map<UUID, Event> eventsById = new HashMap<>();
+        for (Event event : eventRepository.findByIdIn(hits.stream().map(EventGeoIndex.GeoHit::eventId).toList())) {
+            eventsById.put(event.getId(), event);
+        }
+        List<EventNearbyDTO> result = new ArrayList<>(hits.size());
+        for (EventGeoIndex.GeoHit hit : hits) {
+            Event event = eventsById.get(hit.eventId());
+            if (event != null) {
+                result.add(new EventNearbyDTO(eventMapper.toResponseDTO(event), hit.distanceKm()));
+            }
+        }
+        return result;
+    }
+
+    private static void validateCoordinates(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Invalid coordinates: " + latitude + ", " + longitude);
+        }
+    }
+
+    private static int nearbyLimit(Integer limit) {
+        return limit == null || limit <= 0 ? DEFAULT_NEARBY_LIMIT : Math.min(limit, MAX_NEARBY_LIMIT);
+    }
 
     @Override
     public EventResponseDTO updateEvent(UUID id, EventCreationDTO eventRequestDTO) throws ResourceNotFoundException {
@@ -218,7 +359,7 @@ public class EventServiceImpl implements EventService {
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
 
         if (!existingEvent.getVenue().getId().equals(eventRequestDTO.getVenueId())) {
-            Venue venue = venueRepository.findById(eventRequestDTO.getVenueId())
+            Venue venue = referenceDataRegistry.findVenue(eventRequestDTO.getVenueId())
                     .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + eventRequestDTO.getVenueId()));
             existingEvent.setVenue(venue);
         }
@@ -232,7 +373,7 @@ public class EventServiceImpl implements EventService {
         eventMapper.updateEntityFromDTO(eventRequestDTO, existingEvent);
 
         if (eventRequestDTO.getStatusId() != null) {
-            StatusCode statusCode = statusCodeRepository.findById(eventRequestDTO.getStatusId())
+            StatusCode statusCode = referenceDataRegistry.findStatusById(eventRequestDTO.getStatusId())
                     .orElseThrow(() -> new ResourceNotFoundException("Status not found with id: " + eventRequestDTO.getStatusId()));
             existingEvent.setStatus(statusCode);
         }
@@ -242,7 +383,7 @@ public class EventServiceImpl implements EventService {
             if (!eventRequestDTO.getCategoryIds().isEmpty()) {
                 Set<Category> categories = new HashSet<>();
                 for (UUID categoryId : eventRequestDTO.getCategoryIds()) {
-                    Category category = categoryRepository.findById(categoryId)
+                    Category category = referenceDataRegistry.findCategory(categoryId)
                             .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + categoryId));
                     categories.add(category);
                 }
@@ -271,6 +412,7 @@ public class EventServiceImpl implements EventService {
 
         Event updatedEvent = eventRepository.save(existingEvent);
         log.debug("Updated event with Id: {}", updatedEvent.getId());
+        applicationEventPublisher.publishEvent(EventCatalogChangedEvent.changed(updatedEvent.getId()));
         return eventMapper.toResponseDTO(updatedEvent);
     }
 
@@ -281,6 +423,7 @@ public class EventServiceImpl implements EventService {
             throw new ResourceNotFoundException("Event not found with id: " + id);
         }
         eventRepository.deleteById(id);
+        applicationEventPublisher.publishEvent(EventCatalogChangedEvent.removed(id));
         log.info("Event deleted successfully with id: {}", id);
     }
 
@@ -11,6 +11,7 @@ import io.event.ems.repository.TicketRepository;
 import io.event.ems.service.EventTicketingQueryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -55,6 +56,12 @@ public class EventTicketingQueryServiceImpl implements EventTicketingQueryServic
         return responseDTO;
     }
 
+    @Override
+    @Cacheable(value = "ticketing", key = "#slug + ':' + #contentVersion", sync = true)
+    public EventTicketingResponseDTO getEventTicketingBySlug(String slug, String contentVersion) {
+        return getEventTicketingBySlug(slug);
+    }
+
     private ReservedSeatingDTO getReservedSeatingTicketing(Event event) {
         if (event.getSeatMap() == null) {
             throw new IllegalStateException("Event with RESERVED_SEATING must have a seat map.");
@@ -1,18 +1,24 @@
 package io.event.ems.service.impl;
 
+import io.event.ems.config.async.AsyncExecutorConfig;
+import io.event.ems.dto.CursorPageDTO;
 import io.event.ems.dto.NotificationDTO;
 import io.event.ems.mapper.NotificationMapper;
-import io.event.ems.model.Event;
 import io.event.ems.model.Notification;
-import io.event.ems.model.User;
+import io.event.ems.repository.EventRepository;
 import io.event.ems.repository.NotificationRepository;
+import io.event.ems.repository.UserRepository;
 import io.event.ems.service.NotificationService;
+import io.event.ems.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +32,10 @@ public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository repository;
     private final NotificationMapper mapper;
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+
+    private static final String NOTIFICATION_SORT_PROPERTY = "createdAt";
 
     @Override
     @Cacheable(value = "unreadNotificationCount", key = "#userId")
@@ -42,6 +52,18 @@ public class NotificationServiceImpl implements NotificationService {
                 .map(mapper::toDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<NotificationDTO> scrollUserNotifications(UUID userId, String cursor, Integer size) {
+        log.debug("Scrolling notifications for user ID: {} with cursor: {}", userId, cursor);
+        Sort sort = Sort.by(Sort.Order.desc(NOTIFICATION_SORT_PROPERTY), Sort.Order.desc(CursorUtil.ID_PROPERTY));
+        return CursorPageDTO.of(
+                repository.findByUser_IdAndReadFalse(userId, CursorUtil.decode(cursor, NOTIFICATION_SORT_PROPERTY),
+                        sort, Limit.of(CursorUtil.clampSize(size))),
+                mapper::toDTO,
+                NOTIFICATION_SORT_PROPERTY);
+    }
+
     @Override
     @Transactional
     @CacheEvict(value = "unreadNotificationCount", key = "#userId")
@@ -55,18 +77,20 @@ public class NotificationServiceImpl implements NotificationService {
     }
 
     @Override
+    @Async(AsyncExecutorConfig.NOTIFICATION_EXECUTOR)
     @Transactional
-    @CacheEvict(value = "unreadNotificationCount", key = "#user.id")
-    public void createNotification(User user, String type, String content, Event relatedEvent) {
+    @CacheEvict(value = "unreadNotificationCount", key = "#userId")
+    public void createNotification(UUID userId, String type, String content, UUID relatedEventId) {
         Notification notification = new Notification();
-        notification.setUser(user);
+        // Tham chiếu theo id trong session của luồng này; chỉ cần khóa ngoại nên không SELECT lại
+        notification.setUser(userRepository.getReferenceById(userId));
         notification.setType(type);
         notification.setContent(content);
-        notification.setRelatedEvent(relatedEvent);
+        notification.setRelatedEvent(relatedEventId != null ? eventRepository.getReferenceById(relatedEventId) : null);
         notification.setRead(false);
 
         repository.save(notification);
-        log.info("Created notification for user ID: {}", user.getId());
+        log.info("Created notification for user ID: {}", userId);
     }
 
 }
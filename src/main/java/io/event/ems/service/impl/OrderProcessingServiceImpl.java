@@ -1,12 +1,18 @@
 package io.event.ems.service.impl;
 
+import io.event.ems.config.datasource.CheckoutTx;
+import io.event.ems.config.datasource.ReadYourWritesService;
 import io.event.ems.dto.*;
 import io.event.ems.exception.ResourceNotFoundException;
 import io.event.ems.model.*;
 import io.event.ems.repository.*;
 import io.event.ems.service.*;
+import io.event.ems.service.specialized.ContentVersionService;
+import io.event.ems.service.specialized.ReferenceDataRegistry;
+import io.event.ems.service.specialized.TicketingMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -21,6 +27,7 @@ import java.util.stream.IntStream;
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@CheckoutTx
 public class OrderProcessingServiceImpl implements OrderProcessingService {
 
     private final TicketPurchaseRepository ticketPurchaseRepository;
@@ -33,29 +40,34 @@ public class OrderProcessingServiceImpl implements OrderProcessingService {
 
     private final UserRepository userRepository;
 
-    private final StatusCodeRepository statusCodeRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
 
     private final PurchasedGATicketRepository purchasedGaTicketRepository;
 
     private final PaymentGatewayService paymentGatewayService;
 
+    // Proxy: JavaMailSender và template engine không bị kéo vào lúc khởi động
+    @Lazy
     private final EmailService emailService;
 
     private final QrCodeService qrCodeService;
 
     private final TransactionTemplate transactionTemplate;
     private final TicketHoldService ticketHoldService;
+    private final ContentVersionService contentVersionService;
+    private final ReadYourWritesService readYourWritesService;
+    private final TicketingMetrics ticketingMetrics;
 
     private static final BigDecimal SERVICE_FEE_PERCENTAGE = new BigDecimal("0.05");
 
     @Override
     public TicketPurchaseConfirmationDTO finalizeDirectPurchase(UUID holdId, UUID userId, PaymentDetailsDTO paymentDetails) {
         log.info("Finalizing direct purchase for hold [ID={}]", holdId);
-        HoldData holdData = ticketHoldService.getAndFinalizeHold(holdId, userId);
+        HoldData holdData = claimHold(holdId, userId);
 
         try {
             // --- BƯỚC 1: TÍNH TOÁN GIÁ ---
-            BigDecimal subtotal = calculateSubtotalFromHoldData(holdData);
+            BigDecimal subtotal = ticketingMetrics.timeStage("pricing", () -> calculateSubtotalFromHoldData(holdData));
             BigDecimal serviceFee = calculateServiceFee(subtotal);
             BigDecimal totalPrice = subtotal.add(serviceFee);
 
@@ -64,10 +76,13 @@ public class OrderProcessingServiceImpl implements OrderProcessingService {
             String transactionId = "STRIPE_TXN_" + UUID.randomUUID().toString().substring(0, 12);
 
             // --- BƯỚC 3 & 4: GHI DB VÀ GỬI EMAIL ---
-            return processDatabaseAndSendEmail(holdData, totalPrice, subtotal, serviceFee, transactionId, paymentDetails.getPaymentMethod());
+            TicketPurchaseConfirmationDTO confirmation = processDatabaseAndSendEmail(holdData, totalPrice, subtotal, serviceFee, transactionId, paymentDetails.getPaymentMethod());
+            ticketingMetrics.purchaseCompleted(holdData.getRequest().getSelectionMode(), TicketingMetrics.FLOW_DIRECT, TicketingMetrics.OUTCOME_SUCCESS);
+            return confirmation;
 
         } catch (Exception e) {
             log.error("Error during direct purchase for hold [ID={}]. Releasing resources.", holdId, e);
+            ticketingMetrics.purchaseCompleted(holdData.getRequest().getSelectionMode(), TicketingMetrics.FLOW_DIRECT, TicketingMetrics.OUTCOME_FAILED);
             ticketHoldService.releaseResourcesForFailedCheckout(holdData);
             throw new IllegalArgumentException("Failed to finalize direct purchase", e);
         }
@@ -76,15 +91,18 @@ public class OrderProcessingServiceImpl implements OrderProcessingService {
     @Override
     public TicketPurchaseConfirmationDTO mockFinalizePurchase(UUID holdId, UUID userId) {
         log.warn("Executing MOCK payment finalization for hold [ID={}]", holdId);
-        HoldData holdData = ticketHoldService.getAndFinalizeHold(holdId, userId);
+        HoldData holdData = claimHold(holdId, userId);
         try {
-            BigDecimal subtotal = calculateSubtotalFromHoldData(holdData);
+            BigDecimal subtotal = ticketingMetrics.timeStage("pricing", () -> calculateSubtotalFromHoldData(holdData));
             BigDecimal serviceFee = calculateServiceFee(subtotal);
             BigDecimal totalPrice = subtotal.add(serviceFee);
             String mockTransactionId = "MOCK_TXN_" + UUID.randomUUID().toString().substring(0, 12);
-            return processDatabaseAndSendEmail(holdData, totalPrice, subtotal, serviceFee, mockTransactionId, "MOCK_PAYMENT");
+            TicketPurchaseConfirmationDTO confirmation = processDatabaseAndSendEmail(holdData, totalPrice, subtotal, serviceFee, mockTransactionId, "MOCK_PAYMENT");
+            ticketingMetrics.purchaseCompleted(holdData.getRequest().getSelectionMode(), TicketingMetrics.FLOW_MOCK, TicketingMetrics.OUTCOME_SUCCESS);
+            return confirmation;
         } catch (Exception e) {
             log.error("Error during mock purchase for hold [ID={}]. Releasing resources.", holdId, e);
+            ticketingMetrics.purchaseCompleted(holdData.getRequest().getSelectionMode(), TicketingMetrics.FLOW_MOCK, TicketingMetrics.OUTCOME_FAILED);
             ticketHoldService.releaseResourcesForFailedCheckout(holdData);
             throw new IllegalArgumentException("Failed to finalize mock purchase", e);
         }
@@ -97,7 +115,7 @@ public class OrderProcessingServiceImpl implements OrderProcessingService {
     @Transactional
     public PaymentCreationResultDTO initiateRedirectPayment(UUID holdId, UUID userId, String paymentMethod, String ipAddress) {
         log.info("Initiating redirect payment for hold [ID={}] via [{}]", holdId, paymentMethod);
-        HoldData holdData = ticketHoldService.getAndFinalizeHold(holdId, userId);
+        HoldData holdData = claimHold(holdId, userId);
 
         try {
             // Tạo đơn hàng PENDING trước
@@ -111,9 +129,11 @@ public class OrderProcessingServiceImpl implements OrderProcessingService {
             ticketPurchaseRepository.save(purchase);
 
             // Lấy URL thanh toán
-            return paymentGatewayService.createPayment(paymentMethod, purchase, ipAddress);
+            return ticketingMetrics.timeStage("payment_init",
+                    () -> paymentGatewayService.createPayment(paymentMethod, purchase, ipAddress));
         } catch (Exception e) {
             log.error("Error initiating redirect payment for hold [ID={}]. Releasing resources.", holdId, e);
+            ticketingMetrics.purchaseCompleted(holdData.getRequest().getSelectionMode(), TicketingMetrics.FLOW_REDIRECT, TicketingMetrics.OUTCOME_FAILED);
             ticketHoldService.releaseResourcesForFailedCheckout(holdData);
             throw new IllegalArgumentException("Failed to initiate payment with " + paymentMethod, e);
         }
@@ -124,7 +144,7 @@ public class OrderProcessingServiceImpl implements OrderProcessingService {
     public TicketPurchaseConfirmationDTO verifyAndFinalizeRedirectedPurchase(String provider, String orderId, UUID userId, Map<String, String> params) {
         log.info("Verifying payment return for provider [{}] and order [ID={}]", provider, orderId);
 
-        if (!paymentGatewayService.verifyPayment(provider, params)) {
+        if (!ticketingMetrics.timeStage("payment_verify", () -> paymentGatewayService.verifyPayment(provider, params))) {
             throw new SecurityException("Invalid payment signature from " + provider);
         }
 
@@ -148,9 +168,11 @@ public class OrderProcessingServiceImpl implements OrderProcessingService {
         // updateResourcesForPurchase(purchase, request); // Cần có request data
 
         TicketPurchase savedPurchase = ticketPurchaseRepository.save(purchase);
+        ticketingMetrics.purchaseCompleted(savedPurchase.getEvent().getTicketSelectionMode(),
+                TicketingMetrics.FLOW_REDIRECT, TicketingMetrics.OUTCOME_SUCCESS);
 
         // --- GỬI EMAIL ---
-        prepareAndSendConfirmationEmail(savedPurchase);
+        ticketingMetrics.timeStage("confirmation", () -> prepareAndSendConfirmationEmail(savedPurchase.getId()));
 
         return new TicketPurchaseConfirmationDTO(savedPurchase.getId(), "Purchase confirmed.", savedPurchase.getPurchaseDate());
     }
@@ -210,9 +232,16 @@ public class OrderProcessingServiceImpl implements OrderProcessingService {
         return savedPurchase;
     }
 
+    /**
+     * Lấy và xóa phiên giữ chỗ khỏi Redis (bước đầu tiên của mọi luồng checkout).
+     */
+    private HoldData claimHold(UUID holdId, UUID userId) {
+        return ticketingMetrics.timeStage("claim_hold", () -> ticketHoldService.getAndFinalizeHold(holdId, userId));
+    }
+
     private StatusCode getStatusCode(String entityType, String statusName) {
         log.debug("Fetching status code for entity [{}] with status [{}]", entityType, statusName);
-        return statusCodeRepository.findByEntityTypeAndStatus(entityType, statusName)
+        return referenceDataRegistry.findStatus(entityType, statusName)
                 .orElseThrow(() -> {
                     log.error("CRITICAL: Status code not found for entity '{}' and status '{}'. Please check the status_codes table.", entityType, statusName);
                     return new IllegalStateException("Status '" + statusName + "' for entity '" + entityType + "' is not configured.");
@@ -224,7 +253,7 @@ public class OrderProcessingServiceImpl implements OrderProcessingService {
      */
     private TicketPurchaseConfirmationDTO processDatabaseAndSendEmail(HoldData holdData, BigDecimal totalPrice, BigDecimal subTotal, BigDecimal serviceFee, String transactionId, String paymentMethod) {
         // --- BƯỚC 3: GHI DỮ LIỆU VÀO DATABASE (TRONG TRANSACTION) ---
-        TicketPurchase savedPurchase = transactionTemplate.execute(status -> {
+        TicketPurchase savedPurchase = ticketingMetrics.timeStage("persist", () -> transactionTemplate.execute(status -> {
             TicketPurchase purchase = createAndSaveTicketPurchase(holdData, totalPrice, subTotal, serviceFee, transactionId, paymentMethod);
 
             // ** LOGIC XỬ LÝ RIÊNG CHO TỪNG LOẠI VÉ MÀ BẠN ĐÃ LÀM RẤT TỐT **
@@ -235,15 +264,18 @@ public class OrderProcessingServiceImpl implements OrderProcessingService {
                 updateGaTickets(purchase, request.getGaItems());
             }
             return purchase;
-        });
+        }));
 
         if (savedPurchase == null) {
             // paymentGatewayService.refund(transactionId);
             throw new RuntimeException("Failed to save purchase details after successful payment.");
         }
+        contentVersionService.bumpAvailability(holdData.getEventId());
+        // Người mua sẽ mở ngay lịch sử mua/vé của mình: không để họ đọc từ replica chưa kịp đồng bộ
+        readYourWritesService.markWrite(holdData.getUserId());
 
         // --- BƯỚC 4: GỬI EMAIL XÁC NHẬN (BÊN NGOÀI TRANSACTION) ---
-        prepareAndSendConfirmationEmail(savedPurchase);
+        ticketingMetrics.timeStage("confirmation", () -> prepareAndSendConfirmationEmail(savedPurchase.getId()));
 
         return new TicketPurchaseConfirmationDTO(savedPurchase.getId(), "Purchase successful.", savedPurchase.getPurchaseDate());
     }
@@ -251,24 +283,27 @@ public class OrderProcessingServiceImpl implements OrderProcessingService {
     /**
      * Hàm chuẩn bị và gửi email, tái sử dụng cấu trúc rõ ràng từ phiên bản cũ của bạn.
      */
-    private void prepareAndSendConfirmationEmail(TicketPurchase purchase) {
-        log.info("Preparing confirmation email for purchase [ID={}]", purchase.getId());
-        // Lấy dữ liệu vé từ database
-        List<EventSeatStatus> soldSeats = eventSeatStatusRepository.findByTicketPurchaseId(purchase.getId());
-        List<PurchasedGATicket> purchasedGATickets = purchasedGaTicketRepository.findByTicketPurchaseId(purchase.getId());
-
-        Map<String, byte[]> inlineQrImages = new HashMap<>();
-        List<ProcessingTicketDTO> allTicketsForProcessing = new ArrayList<>();
-
-        // Xử lý từng loại vé
-        allTicketsForProcessing.addAll(processReservedSeats(soldSeats, inlineQrImages));
-        allTicketsForProcessing.addAll(processGATickets(purchasedGATickets, inlineQrImages));
-
-        // Gom nhóm các vé đã xử lý
-        List<EmailDetails.TicketGroupInfo> ticketGroupsForEmail = groupTickets(allTicketsForProcessing);
-
-        // Xây dựng và gửi
-        EmailDetails emailDetails = buildEmailDetails(purchase, ticketGroupsForEmail, inlineQrImages);
+    private void prepareAndSendConfirmationEmail(UUID purchaseId) {
+        log.info("Preparing confirmation email for purchase [ID={}]", purchaseId);
+        // Ghế, khu, địa điểm đều là quan hệ lazy: phải đọc khi session còn mở (không còn open-in-view),
+        // nên nội dung email được dựng trong transaction, còn việc gửi nằm ngoài.
+        EmailDetails emailDetails = transactionTemplate.execute(status -> {
+            TicketPurchase purchase = ticketPurchaseRepository.findByIdWithDetails(purchaseId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Purchase not found: " + purchaseId));
+            List<EventSeatStatus> soldSeats = eventSeatStatusRepository.findByTicketPurchaseId(purchaseId);
+            List<PurchasedGATicket> purchasedGATickets = purchasedGaTicketRepository.findByTicketPurchaseId(purchaseId);
+
+            Map<String, byte[]> inlineQrImages = new HashMap<>();
+            List<ProcessingTicketDTO> allTicketsForProcessing = new ArrayList<>();
+
+            // Xử lý từng loại vé
+            allTicketsForProcessing.addAll(processReservedSeats(soldSeats, inlineQrImages));
+            allTicketsForProcessing.addAll(processGATickets(purchasedGATickets, inlineQrImages));
+
+            // Gom nhóm các vé đã xử lý
+            List<EmailDetails.TicketGroupInfo> ticketGroupsForEmail = groupTickets(allTicketsForProcessing);
+            return buildEmailDetails(purchase, ticketGroupsForEmail, inlineQrImages);
+        });
         emailService.sendPurchaseConfirmationEmail(emailDetails);
     }
 
@@ -525,7 +560,7 @@ public class OrderProcessingServiceImpl implements OrderProcessingService {
     private TicketPurchase createAndSaveTicketPurchase(HoldData holdData, BigDecimal totalPrice, BigDecimal subtotal, BigDecimal serviceFee, String transactionId, String paymentMethod) {
         User user = userRepository.findById(holdData.getUserId()).orElseThrow(() -> new ResourceNotFoundException("User not found: " + holdData.getUserId()));
         Event event = eventRepository.findById(holdData.getEventId()).orElseThrow(() -> new ResourceNotFoundException("Event not found: " + holdData.getEventId()));
-        StatusCode successStatus = statusCodeRepository.findByEntityTypeAndStatus("TICKET_PURCHASE", "COMPLETED")
+        StatusCode successStatus = referenceDataRegistry.findStatus("TICKET_PURCHASE", "COMPLETED")
                 .orElseThrow(() -> new IllegalStateException("Status 'COMPLETED' for TICKET_PURCHASE not configured."));
 
         TicketPurchase purchase = new TicketPurchase();
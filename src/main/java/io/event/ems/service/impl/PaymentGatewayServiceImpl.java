@@ -4,6 +4,7 @@ import io.event.ems.dto.PaymentCreationResultDTO;
 import io.event.ems.model.TicketPurchase;
 import io.event.ems.service.PaymentGatewayService;
 import io.event.ems.service.payment.PaymentGateway;
+import io.event.ems.service.specialized.TicketingMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -19,9 +20,11 @@ import java.util.stream.Collectors;
 public class PaymentGatewayServiceImpl implements PaymentGatewayService {
 
     private final Map<String, PaymentGateway> gateways;
+    private final TicketingMetrics ticketingMetrics;
 
 
-    public PaymentGatewayServiceImpl(List<PaymentGateway> gatewayList) {
+    public PaymentGatewayServiceImpl(List<PaymentGateway> gatewayList, TicketingMetrics ticketingMetrics) {
+        this.ticketingMetrics = ticketingMetrics;
         this.gateways = gatewayList.stream()
                 .collect(Collectors.toMap(
                         gateway -> gateway.getProviderName().toUpperCase(),
@@ -46,14 +49,16 @@ public class PaymentGatewayServiceImpl implements PaymentGatewayService {
     public PaymentCreationResultDTO createPayment(String provider, TicketPurchase purchase, String ipAddress) {
         log.debug("Dispatching payment creation request to provider: {}", provider);
         PaymentGateway gateway = getGateway(provider);
-        return gateway.createPaymentUrl(purchase, ipAddress);
+        return ticketingMetrics.timeGateway(gateway.getProviderName(), "create",
+                () -> gateway.createPaymentUrl(purchase, ipAddress));
     }
 
     @Override
     public boolean verifyPayment(String provider, Map<String, String> params) {
         log.debug("Dispatching payment verification request to provider: {}", provider);
         PaymentGateway gateway = getGateway(provider);
-        return gateway.handlePaymentReturn(params);
+        return ticketingMetrics.timeGateway(gateway.getProviderName(), "verify",
+                () -> gateway.handlePaymentReturn(params));
     }
 
     private PaymentGateway getGateway(String provider) {
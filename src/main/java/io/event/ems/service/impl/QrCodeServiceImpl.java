@@ -10,6 +10,7 @@ import io.event.ems.model.PurchasedGATicket;
 import io.event.ems.model.TicketQrCode;
 import io.event.ems.repository.TicketQrCodeRepository;
 import io.event.ems.service.QrCodeService;
+import io.event.ems.service.specialized.TicketingMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -42,6 +43,7 @@ public class QrCodeServiceImpl implements QrCodeService {
     private String secretKey;
 
     private final TicketQrCodeRepository ticketQrCodeRepository;
+    private final TicketingMetrics ticketingMetrics;
 
     @Override
     @Transactional
@@ -143,19 +145,21 @@ public class QrCodeServiceImpl implements QrCodeService {
      * @return Dữ liệu byte của ảnh QR theo định dạng PNG.
      */
     private byte[] generateQrImage(String qrContent) {
-        try {
-            QRCodeWriter qrCodeWriter = new QRCodeWriter();
-            BitMatrix bitMatrix = qrCodeWriter.encode(qrContent, BarcodeFormat.QR_CODE, QR_CODE_WIDTH, QR_CODE_HEIGHT);
-
-            ByteArrayOutputStream pngOutputStream = new ByteArrayOutputStream();
-            MatrixToImageWriter.writeToStream(bitMatrix, QR_CODE_IMAGE_FORMAT, pngOutputStream);
-            return pngOutputStream.toByteArray();
-
-        } catch (WriterException | IOException e) {
-            log.error("Could not generate QR Code image for content: {}", qrContent, e);
-            // Ném ra một exception cụ thể hơn hoặc RuntimeException để transaction có thể rollback
-            throw new RuntimeException("Error occurred during QR code image generation.", e);
-        }
+        return ticketingMetrics.timeQrRender(() -> {
+            try {
+                QRCodeWriter qrCodeWriter = new QRCodeWriter();
+                BitMatrix bitMatrix = qrCodeWriter.encode(qrContent, BarcodeFormat.QR_CODE, QR_CODE_WIDTH, QR_CODE_HEIGHT);
+
+                ByteArrayOutputStream pngOutputStream = new ByteArrayOutputStream();
+                MatrixToImageWriter.writeToStream(bitMatrix, QR_CODE_IMAGE_FORMAT, pngOutputStream);
+                return pngOutputStream.toByteArray();
+
+            } catch (WriterException | IOException e) {
+                log.error("Could not generate QR Code image for content: {}", qrContent, e);
+                // Ném ra một exception cụ thể hơn hoặc RuntimeException để transaction có thể rollback
+                throw new RuntimeException("Error occurred during QR code image generation.", e);
+            }
+        });
     }
 
     /**
@@ -10,6 +10,7 @@ import io.event.ems.model.Venue;
 import io.event.ems.repository.SeatMapRepository;
 import io.event.ems.repository.VenueRepository;
 import io.event.ems.service.SeatMapService;
+import io.event.ems.service.specialized.ContentVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -31,6 +32,7 @@ public class SeatMapServiceImpl implements SeatMapService {
     private final SeatMapRepository seatMapRepository;
     private final VenueRepository venueRepository;
     private final SeatMapMapper seatMapMapper;
+    private final ContentVersionService contentVersionService;
 
     @Override
     @Transactional(readOnly = true)
@@ -78,6 +80,8 @@ public class SeatMapServiceImpl implements SeatMapService {
         updateSectionsAndSeats(seatMap, dto.getSections());
 
         SeatMap updatedSeatMap = seatMapRepository.save(seatMap);
+        // Sơ đồ nằm trong trang đặt vé của mọi sự kiện dùng nó
+        contentVersionService.bumpReferenceData();
         return seatMapMapper.toDetailDTO(updatedSeatMap);
     }
 
@@ -89,6 +93,7 @@ public class SeatMapServiceImpl implements SeatMapService {
         }
         // TODO: Add logic to check if seat map is in use by an event
         seatMapRepository.deleteById(seatMapId);
+        contentVersionService.bumpReferenceData();
     }
 
     private void updateSectionsAndSeats(SeatMap seatMap, List<UpdateSectionRequestDTO> sectionDTOs) {
@@ -10,6 +10,7 @@ import io.event.ems.repository.SeatMapRepository;
 import io.event.ems.repository.SeatSectionRepository;
 import io.event.ems.repository.TicketRepository;
 import io.event.ems.service.SectionService;
+import io.event.ems.service.specialized.ContentVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -29,6 +30,7 @@ public class SectionServiceImpl implements SectionService {
     private final SeatMapRepository seatMapRepository;
     private final TicketRepository ticketRepository;
     private final SectionMapper sectionMapper;
+    private final ContentVersionService contentVersionService;
 
 
     @Override
@@ -60,6 +62,7 @@ public class SectionServiceImpl implements SectionService {
         newSection.setCapacity(dto.getCapacity());
 
         SeatSection savedSection = sectionRepository.save(newSection);
+        contentVersionService.bumpReferenceData();
         log.info("Created new section '{}' with ID {} for seat map {}", savedSection.getName(), savedSection.getId(), seatMapId);
         return sectionMapper.toDetailDTO(savedSection);
     }
@@ -80,6 +83,7 @@ public class SectionServiceImpl implements SectionService {
         existingSection.setCapacity(dto.getCapacity());
 
         SeatSection updatedSection = sectionRepository.save(existingSection);
+        contentVersionService.bumpReferenceData();
         log.info("Updated section '{}' with ID {}", updatedSection.getName(), updatedSection.getId());
         return sectionMapper.toDetailDTO(updatedSection);
     }
@@ -93,6 +97,7 @@ public class SectionServiceImpl implements SectionService {
             throw new IllegalArgumentException("Cannot delete zone: Tickets are associated with it.");
         }
         sectionRepository.deleteById(sectionId);
+        contentVersionService.bumpReferenceData();
         log.info("Deleted section with ID {}", sectionId);
     }
 }
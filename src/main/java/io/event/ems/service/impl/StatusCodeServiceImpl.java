@@ -13,6 +13,7 @@ import io.event.ems.mapper.StatusCodeMapper;
 import io.event.ems.model.StatusCode;
 import io.event.ems.repository.StatusCodeRepository;
 import io.event.ems.service.StatusCodeService;
+import io.event.ems.service.specialized.ReferenceDataRegistry;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -21,6 +22,7 @@ public class StatusCodeServiceImpl implements StatusCodeService {
 
     private final StatusCodeRepository statusCodeRepository;
     private final StatusCodeMapper statusCodeMapper;
+    private final ReferenceDataRegistry referenceDataRegistry;
 
     @Override
     public Page<StatusCodeDTO> getAllStatusCodes(Pageable pageable) {
@@ -43,6 +45,7 @@ public class StatusCodeServiceImpl implements StatusCodeService {
 
         StatusCode statusCode = statusCodeMapper.toEntity(statusCodeDTO);
         statusCode = statusCodeRepository.save(statusCode);
+        referenceDataRegistry.invalidate();
         return statusCodeMapper.toDTO(statusCode);
     }
 
@@ -61,6 +64,7 @@ public class StatusCodeServiceImpl implements StatusCodeService {
         
         statusCodeMapper.updateStatusCodeFromDTO(statusCodeDTO, statusCode);
         statusCode = statusCodeRepository.save(statusCode);
+        referenceDataRegistry.invalidate();
         return statusCodeMapper.toDTO(statusCode);
 
     }
@@ -71,5 +75,6 @@ public class StatusCodeServiceImpl implements StatusCodeService {
             throw new ResourceNotFoundException("Status code not found with id: " + id);
         }
         statusCodeRepository.deleteById(id);
+        referenceDataRegistry.invalidate();
     }
 }
@@ -1,6 +1,7 @@
 package io.event.ems.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.event.ems.config.datasource.CheckoutTx;
 import io.event.ems.dto.HoldDetailsResponseDTO;
 import io.event.ems.dto.HoldResponseDTO;
 import io.event.ems.dto.TicketHoldRequestDTO;
@@ -8,6 +9,9 @@ import io.event.ems.model.HoldData;
 import io.event.ems.model.TicketSelectionModeEnum;
 import io.event.ems.repository.TicketRepository;
 import io.event.ems.service.TicketHoldService;
+import io.event.ems.service.specialized.ContentVersionService;
+import io.event.ems.service.specialized.TicketingMetrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.Cursor;
@@ -22,11 +26,14 @@ import java.util.UUID;
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@CheckoutTx
 public class TicketHoldServiceImpl implements TicketHoldService {
 
     private final RedisTemplate<String, String> redisTemplate;
     private final ObjectMapper objectMapper;
     private final TicketRepository ticketRepository;
+    private final ContentVersionService contentVersionService;
+    private final TicketingMetrics ticketingMetrics;
 
     private static final long HOLD_DURATION_MINUTES = 10;
     private static final String HOLD_KEY_PREFIX = "ticket_hold:";
@@ -34,23 +41,34 @@ public class TicketHoldServiceImpl implements TicketHoldService {
 
     @Override
     public HoldResponseDTO createAndValidateHold(UUID eventId, TicketHoldRequestDTO request, UUID userId) {
-        if (!request.isValidForMode()) {
+        Timer.Sample sample = ticketingMetrics.startTimer();
+        TicketSelectionModeEnum mode = request.getSelectionMode();
+        if (mode == null || !request.isValidForMode()) {
+            ticketingMetrics.holdConflict(mode, TicketingMetrics.CONFLICT_INVALID_REQUEST);
+            ticketingMetrics.holdCreated(mode, TicketingMetrics.OUTCOME_CONFLICT, sample);
             throw new IllegalArgumentException("Invalid hold request for the selected mode.");
         }
 
         UUID holdId = UUID.randomUUID();
         HoldData holdData = new HoldData(holdId, eventId, userId, request, LocalDateTime.now().plusMinutes(HOLD_DURATION_MINUTES));
 
-        acquireResources(holdData);
+        try {
+            acquireResources(holdData);
+        } catch (IllegalArgumentException e) {
+            ticketingMetrics.holdCreated(mode, TicketingMetrics.OUTCOME_CONFLICT, sample);
+            throw e;
+        }
 
         try {
             String holdDataJson = objectMapper.writeValueAsString(holdData);
             redisTemplate.opsForValue().set(HOLD_KEY_PREFIX + holdId, holdDataJson, Duration.ofMinutes(HOLD_DURATION_MINUTES));
             log.info("Successfully created hold [ID={}] for user [ID={}]", holdId, userId);
+            ticketingMetrics.holdCreated(mode, TicketingMetrics.OUTCOME_SUCCESS, sample);
             return new HoldResponseDTO(holdId, holdData.getExpiresAt());
         } catch (Exception e) {
             log.error("Failed to write hold to Redis [ID={}]. Releasing resources.", holdId, e);
             releaseResources(holdData); // Rollback
+            ticketingMetrics.holdCreated(mode, TicketingMetrics.OUTCOME_FAILED, sample);
             throw new RuntimeException("System error during hold process.");
         }
     }
@@ -69,6 +87,7 @@ public class TicketHoldServiceImpl implements TicketHoldService {
 
             releaseResources(holdData);
             redisTemplate.delete(holdKey);
+            ticketingMetrics.holdReleased(holdData.getRequest().getSelectionMode(), TicketingMetrics.RELEASE_USER);
             log.info("Successfully released hold [ID={}] by user [ID={}]", holdId, userId);
         } catch (Exception e) {
             log.error("Error releasing hold [ID={}]", holdId, e);
@@ -153,6 +172,7 @@ public class TicketHoldServiceImpl implements TicketHoldService {
 
                         releaseResources(holdData);
                         redisTemplate.delete(holdKey);
+                        ticketingMetrics.holdReleased(holdData.getRequest().getSelectionMode(), TicketingMetrics.RELEASE_EXPIRED);
 
                         cleanedCount++;
                     }
@@ -176,6 +196,7 @@ public class TicketHoldServiceImpl implements TicketHoldService {
     public void releaseResourcesForFailedCheckout(HoldData holdData) {
         log.warn("Releasing resources for a FAILED checkout, hold [ID={}]", holdData.getHoldId());
         releaseResources(holdData);
+        ticketingMetrics.holdReleased(holdData.getRequest().getSelectionMode(), TicketingMetrics.RELEASE_CHECKOUT_FAILED);
     }
 
     private void acquireResources(HoldData holdData) {
@@ -186,6 +207,7 @@ public class TicketHoldServiceImpl implements TicketHoldService {
             Long addedCount = redisTemplate.opsForSet().add(key, seatIds);
             if (addedCount == null || addedCount != seatIds.length) {
                 redisTemplate.opsForSet().remove(key, (Object[]) seatIds);
+                ticketingMetrics.holdConflict(request.getSelectionMode(), TicketingMetrics.CONFLICT_SEATS_TAKEN);
                 throw new IllegalArgumentException("Some seats are no longer available.");
             }
         } else {
@@ -197,10 +219,12 @@ public class TicketHoldServiceImpl implements TicketHoldService {
                         if (rolledBackItem.getTicketId().equals(item.getTicketId())) break;
                         ticketRepository.increaseAvailableQuantity(rolledBackItem.getTicketId(), rolledBackItem.getQuantity());
                     }
+                    ticketingMetrics.holdConflict(request.getSelectionMode(), TicketingMetrics.CONFLICT_SOLD_OUT);
                     throw new IllegalArgumentException("Not enough tickets available for one of the selected types.");
                 }
             }
         }
+        contentVersionService.bumpAvailability(holdData.getEventId());
     }
 
     private void releaseResources(HoldData holdData) {
@@ -214,5 +238,6 @@ public class TicketHoldServiceImpl implements TicketHoldService {
                     ticketRepository.increaseAvailableQuantity(item.getTicketId(), item.getQuantity())
             );
         }
+        contentVersionService.bumpAvailability(holdData.getEventId());
     }
 }
\ No newline at end of file
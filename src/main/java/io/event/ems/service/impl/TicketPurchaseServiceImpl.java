@@ -1,5 +1,7 @@
 package io.event.ems.service.impl;
 
+import io.event.ems.config.datasource.ReportingTx;
+import io.event.ems.dto.CursorPageDTO;
 import io.event.ems.dto.PurchaseDetailDTO;
 import io.event.ems.dto.PurchaseListItemDTO;
 import io.event.ems.exception.ResourceNotFoundException;
@@ -11,10 +13,13 @@ import io.event.ems.repository.EventSeatStatusRepository;
 import io.event.ems.repository.PurchasedGATicketRepository;
 import io.event.ems.repository.TicketPurchaseRepository;
 import io.event.ems.service.TicketPurchaseService;
+import io.event.ems.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,7 +40,12 @@ public class TicketPurchaseServiceImpl implements TicketPurchaseService {
 
     private final PurchaseMapper mapper;
 
+    private static final String PURCHASE_SORT_PROPERTY = "purchaseDate";
+    private static final Sort PURCHASE_KEYSET_SORT = Sort.by(
+            Sort.Order.desc(PURCHASE_SORT_PROPERTY), Sort.Order.desc(CursorUtil.ID_PROPERTY));
+
     @Override
+    @ReportingTx
     public Page<PurchaseListItemDTO> getAllPurchases(Pageable pageable) {
         log.info("Fetching all purchases");
         Page<TicketPurchase> purchases = ticketPurchaseRepository.findAll(pageable);
@@ -49,6 +59,27 @@ public class TicketPurchaseServiceImpl implements TicketPurchaseService {
         return purchases.map(mapper::toListItemDTO);
     }
 
+    @Override
+    public CursorPageDTO<PurchaseListItemDTO> scrollPurchasesByUserId(UUID userId, String cursor, Integer size) {
+        log.info("Scrolling purchases for user ID: {}", userId);
+        return CursorPageDTO.of(
+                ticketPurchaseRepository.findByUser_Id(userId, CursorUtil.decode(cursor, PURCHASE_SORT_PROPERTY),
+                        PURCHASE_KEYSET_SORT, Limit.of(CursorUtil.clampSize(size))),
+                mapper::toListItemDTO,
+                PURCHASE_SORT_PROPERTY);
+    }
+
+    @Override
+    @ReportingTx
+    public CursorPageDTO<PurchaseListItemDTO> scrollPurchasesByEventId(UUID eventId, String cursor, Integer size) {
+        log.info("Scrolling purchases for event ID: {}", eventId);
+        return CursorPageDTO.of(
+                ticketPurchaseRepository.findByEvent_Id(eventId, CursorUtil.decode(cursor, PURCHASE_SORT_PROPERTY),
+                        PURCHASE_KEYSET_SORT, Limit.of(CursorUtil.clampSize(size))),
+                mapper::toListItemDTO,
+                PURCHASE_SORT_PROPERTY);
+    }
+
     @Override
     public PurchaseDetailDTO getPurchaseDetailsById(UUID purchaseId) {
         log.info("Fetching purchase details for ID: {}", purchaseId);
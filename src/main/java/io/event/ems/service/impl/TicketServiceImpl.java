@@ -13,8 +13,10 @@ import io.event.ems.repository.SeatSectionRepository;
 import io.event.ems.repository.StatusCodeRepository;
 import io.event.ems.repository.TicketRepository;
 import io.event.ems.service.TicketService;
+import io.event.ems.service.specialized.EventCatalogChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -34,6 +36,7 @@ public class TicketServiceImpl implements TicketService {
     private final StatusCodeRepository statusCodeRepository;
     private final SeatSectionRepository seatSectionRepository;
     private final TicketMapper ticketMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Override
     public TicketResponseDTO createTicketForEvent(UUID eventId, TicketRequestDTO ticketRequestDTO) {
@@ -61,6 +64,8 @@ public class TicketServiceImpl implements TicketService {
         }
 
         Ticket saveTicket = ticketRepository.save(ticket);
+        // Giá/số lượng vé nằm trong facet giá và trang đặt vé của sự kiện
+        applicationEventPublisher.publishEvent(EventCatalogChangedEvent.changed(eventId));
         return ticketMapper.toDTO(saveTicket);
 
     }
@@ -107,6 +112,7 @@ public class TicketServiceImpl implements TicketService {
         }
 
         Ticket updatedTicket = ticketRepository.save(existingTicket);
+        applicationEventPublisher.publishEvent(EventCatalogChangedEvent.changed(eventId));
         return ticketMapper.toDTO(updatedTicket);
 
     }
@@ -124,5 +130,6 @@ public class TicketServiceImpl implements TicketService {
             }
         }
         ticketRepository.deleteById(ticketId);
+        applicationEventPublisher.publishEvent(EventCatalogChangedEvent.changed(eventId));
     }
 }
@@ -1,6 +1,7 @@
 package io.event.ems.service.impl;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -10,10 +11,12 @@ import io.event.ems.model.User;
 import io.event.ems.repository.UserRepository;
 import io.event.ems.security.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+@Slf4j
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -31,4 +34,18 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
     }
 
+    /**
+     * Lưu hash mới khi cost BCrypt cấu hình cao hơn cost của hash đang lưu (gọi sau khi đăng nhập thành công).
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        log.info("Upgraded password hash for user {}", user.getUsername());
+        return new CustomUserDetails(user);
+    }
+
 }
@@ -8,10 +8,11 @@ import io.event.ems.model.Role;
 import io.event.ems.model.StatusCode;
 import io.event.ems.model.User;
 import io.event.ems.model.UserSettings;
-import io.event.ems.repository.StatusCodeRepository;
 import io.event.ems.repository.UserRepository;
+import io.event.ems.security.UserStateService;
 import io.event.ems.service.FileStorageService;
 import io.event.ems.service.UserService;
+import io.event.ems.service.specialized.ReferenceDataRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -32,8 +33,9 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
-    private final StatusCodeRepository statusCodeRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final FileStorageService fileStorageService;
+    private final UserStateService userStateService;
     private static final long MAX_FILE_SIZE = 5_000_000; // 5MB
     private static final String[] ALLOWED_IMAGE_TYPES = {"image/jpeg", "image/png", "image/gif"};
 
@@ -47,7 +49,7 @@ public class UserServiceImpl implements UserService {
             throw new DuplicateEmailException("Email already exists");
         }
 
-        StatusCode userStatus = statusCodeRepository.findByEntityTypeAndStatus("USER", "ACTIVE")
+        StatusCode userStatus = referenceDataRegistry.findStatus("USER", "ACTIVE")
                 .orElseThrow(() -> new StatusNotFoundException("Status not found"));
         User user = userMapper.toEntity(userRequestDTO);
 
@@ -93,7 +95,10 @@ public class UserServiceImpl implements UserService {
             user.setRole(Role.valueOf(userRequestDTO.getRole().toUpperCase()));
 
         userMapper.updateUserFromDto(userRequestDTO, user);
-        return userMapper.toResponseDTO(userRepository.save(user));
+        UserResponseDTO saved = userMapper.toResponseDTO(userRepository.save(user));
+        // Vai trò/username có thể đã đổi: principal dựng từ token phải đọc lại trạng thái
+        userStateService.invalidate(id);
+        return saved;
 
     }
 
@@ -103,6 +108,7 @@ public class UserServiceImpl implements UserService {
             throw new UserNotFoundException("User does not exists");
         }
         userRepository.deleteById(id);
+        userStateService.invalidate(id);
     }
 
     @Override
@@ -203,10 +209,11 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
-        StatusCode statusCode = statusCodeRepository.findByEntityTypeAndStatus("USER", status)
+        StatusCode statusCode = referenceDataRegistry.findStatus("USER", status)
                 .orElseThrow(() -> new StatusNotFoundException("Status not found"));
         user.setStatus(statusCode);
         userRepository.save(user);
+        userStateService.invalidate(id);
     }
 
     @Override
@@ -8,6 +8,7 @@ import io.event.ems.model.Venue;
 import io.event.ems.repository.EventRepository;
 import io.event.ems.repository.VenueRepository;
 import io.event.ems.service.VenueService;
+import io.event.ems.service.specialized.ReferenceDataRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -26,6 +27,7 @@ public class VenueServiceImpl implements VenueService {
     private final VenueRepository venueRepository;
     private final VenueMapper venueMapper;
     private final EventRepository eventRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
 
     @Override
     @Transactional(readOnly = true)
@@ -57,6 +59,7 @@ public class VenueServiceImpl implements VenueService {
         }
         Venue newVenue = venueMapper.toEntity(dto);
         Venue savedVenue = venueRepository.save(newVenue);
+        referenceDataRegistry.invalidate();
         log.info("Successfully created venue with ID: {}", savedVenue.getId());
         return venueMapper.toDTO(savedVenue);
     }
@@ -76,6 +79,7 @@ public class VenueServiceImpl implements VenueService {
 
         venueMapper.updateVenueFromDTO(dto, existingVenue);
         Venue updatedVenue = venueRepository.save(existingVenue);
+        referenceDataRegistry.invalidate();
         log.info("Successfully updated venue with ID: {}", id);
         return venueMapper.toDTO(updatedVenue);
     }
@@ -95,6 +99,7 @@ public class VenueServiceImpl implements VenueService {
         }
         // Nếu có, có thể không cho xóa hoặc phải xóa mềm (soft delete).
         venueRepository.deleteById(id);
+        referenceDataRegistry.invalidate();
         log.info("Successfully deleted venue with ID: {}", id);
     }
 }
@@ -0,0 +1,122 @@
+package io.event.ems.service.specialized;
+
+import io.event.ems.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bộ đếm phiên bản nội dung trong Redis, dùng để sinh ETag cho các GET công khai mà không cần chạy lại truy vấn.
+ * <ul>
+ *     <li>catalog: tăng mỗi khi một sự kiện được tạo/sửa/duyệt/xóa (ảnh hưởng mọi trang danh sách, tìm kiếm).</li>
+ *     <li>reference: tăng khi danh mục, địa điểm, trạng thái hoặc sơ đồ chỗ ngồi thay đổi.</li>
+ *     <li>event:{eventId}: tăng mỗi khi chính sự kiện đó thay đổi, kể cả khi chỉ đổi danh mục (bảng
+ *     event_categories) mà dòng events không đổi nên updatedAt giữ nguyên.</li>
+ *     <li>availability:{eventId}: tăng khi vé của sự kiện được giữ, nhả, bán hoặc chỉnh sửa.</li>
+ * </ul>
+ * Nếu Redis lỗi, các hàm đọc trả về empty và controller bỏ qua ETag (luôn trả 200).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContentVersionService {
+
+    private static final String CATALOG_KEY = "ems:version:catalog";
+    private static final String REFERENCE_KEY = "ems:version:reference";
+    private static final String AVAILABILITY_KEY_PREFIX = "ems:version:availability:";
+    private static final String EVENT_KEY_PREFIX = "ems:version:event:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final EventRepository eventRepository;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventCatalogChangedEvent change) {
+        increment(CATALOG_KEY);
+        increment(EVENT_KEY_PREFIX + change.eventId());
+        increment(AVAILABILITY_KEY_PREFIX + change.eventId());
+    }
+
+    public void bumpReferenceData() {
+        afterCommit(() -> increment(REFERENCE_KEY));
+    }
+
+    public void bumpAvailability(UUID eventId) {
+        afterCommit(() -> increment(AVAILABILITY_KEY_PREFIX + eventId));
+    }
+
+    /**
+     * Phiên bản của mọi danh sách/tìm kiếm sự kiện, vd. "c42r7".
+     */
+    public Optional<String> catalogVersion() {
+        return read(List.of(CATALOG_KEY, REFERENCE_KEY))
+                .map(values -> "c" + values.get(0) + "r" + values.get(1));
+    }
+
+    /**
+     * Phiên bản chi tiết một sự kiện theo slug, dựa trên Event.updatedAt, bộ đếm thay đổi của sự kiện và dữ liệu
+     * tham chiếu, vd. "e1718000000000.3r7". Khi {@code includeAvailability} thì cộng thêm phiên bản tồn vé ("...a1093").
+     * Chỉ đọc (id, updatedAt) qua index slug, không nạp entity.
+     * <p>
+     * Chỉ sự kiện công khai và đã duyệt mới có phiên bản; với bản nháp trả về rỗng để phản hồi không mang ETag,
+     * tránh lộ sự tồn tại của nó qua 304.
+     */
+    public Optional<String> eventVersion(String slug, boolean includeAvailability) {
+        Optional<EventRepository.VersionView> event = eventRepository.findPublicVersionBySlug(slug);
+        if (event.isEmpty()) {
+            return Optional.empty();
+        }
+        long updatedAt = event.get().getUpdatedAt() != null
+                ? event.get().getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+                : 0L;
+        UUID eventId = event.get().getId();
+        List<String> keys = includeAvailability
+                ? List.of(EVENT_KEY_PREFIX + eventId, REFERENCE_KEY, AVAILABILITY_KEY_PREFIX + eventId)
+                : List.of(EVENT_KEY_PREFIX + eventId, REFERENCE_KEY);
+        return read(keys).map(values -> "e" + updatedAt + "." + values.get(0) + "r" + values.get(1)
+                + (includeAvailability ? "a" + values.get(2) : ""));
+    }
+
+    private Optional<List<String>> read(List<String> keys) {
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            if (values == null) {
+                return Optional.empty();
+            }
+            return Optional.of(values.stream().map(v -> v == null ? "0" : v).toList());
+        } catch (Exception e) {
+            log.warn("Could not read content versions {}: {}", keys, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void increment(String key) {
+        try {
+            redisTemplate.opsForValue().increment(key);
+        } catch (Exception e) {
+            // Không tăng được phiên bản thì ETag cũ vẫn khớp; chỉ sống tối đa theo Cache-Control
+            log.error("Could not bump content version [{}]", key, e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.event.ems.service.specialized;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Phát {@link EventCatalogChangedEvent} (sau khi commit) lên Redis để mọi node nhận được,
+ * rồi đẩy lại thành {@link ChangeReceived} trong từng node. Các chỉ mục trong bộ nhớ
+ * (gợi ý tìm kiếm, lưới địa lý...) chỉ cần lắng nghe {@link ChangeReceived}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventCatalogChangeRelay implements MessageListener {
+
+    public static final String CHANNEL = "ems:event-catalog:changed";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @PostConstruct
+    void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventCatalogChangedEvent change) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, change.eventId().toString());
+        } catch (Exception e) {
+            // Redis không khả dụng: ít nhất node hiện tại vẫn phải cập nhật
+            log.warn("Could not publish catalog change for event [{}], applying locally only: {}",
+                    change.eventId(), e.getMessage());
+            applicationEventPublisher.publishEvent(new ChangeReceived(change.eventId()));
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            applicationEventPublisher.publishEvent(new ChangeReceived(UUID.fromString(String.valueOf(body))));
+        } catch (Exception e) {
+            log.error("Failed to apply event catalog change", e);
+        }
+    }
+
+    /**
+     * Một sự kiện đã thay đổi (hoặc bị xóa) trên một node bất kỳ; người nghe tự đọc lại trạng thái từ DB.
+     */
+    public record ChangeReceived(UUID eventId) {
+    }
+}
@@ -0,0 +1,21 @@
+package io.event.ems.service.specialized;
+
+import java.util.UUID;
+
+/**
+ * Application event phát ra mỗi khi một sự kiện được tạo, duyệt, từ chối, cập nhật hoặc xóa.
+ * Các chỉ mục trong bộ nhớ lắng nghe sau khi transaction commit để tự cập nhật.
+ *
+ * @param eventId ID của sự kiện bị thay đổi.
+ * @param deleted true nếu sự kiện đã bị xóa khỏi DB.
+ */
+public record EventCatalogChangedEvent(UUID eventId, boolean deleted) {
+
+    public static EventCatalogChangedEvent changed(UUID eventId) {
+        return new EventCatalogChangedEvent(eventId, false);
+    }
+
+    public static EventCatalogChangedEvent removed(UUID eventId) {
+        return new EventCatalogChangedEvent(eventId, true);
+    }
+}
@@ -0,0 +1,245 @@
+package io.event.ems.service.specialized;
+
+import io.event.ems.model.StatusCode;
+import io.event.ems.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Lưới địa lý trong bộ nhớ cho các sự kiện công khai, đã duyệt, chưa kết thúc và có tọa độ.
+ * <p>
+ * Mặt cầu được chia thành các ô {@value #CELL_DEGREES}° (~5,5 km theo vĩ độ). Một truy vấn bán kính
+ * hoặc khung chữ nhật chỉ duyệt các ô giao với khung bao, rồi lọc chính xác bằng công thức haversine,
+ * nên "sự kiện trong 10 km cuối tuần này" chỉ chạm vài chục ô thay vì quét bảng events.
+ * <p>
+ * Cập nhật tăng dần theo {@link EventCatalogChangeRelay.ChangeReceived}; mỗi đêm dựng lại toàn bộ
+ * để loại các sự kiện đã kết thúc. Không xử lý khung vắt qua kinh tuyến 180°.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventGeoIndex {
+
+    private static final double CELL_DEGREES = 0.05;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+    private static final long LON_CELLS = (long) Math.ceil(360 / CELL_DEGREES) + 1;
+    private static final String EVENT_ENTITY_TYPE = "EVENT";
+    private static final String STATUS_APPROVED = "APPROVED";
+
+    private final EventRepository eventRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+
+    // Không dùng synchronized: rebuild/refresh truy vấn DB, monitor sẽ ghim virtual thread trong lúc chờ JDBC
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Grid grid = new Grid();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${ems.geo-index.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Dựng lại toàn bộ lưới từ DB (2 truy vấn projection) rồi thay thế lưới hiện tại.
+     */
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            Optional<Integer> approvedStatusId = approvedStatusId();
+            if (approvedStatusId.isEmpty()) {
+                log.warn("Status EVENT/APPROVED not configured, geo index will be empty");
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            Map<UUID, Set<UUID>> categoriesByEvent = eventRepository.findGeoCategoryLinks(approvedStatusId.get(), now)
+                    .stream()
+                    .collect(Collectors.groupingBy(EventRepository.CategoryLinkView::getEventId,
+                            Collectors.mapping(EventRepository.CategoryLinkView::getCategoryId, Collectors.toSet())));
+
+            Grid fresh = new Grid();
+            for (EventRepository.GeoPointView point : eventRepository.findGeoPoints(approvedStatusId.get(), now)) {
+                fresh.put(toEntry(point, categoriesByEvent.getOrDefault(point.getId(), Set.of())));
+            }
+            this.grid = fresh;
+            log.info("Built event geo index with {} events", fresh.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onEventChanged(EventCatalogChangeRelay.ChangeReceived change) {
+        refreshEvent(change.eventId());
+    }
+
+    public void refreshEvent(UUID eventId) {
+        writeLock.lock();
+        try {
+            Optional<EventRepository.GeoPointView> point = approvedStatusId()
+                    .flatMap(statusId -> eventRepository.findGeoPoint(eventId, statusId, LocalDateTime.now()));
+            if (point.isPresent()) {
+                Set<UUID> categoryIds = eventRepository.findCategoryLinksByEventId(eventId).stream()
+                        .map(EventRepository.CategoryLinkView::getCategoryId)
+                        .collect(Collectors.toSet());
+                grid.put(toEntry(point.get(), categoryIds));
+            } else {
+                grid.remove(eventId);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Các sự kiện trong bán kính {@code radiusKm} quanh (lat, lng), sắp theo khoảng cách tăng dần.
+     */
+    public List<GeoHit> findWithinRadius(double lat, double lng, double radiusKm,
+                                         LocalDateTime from, LocalDateTime to,
+                                         Collection<UUID> categoryIds, int limit) {
+        double dLat = radiusKm / KM_PER_DEGREE_LAT;
+        double dLng = radiusKm / (KM_PER_DEGREE_LAT * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+        return search(lat - dLat, lng - dLng, lat + dLat, lng + dLng, lat, lng, radiusKm,
+                from, to, categoryIds, limit);
+    }
+
+    /**
+     * Các sự kiện trong khung [minLat, maxLat] x [minLng, maxLng] (vd. vùng bản đồ đang hiển thị),
+     * sắp theo khoảng cách tới (originLat, originLng).
+     */
+    public List<GeoHit> findWithinBox(double minLat, double minLng, double maxLat, double maxLng,
+                                      double originLat, double originLng,
+                                      LocalDateTime from, LocalDateTime to,
+                                      Collection<UUID> categoryIds, int limit) {
+        return search(minLat, minLng, maxLat, maxLng, originLat, originLng, Double.MAX_VALUE,
+                from, to, categoryIds, limit);
+    }
+
+    private List<GeoHit> search(double minLat, double minLng, double maxLat, double maxLng,
+                                double originLat, double originLng, double maxDistanceKm,
+                                LocalDateTime from, LocalDateTime to,
+                                Collection<UUID> categoryIds, int limit) {
+        Grid current = this.grid;
+        long minLatCell = latCell(Math.max(minLat, -90));
+        long maxLatCell = latCell(Math.min(maxLat, 90));
+        long minLngCell = lngCell(Math.max(minLng, -180));
+        long maxLngCell = lngCell(Math.min(maxLng, 180));
+
+        PriorityQueue<GeoHit> nearest = new PriorityQueue<>(Comparator.comparingDouble(GeoHit::distanceKm).reversed());
+        for (long latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (long lngCell = minLngCell; lngCell <= maxLngCell; lngCell++) {
+                Set<GeoEntry> cell = current.cells.get(latCell * LON_CELLS + lngCell);
+                if (cell == null) {
+                    continue;
+                }
+                for (GeoEntry entry : cell) {
+                    if (entry.latitude() < minLat || entry.latitude() > maxLat
+                            || entry.longitude() < minLng || entry.longitude() > maxLng
+                            || !matches(entry, from, to, categoryIds)) {
+                        continue;
+                    }
+                    double distance = haversineKm(originLat, originLng, entry.latitude(), entry.longitude());
+                    if (distance > maxDistanceKm) {
+                        continue;
+                    }
+                    // Giữ top-N gần nhất bằng max-heap kích thước limit
+                    nearest.offer(new GeoHit(entry.eventId(), distance));
+                    if (nearest.size() > limit) {
+                        nearest.poll();
+                    }
+                }
+            }
+        }
+        List<GeoHit> hits = new ArrayList<>(nearest);
+        hits.sort(Comparator.comparingDouble(GeoHit::distanceKm));
+        return hits;
+    }
+
+    private static boolean matches(GeoEntry entry, LocalDateTime from, LocalDateTime to, Collection<UUID> categoryIds) {
+        // Sự kiện giao với khoảng [from, to]
+        if (from != null && entry.endDate().isBefore(from)) {
+            return false;
+        }
+        if (to != null && entry.startDate().isAfter(to)) {
+            return false;
+        }
+        return CollectionUtils.isEmpty(categoryIds) || categoryIds.stream().anyMatch(entry.categoryIds()::contains);
+    }
+
+    private Optional<Integer> approvedStatusId() {
+        return referenceDataRegistry.findStatus(EVENT_ENTITY_TYPE, STATUS_APPROVED).map(StatusCode::getId);
+    }
+
+    private static GeoEntry toEntry(EventRepository.GeoPointView point, Set<UUID> categoryIds) {
+        return new GeoEntry(point.getId(), point.getLatitude(), point.getLongitude(),
+                point.getStartDate(), point.getEndDate(), Set.copyOf(categoryIds));
+    }
+
+    static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static long latCell(double lat) {
+        return (long) Math.floor((lat + 90) / CELL_DEGREES);
+    }
+
+    private static long lngCell(double lng) {
+        return (long) Math.floor((lng + 180) / CELL_DEGREES);
+    }
+
+    public record GeoHit(UUID eventId, double distanceKm) {
+    }
+
+    private record GeoEntry(UUID eventId, double latitude, double longitude,
+                            LocalDateTime startDate, LocalDateTime endDate, Set<UUID> categoryIds) {
+
+        long cellKey() {
+            return latCell(latitude) * LON_CELLS + lngCell(longitude);
+        }
+    }
+
+    private static final class Grid {
+        private final Map<Long, Set<GeoEntry>> cells = new ConcurrentHashMap<>();
+        private final Map<UUID, GeoEntry> entries = new ConcurrentHashMap<>();
+
+        void put(GeoEntry entry) {
+            remove(entry.eventId());
+            cells.computeIfAbsent(entry.cellKey(), k -> ConcurrentHashMap.newKeySet()).add(entry);
+            entries.put(entry.eventId(), entry);
+        }
+
+        void remove(UUID eventId) {
+            GeoEntry existing = entries.remove(eventId);
+            if (existing != null) {
+                cells.computeIfPresent(existing.cellKey(), (k, set) -> {
+                    set.remove(existing);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+        }
+
+        int size() {
+            return entries.size();
+        }
+    }
+}
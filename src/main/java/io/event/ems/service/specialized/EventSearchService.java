@@ -2,6 +2,7 @@ package io.event.ems.service.specialized;
 
 import io.event.ems.model.Event;
 import io.event.ems.repository.EventRepository;
+import io.event.ems.util.SearchTextUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
@@ -21,19 +22,19 @@ public class EventSearchService {
     private final EventRepository eventRepository;
     private static final int MAX_EVENTS_TO_SHOW = 5;
 
-    @Cacheable(value = "events", key = "#eventName")
+    @Cacheable(value = "events", key = "#eventName", sync = true)
     public List<Event> findRelevantEvents(String eventName) {
         log.debug("Finding relevant events for: {}", eventName);
 
         // Try exact match first
-        Optional<Event> exactMatch = eventRepository.findByTitleIgnoreCase(eventName);
+        Optional<Event> exactMatch = eventRepository.findByTitleIgnoreCase(SearchTextUtil.normalize(eventName));
         if (exactMatch.isPresent()) {
             return Collections.singletonList(exactMatch.get());
         }
 
         // Fall back to partial match with pagination
         Page<Event> eventPage = eventRepository.findPublishedByTitleContainingIgnoreCase(
-                eventName, PageRequest.of(0, MAX_EVENTS_TO_SHOW));
+                SearchTextUtil.containsPattern(eventName), PageRequest.of(0, MAX_EVENTS_TO_SHOW));
         return eventPage.getContent();
     }
 }
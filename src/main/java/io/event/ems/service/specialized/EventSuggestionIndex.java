@@ -0,0 +1,172 @@
+package io.event.ems.service.specialized;
+
+import io.event.ems.dto.EventSuggestionDTO;
+import io.event.ems.model.Event;
+import io.event.ems.model.StatusCode;
+import io.event.ems.repository.EventRepository;
+import io.event.ems.util.SearchTextUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Chỉ mục tiền tố trong bộ nhớ cho typeahead (/api/v1/events/suggest).
+ * <p>
+ * Khóa là văn bản đã bỏ dấu (SearchTextUtil.normalize) của tiêu đề sự kiện công khai đã duyệt,
+ * tên địa điểm và danh mục, cộng thêm mọi hậu tố bắt đầu tại ranh giới từ để "ha n" khớp cả
+ * "Đêm nhạc Hà Nội". Tra cứu là một lần seek trên skip list sắp xếp nên không chạm tới Postgres.
+ * <p>
+ * Cập nhật tăng dần: mỗi {@link EventCatalogChangeRelay.ChangeReceived} nạp lại đúng sự kiện đó;
+ * địa điểm/danh mục đồng bộ theo {@link ReferenceDataRegistry.ReloadedEvent}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventSuggestionIndex {
+
+    public static final int DEFAULT_LIMIT = 8;
+    private static final int MAX_LIMIT = 20;
+    private static final int MAX_INDEXED_WORDS = 8;
+    private static final String EVENT_ENTITY_TYPE = "EVENT";
+    private static final String STATUS_APPROVED = "APPROVED";
+
+    private final EventRepository eventRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+
+    // Khóa đã chuẩn hóa -> các gợi ý có khóa đó
+    private final ConcurrentSkipListMap<String, Set<EventSuggestionDTO>> prefixIndex = new ConcurrentSkipListMap<>();
+    // "TYPE:id" -> gợi ý hiện tại cùng các khóa đã đánh chỉ mục, để gỡ bỏ khi cập nhật/xóa
+    private final Map<String, IndexedEntry> entries = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Optional<StatusCode> approved = referenceDataRegistry.findStatus(EVENT_ENTITY_TYPE, STATUS_APPROVED);
+        if (approved.isEmpty()) {
+            log.warn("Status EVENT/APPROVED not configured, event suggestions will be empty");
+            return;
+        }
+        List<EventSuggestionDTO> events = eventRepository.findSuggestionsByStatusId(approved.get().getId());
+        events.forEach(this::upsert);
+        log.info("Built event suggestion index with {} events", events.size());
+    }
+
+    @EventListener(ReferenceDataRegistry.ReloadedEvent.class)
+    public synchronized void reindexReferenceData() {
+        removeAllOfType(EventSuggestionDTO.TYPE_VENUE);
+        removeAllOfType(EventSuggestionDTO.TYPE_CATEGORY);
+        referenceDataRegistry.getVenues().forEach(venue -> upsert(EventSuggestionDTO.builder()
+                .type(EventSuggestionDTO.TYPE_VENUE).id(venue.getId()).label(venue.getName()).build()));
+        referenceDataRegistry.getCategories().forEach(category -> upsert(EventSuggestionDTO.builder()
+                .type(EventSuggestionDTO.TYPE_CATEGORY).id(category.getId()).label(category.getName()).build()));
+    }
+
+    @EventListener
+    public void onEventChanged(EventCatalogChangeRelay.ChangeReceived change) {
+        refreshEvent(change.eventId());
+    }
+
+    /**
+     * Đọc lại một sự kiện và đưa vào/gỡ khỏi chỉ mục tùy theo trạng thái công khai và đã duyệt.
+     */
+    public void refreshEvent(UUID eventId) {
+        Optional<Event> event = eventRepository.findByIdWithDetails(eventId);
+        if (event.isPresent() && isSuggestable(event.get())) {
+            Event e = event.get();
+            upsert(new EventSuggestionDTO(EventSuggestionDTO.TYPE_EVENT, e.getId(), e.getTitle(), e.getSlug()));
+        } else {
+            remove(entryKey(EventSuggestionDTO.TYPE_EVENT, eventId));
+        }
+    }
+
+    public List<EventSuggestionDTO> suggest(String query, Integer limit) {
+        String prefix = SearchTextUtil.normalize(query);
+        if (prefix.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int max = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+
+        // Thu thập dư một chút rồi ưu tiên khớp từ đầu nhãn, nhãn ngắn hơn
+        Map<EventSuggestionDTO, Boolean> candidates = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<EventSuggestionDTO>> entry : prefixIndex.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix) || candidates.size() >= max * 4) {
+                break;
+            }
+            for (EventSuggestionDTO suggestion : entry.getValue()) {
+                boolean labelPrefix = SearchTextUtil.normalize(suggestion.getLabel()).startsWith(prefix);
+                candidates.merge(suggestion, labelPrefix, Boolean::logicalOr);
+            }
+        }
+        return candidates.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<EventSuggestionDTO, Boolean>, Boolean>comparing(Map.Entry::getValue).reversed()
+                        .thenComparingInt(entry -> entry.getKey().getLabel().length()))
+                .limit(max)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private boolean isSuggestable(Event event) {
+        return Boolean.TRUE.equals(event.getIsPublic())
+                && event.getStatus() != null
+                && STATUS_APPROVED.equals(event.getStatus().getStatus());
+    }
+
+    private synchronized void upsert(EventSuggestionDTO suggestion) {
+        String entryKey = entryKey(suggestion.getType(), suggestion.getId());
+        remove(entryKey);
+        List<String> keys = indexKeys(suggestion.getLabel());
+        for (String key : keys) {
+            prefixIndex.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(suggestion);
+        }
+        entries.put(entryKey, new IndexedEntry(suggestion, keys));
+    }
+
+    private synchronized void remove(String entryKey) {
+        IndexedEntry existing = entries.remove(entryKey);
+        if (existing == null) {
+            return;
+        }
+        for (String key : existing.keys()) {
+            Set<EventSuggestionDTO> suggestions = prefixIndex.get(key);
+            if (suggestions != null) {
+                suggestions.remove(existing.suggestion());
+                if (suggestions.isEmpty()) {
+                    prefixIndex.remove(key);
+                }
+            }
+        }
+    }
+
+    private void removeAllOfType(String type) {
+        new ArrayList<>(entries.keySet()).stream()
+                .filter(key -> key.startsWith(type + ":"))
+                .forEach(this::remove);
+    }
+
+    private static List<String> indexKeys(String label) {
+        String normalized = SearchTextUtil.normalize(label);
+        if (normalized.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> keys = new ArrayList<>();
+        keys.add(normalized);
+        int from = normalized.indexOf(' ');
+        while (from >= 0 && keys.size() < MAX_INDEXED_WORDS) {
+            keys.add(normalized.substring(from + 1));
+            from = normalized.indexOf(' ', from + 1);
+        }
+        return keys;
+    }
+
+    private static String entryKey(String type, UUID id) {
+        return type + ":" + id;
+    }
+
+    private record IndexedEntry(EventSuggestionDTO suggestion, List<String> keys) {
+    }
+}
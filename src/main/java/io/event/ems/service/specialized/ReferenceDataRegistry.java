@@ -0,0 +1,190 @@
+package io.event.ems.service.specialized;
+
+import io.event.ems.model.Category;
+import io.event.ems.model.StatusCode;
+import io.event.ems.model.Venue;
+import io.event.ems.repository.CategoryRepository;
+import io.event.ems.repository.StatusCodeRepository;
+import io.event.ems.repository.VenueRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bộ nhớ đệm trong tiến trình cho dữ liệu tham chiếu (StatusCode, Category, Venue).
+ * <p>
+ * Toàn bộ dữ liệu được nạp một lần khi ứng dụng khởi động vào một snapshot bất biến,
+ * nên các truy vấn như EVENT/APPROVED chỉ còn là một lần đọc map. Khi admin thay đổi
+ * dữ liệu, {@link #invalidate()} phát một thông điệp qua Redis pub/sub để mọi node
+ * (kể cả node hiện tại) nạp lại snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataRegistry implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "ems:reference-data:invalidate";
+
+    private final StatusCodeRepository statusCodeRepository;
+    private final CategoryRepository categoryRepository;
+    private final VenueRepository venueRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ContentVersionService contentVersionService;
+
+    // ReentrantLock thay cho synchronized: reload() gọi JDBC, giữ monitor khi chặn I/O sẽ ghim virtual thread
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    @PostConstruct
+    void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    /**
+     * Nạp lại toàn bộ dữ liệu tham chiếu từ DB và thay thế snapshot hiện tại.
+     */
+    public void reload() {
+        reloadLock.lock();
+        try {
+            Snapshot fresh = new Snapshot(
+                    statusCodeRepository.findAll(),
+                    categoryRepository.findAll(),
+                    venueRepository.findAll());
+            this.snapshot = fresh;
+            log.info("Loaded reference data: {} status codes, {} categories, {} venues",
+                    fresh.statusById().size(), fresh.categoriesById().size(), fresh.venuesById().size());
+            applicationEventPublisher.publishEvent(new ReloadedEvent());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Yêu cầu mọi node nạp lại dữ liệu. Nếu đang trong transaction, thông điệp chỉ
+     * được phát sau khi commit để các node khác đọc được dữ liệu mới.
+     */
+    public void invalidate() {
+        contentVersionService.bumpReferenceData();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishInvalidation();
+                }
+            });
+        } else {
+            publishInvalidation();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        log.debug("Received reference data invalidation on channel {}", INVALIDATION_CHANNEL);
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Failed to reload reference data after invalidation", e);
+        }
+    }
+
+    public Optional<StatusCode> findStatus(String entityType, String status) {
+        StatusCode statusCode = current().statusByKey().get(statusKey(entityType, status));
+        if (statusCode != null) {
+            return Optional.of(statusCode);
+        }
+        // Dữ liệu có thể được thêm trực tiếp vào DB mà không qua API admin
+        log.warn("Status [{}/{}] not found in reference data registry, falling back to database", entityType, status);
+        return statusCodeRepository.findByEntityTypeAndStatus(entityType, status);
+    }
+
+    public Optional<StatusCode> findStatusById(Integer id) {
+        StatusCode statusCode = current().statusById().get(id);
+        return statusCode != null ? Optional.of(statusCode) : statusCodeRepository.findById(id);
+    }
+
+    public Optional<Category> findCategory(UUID id) {
+        Category category = current().categoriesById().get(id);
+        return category != null ? Optional.of(category) : categoryRepository.findById(id);
+    }
+
+    public Optional<Venue> findVenue(UUID id) {
+        Venue venue = current().venuesById().get(id);
+        return venue != null ? Optional.of(venue) : venueRepository.findById(id);
+    }
+
+    public Collection<Category> getCategories() {
+        return current().categoriesById().values();
+    }
+
+    public Collection<Venue> getVenues() {
+        return current().venuesById().values();
+    }
+
+    private void publishInvalidation() {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, String.valueOf(System.currentTimeMillis()));
+        } catch (Exception e) {
+            // Redis không khả dụng: ít nhất phải đảm bảo node hiện tại có dữ liệu mới
+            log.warn("Could not publish reference data invalidation, reloading locally only: {}", e.getMessage());
+            reload();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = this.snapshot;
+        if (current == null) {
+            reload();
+            current = this.snapshot;
+        }
+        return current;
+    }
+
+    private static String statusKey(String entityType, String status) {
+        return entityType + "::" + status;
+    }
+
+    /**
+     * Phát ra sau mỗi lần snapshot được nạp lại, để các chỉ mục phụ thuộc (vd. gợi ý tìm kiếm) đồng bộ theo.
+     */
+    public record ReloadedEvent() {
+    }
+
+    private record Snapshot(Map<String, StatusCode> statusByKey,
+                            Map<Integer, StatusCode> statusById,
+                            Map<UUID, Category> categoriesById,
+                            Map<UUID, Venue> venuesById) {
+
+        Snapshot(List<StatusCode> statuses, List<Category> categories, List<Venue> venues) {
+            this(
+                    statuses.stream().collect(Collectors.toUnmodifiableMap(
+                            s -> statusKey(s.getEntityType(), s.getStatus()), Function.identity())),
+                    statuses.stream().collect(Collectors.toUnmodifiableMap(StatusCode::getId, Function.identity())),
+                    categories.stream().collect(Collectors.toUnmodifiableMap(Category::getId, Function.identity())),
+                    venues.stream().collect(Collectors.toUnmodifiableMap(Venue::getId, Function.identity())));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package io.event.ems.service.specialized;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache byte JSON đã render sẵn (kèm bản gzip) cho các response công khai giống hệt nhau với mọi người xem ẩn danh,
+ * vd. chi tiết sự kiện và trang bán vé. Khóa gồm phiên bản nội dung (ContentVersionService), nên khi sự kiện hoặc vé
+ * thay đổi khóa mới tự được tạo và bản cũ hết hạn theo kích thước/TTL — không cần evict.
+ * <p>
+ * Lần trúng cache không chạy lại MapStruct và Jackson: byte được ghi thẳng ra output stream. Hệ quả là
+ * {@code ApiResponse.timestamp} trong body là thời điểm render, không phải thời điểm phục vụ; client cần thời
+ * điểm của dữ liệu thì dựa vào ETag/phiên bản thay vì trường này.
+ */
+@Service
+@Slf4j
+public class RenderedResponseCache {
+
+    private static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Rendered> cache;
+
+    public RenderedResponseCache(ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${ems.rendered-cache.max-size:64MB}") DataSize maxSize,
+                                 @Value("${ems.rendered-cache.ttl:10m}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, Rendered rendered) -> rendered.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "renderedResponses", "tier", "l1");
+    }
+
+    /**
+     * Trả body JSON của ({@code scope}, {@code slug}, {@code version}) từ cache, hoặc chạy {@code action},
+     * serialize một lần và lưu lại. Không có phiên bản (Redis lỗi) hoặc response không thành công (vd. 404)
+     * thì chỉ serialize, không cache.
+     */
+    public ResponseEntity<byte[]> render(HttpServletRequest request, String scope, String slug,
+                                         Optional<String> version, Supplier<ResponseEntity<?>> action) {
+        String key = version.map(v -> scope + ":" + slug + ":" + v).orElse(null);
+        Rendered rendered = key != null ? cache.getIfPresent(key) : null;
+        if (rendered == null) {
+            ResponseEntity<?> response = action.get();
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                return ResponseEntity.status(response.getStatusCode())
+                        .headers(response.getHeaders())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(serialize(response.getBody()));
+            }
+            rendered = Rendered.of(serialize(response.getBody()));
+            if (key != null) {
+                cache.put(key, rendered);
+            }
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(rendered.gzip());
+        }
+        return builder.body(rendered.identity());
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response body", e);
+        }
+    }
+
+    /**
+     * Đọc Accept-Encoding theo từng coding và q-value: {@code gzip;q=0} là từ chối, {@code *} áp dụng khi
+     * gzip không được nêu tên.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals(GZIP) || coding.equals("x-gzip")) {
+                gzipQuality = quality(parts);
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality(parts);
+            }
+        }
+        double quality = gzipQuality != null ? gzipQuality : wildcardQuality != null ? wildcardQuality : 0;
+        return quality > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    // q-value sai cú pháp: coi như không chấp nhận, trả bản không nén
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private record Rendered(byte[] identity, byte[] gzip) {
+
+        static Rendered of(byte[] json) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new Rendered(json, out.toByteArray());
+        }
+
+        int weight() {
+            return identity.length + gzip.length;
+        }
+    }
+}
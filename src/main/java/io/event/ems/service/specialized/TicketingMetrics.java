@@ -0,0 +1,130 @@
+package io.event.ems.service.specialized;
+
+import io.event.ems.model.TicketSelectionModeEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Metric của phễu bán vé: giữ vé → thanh toán → mua thành công.
+ * <p>
+ * Tập trung tên và tag tại một chỗ để dashboard ({@code monitoring/grafana/ems-ticketing.json}) và code
+ * không lệch nhau. Tỷ lệ chuyển đổi hold → purchase được tính trên dashboard từ
+ * {@code ticketing.purchases{outcome=success}} chia cho {@code ticketing.hold.create{outcome=success}}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketingMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_CONFLICT = "conflict";
+    public static final String OUTCOME_FAILED = "failed";
+
+    public static final String CONFLICT_SEATS_TAKEN = "seats_taken";
+    public static final String CONFLICT_SOLD_OUT = "sold_out";
+    public static final String CONFLICT_INVALID_REQUEST = "invalid_request";
+
+    public static final String RELEASE_USER = "user";
+    public static final String RELEASE_EXPIRED = "expired";
+    public static final String RELEASE_CHECKOUT_FAILED = "checkout_failed";
+
+    public static final String FLOW_DIRECT = "direct";
+    public static final String FLOW_MOCK = "mock";
+    public static final String FLOW_REDIRECT = "redirect";
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample startTimer() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void holdCreated(TicketSelectionModeEnum mode, String outcome, Timer.Sample sample) {
+        sample.stop(Timer.builder("ticketing.hold.create")
+                .description("Ticket hold creation latency")
+                .tag("mode", modeTag(mode))
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    public void holdConflict(TicketSelectionModeEnum mode, String reason) {
+        Counter.builder("ticketing.hold.conflicts")
+                .description("Hold requests rejected because the requested inventory was not available")
+                .tag("mode", modeTag(mode))
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void holdReleased(TicketSelectionModeEnum mode, String reason) {
+        Counter.builder("ticketing.hold.released")
+                .description("Holds whose inventory went back on sale")
+                .tag("mode", modeTag(mode))
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void purchaseCompleted(TicketSelectionModeEnum mode, String flow, String outcome) {
+        Counter.builder("ticketing.purchases")
+                .description("Checkouts that reached a final state")
+                .tag("mode", modeTag(mode))
+                .tag("flow", flow)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Đo một bước của checkout (claim_hold, pricing, persist, confirmation, payment_init, payment_verify).
+     */
+    public <T> T timeStage(String stage, Supplier<T> action) {
+        return Timer.builder("ticketing.checkout.stage")
+                .description("Checkout stage latency")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(action);
+    }
+
+    public void timeStage(String stage, Runnable action) {
+        Timer.builder("ticketing.checkout.stage")
+                .description("Checkout stage latency")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .record(action);
+    }
+
+    public <T> T timeQrRender(Supplier<T> action) {
+        return Timer.builder("ticketing.qr.render")
+                .description("QR code image render latency")
+                .register(meterRegistry)
+                .record(action);
+    }
+
+    /**
+     * Đo một lần gọi cổng thanh toán; lỗi vẫn được ghi với {@code outcome=failed} rồi ném lại.
+     */
+    public <T> T timeGateway(String provider, String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_FAILED;
+        try {
+            T result = action.get();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } finally {
+            sample.stop(Timer.builder("payment.gateway.requests")
+                    .description("Payment gateway call latency")
+                    .tag("provider", provider.toUpperCase())
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String modeTag(TicketSelectionModeEnum mode) {
+        return mode != null ? mode.name() : "UNKNOWN";
+    }
+}
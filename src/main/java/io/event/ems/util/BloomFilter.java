@@ -0,0 +1,92 @@
+package io.event.ems.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter cho chuỗi, an toàn đa luồng (thêm và kiểm tra không cần khóa).
+ * {@link #mightContain(String)} trả false nghĩa là chắc chắn chưa từng thêm; true có thể là dương tính giả
+ * với xác suất xấp xỉ {@code falsePositiveRate} khi số phần tử không vượt {@code expectedInsertions}.
+ * Không hỗ trợ xóa: muốn bỏ phần tử hết hạn thì dựng filter mới.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+    }
+
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid bloom filter sizing: " + expectedInsertions + ", " + falsePositiveRate);
+        }
+        // m = -n ln p / (ln 2)^2, k = m/n ln 2
+        long bitCount = Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        return new BloomFilter(bitCount, hashCount);
+    }
+
+    public void put(String value) {
+        long hash = hash64(value);
+        long h1 = hash;
+        long h2 = mix64(hash) | 1L; // h2 lẻ để các chỉ số không lặp chu kỳ ngắn
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            setBit(index);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        long h1 = hash;
+        long h2 = mix64(hash) | 1L; // h2 lẻ để các chỉ số không lặp chu kỳ ngắn
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Kích thước bộ nhớ của mảng bit, tính bằng byte.
+     */
+    public long sizeInBytes() {
+        return bits.length() * 8L;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    // FNV-1a 64-bit trên UTF-8, sau đó trộn để phân bố đều các bit thấp
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix64(hash);
+    }
+
+    // Hàm trộn của SplitMix64
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,58 @@
+package io.event.ems.util;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Mã hóa / giải mã continuation token cho phân trang keyset.
+ * Token là chuỗi base64url "sortValue|id", client chỉ cần gửi lại nguyên vẹn.
+ */
+public class CursorUtil {
+
+    public static final String ID_PROPERTY = "id";
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+    private static final char SEPARATOR = '|';
+
+    private CursorUtil() {
+    }
+
+    public static ScrollPosition decode(String cursor, String sortProperty) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(sortProperty, LocalDateTime.parse(raw.substring(0, separatorIndex)));
+            keys.put(ID_PROPERTY, UUID.fromString(raw.substring(separatorIndex + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static String encode(ScrollPosition position, String sortProperty) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded as a cursor");
+        }
+        Map<String, Object> keys = keyset.getKeys();
+        String raw = String.valueOf(keys.get(sortProperty)) + SEPARATOR + keys.get(ID_PROPERTY);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int clampSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+}
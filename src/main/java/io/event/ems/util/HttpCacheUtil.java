@@ -0,0 +1,95 @@
+package io.event.ems.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Hỗ trợ GET có điều kiện cho các endpoint công khai: so If-None-Match với ETag dựng từ
+ * phiên bản nội dung (ContentVersionService) TRƯỚC khi gọi service, và gắn Cache-Control theo từng loại route
+ * để CDN có thể cache response ẩn danh.
+ */
+public final class HttpCacheUtil {
+
+    private HttpCacheUtil() {
+    }
+
+    public enum Policy {
+        // Danh sách, tìm kiếm, gợi ý: chấp nhận trễ vài chục giây
+        LISTING(Duration.ofSeconds(30), Duration.ofSeconds(60), Duration.ofMinutes(5)),
+        // Chi tiết sự kiện
+        DETAIL(Duration.ofSeconds(60), Duration.ofMinutes(5), Duration.ofMinutes(10)),
+        // Tình trạng vé: trình duyệt luôn hỏi lại (304 rất rẻ), CDN chỉ giữ vài giây
+        AVAILABILITY(Duration.ZERO, Duration.ofSeconds(5), Duration.ofSeconds(5));
+
+        private final Duration maxAge;
+        private final Duration sharedMaxAge;
+        private final Duration staleWhileRevalidate;
+
+        Policy(Duration maxAge, Duration sharedMaxAge, Duration staleWhileRevalidate) {
+            this.maxAge = maxAge;
+            this.sharedMaxAge = sharedMaxAge;
+            this.staleWhileRevalidate = staleWhileRevalidate;
+        }
+
+        public CacheControl cacheControl() {
+            return CacheControl.maxAge(maxAge)
+                    .sMaxAge(sharedMaxAge)
+                    .staleWhileRevalidate(staleWhileRevalidate)
+                    .cachePublic();
+        }
+    }
+
+    /**
+     * Trả 304 nếu client đã có đúng phiên bản, ngược lại chạy {@code action} và gắn ETag/Cache-Control
+     * vào response thành công. Không có phiên bản (Redis lỗi, không tìm thấy) thì chỉ chạy {@code action}.
+     */
+    public static <T> ResponseEntity<T> conditional(HttpServletRequest request,
+                                                    Optional<String> version,
+                                                    Policy policy,
+                                                    Supplier<ResponseEntity<T>> action) {
+        if (version.isEmpty()) {
+            return action.get();
+        }
+        String etag = "\"" + version.get() + "\"";
+        if (matchesIfNoneMatch(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(policy.cacheControl())
+                    .build();
+        }
+
+        ResponseEntity<T> response = action.get();
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .eTag(etag)
+                .cacheControl(policy.cacheControl())
+                .body(response.getBody());
+    }
+
+    private static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2); // If-None-Match dùng so sánh yếu
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
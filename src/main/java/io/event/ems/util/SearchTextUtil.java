@@ -0,0 +1,40 @@
+package io.event.ems.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Chuẩn hóa văn bản tiếng Việt cho tìm kiếm: bỏ dấu, đ -> d, chữ thường, gộp khoảng trắng.
+ * Phải cho ra kết quả giống biểu thức {@code lower(f_unaccent(...))} phía PostgreSQL
+ * để truy vấn dùng được các index trigram.
+ */
+public final class SearchTextUtil {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern LIKE_SPECIAL_CHARS = Pattern.compile("([\\\\%_])");
+
+    public static final char LIKE_ESCAPE_CHAR = '\\';
+
+    private SearchTextUtil() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D');
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Tạo pattern "%keyword%" đã chuẩn hóa và escape các ký tự đặc biệt của LIKE.
+     */
+    public static String containsPattern(String text) {
+        return "%" + LIKE_SPECIAL_CHARS.matcher(normalize(text)).replaceAll("\\\\$1") + "%";
+    }
+}
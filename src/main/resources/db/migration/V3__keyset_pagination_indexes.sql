@@ -0,0 +1,16 @@
+-- Index phục vụ phân trang keyset (cursor): seek theo (sort key, id) thay vì OFFSET
+
+-- 1. Danh sách sự kiện công khai: WHERE status_id = ? AND is_public ORDER BY start_date, id
+CREATE INDEX IF NOT EXISTS idx_event_public_listing
+    ON events (status_id, is_public, start_date, id);
+
+-- 2. Lịch sử mua vé theo người dùng / theo sự kiện: ORDER BY purchase_date DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_ticket_purchase_user_date
+    ON ticket_purchases (user_id, purchase_date, id);
+
+CREATE INDEX IF NOT EXISTS idx_ticket_purchase_event_date
+    ON ticket_purchases (event_id, purchase_date, id);
+
+-- 3. Thông báo chưa đọc: WHERE user_id = ? AND read = false ORDER BY created_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_notification_user_unread_keyset
+    ON notifications (user_id, read, created_at, id);
@@ -0,0 +1,31 @@
+-- Tìm kiếm sự kiện không phân biệt dấu tiếng Việt, chịu lỗi chính tả (unaccent + pg_trgm)
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- 1. unaccent() là STABLE nên không dùng được trong index; bọc lại thành hàm IMMUTABLE
+--    với dictionary cố định (unaccent.rules đã có đ/Đ -> d/D).
+CREATE OR REPLACE FUNCTION public.f_unaccent(text)
+    RETURNS text
+    LANGUAGE sql
+    IMMUTABLE PARALLEL SAFE STRICT
+AS
+$$
+SELECT public.unaccent('public.unaccent'::regdictionary, $1)
+$$;
+
+-- 2. Index GIN trigram trên biểu thức đã chuẩn hóa. Phục vụ cả LIKE '%kw%' và toán tử
+--    word similarity (<%) dùng trong EventRepository.searchByFullText.
+CREATE INDEX IF NOT EXISTS idx_event_title_unaccent_trgm
+    ON events USING gin (lower(public.f_unaccent(title)) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_event_description_unaccent_trgm
+    ON events USING gin (lower(public.f_unaccent(description)) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_venue_name_unaccent_trgm
+    ON venues USING gin (lower(public.f_unaccent(name)) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_venue_address_unaccent_trgm
+    ON venues USING gin (lower(public.f_unaccent(address)) gin_trgm_ops);
+
+-- Ngưỡng word similarity (0.4) được đặt theo từng connection qua spring.datasource.hikari.connection-init-sql.
@@ -0,0 +1,9 @@
+-- Index phục vụ đếm facet cho trang tìm kiếm (/api/v1/events/search/faceted)
+
+-- 1. Giá thấp nhất của từng sự kiện: MIN(price) WHERE event_id = ? đọc thẳng từ đầu index
+CREATE INDEX IF NOT EXISTS idx_ticket_event_price
+    ON tickets (event_id, price);
+
+-- 2. Facet danh mục đi từ sự kiện sang event_categories theo event_id
+CREATE INDEX IF NOT EXISTS idx_event_categories_event
+    ON event_categories (event_id, category_id);
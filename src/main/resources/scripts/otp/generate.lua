@@ -0,0 +1,29 @@
+-- Cấp OTP mới trong một lần gọi, kiểm tra khóa tài khoản, thời gian chờ gửi lại và giới hạn theo giờ.
+-- KEYS[1] lockout, KEYS[2] resend delay, KEYS[3] hourly count, KEYS[4] value, KEYS[5] attempt
+-- ARGV[1] otp, ARGV[2] validity (s), ARGV[3] resend delay (s), ARGV[4] max requests/hour,
+-- ARGV[5] hourly window (s), ARGV[6] attempt counter ttl (s)
+-- Trả về {status, number}: LOCKED/ttl, RESEND_DELAY/ttl, HOURLY_LIMIT/count, OK/0
+
+if redis.call('exists', KEYS[1]) == 1 then
+    return { 'LOCKED', redis.call('ttl', KEYS[1]) }
+end
+
+local resendDelay = tonumber(ARGV[3])
+if resendDelay > 0 and redis.call('exists', KEYS[2]) == 1 then
+    return { 'RESEND_DELAY', redis.call('ttl', KEYS[2]) }
+end
+
+local count = redis.call('incr', KEYS[3])
+if count == 1 then
+    redis.call('expire', KEYS[3], ARGV[5])
+end
+if count > tonumber(ARGV[4]) then
+    return { 'HOURLY_LIMIT', count }
+end
+
+redis.call('set', KEYS[4], ARGV[1], 'EX', ARGV[2])
+redis.call('set', KEYS[5], 0, 'EX', ARGV[6])
+if resendDelay > 0 then
+    redis.call('set', KEYS[2], 'active', 'EX', resendDelay)
+end
+return { 'OK', 0 }
@@ -0,0 +1,29 @@
+-- Kiểm tra OTP, đếm lần sai và khóa trong một lần gọi nguyên tử: các lần đoán song song không thể
+-- vượt quá max-attempts vì mọi bước đọc/ghi chạy tuần tự trên Redis.
+-- KEYS[1] lockout, KEYS[2] value, KEYS[3] attempt, KEYS[4] resend delay, KEYS[5] hourly count
+-- ARGV[1] otp, ARGV[2] max attempts, ARGV[3] lockout (s), ARGV[4] attempt counter ttl (s)
+-- Trả về {status, number}: LOCKED/ttl, OK/0, INVALID/attempts, EXPIRED/attempts, LOCKED_NOW/attempts
+
+if redis.call('exists', KEYS[1]) == 1 then
+    return { 'LOCKED', redis.call('ttl', KEYS[1]) }
+end
+
+local stored = redis.call('get', KEYS[2])
+if stored and stored == ARGV[1] then
+    redis.call('del', KEYS[2], KEYS[3], KEYS[4], KEYS[5])
+    return { 'OK', 0 }
+end
+
+local attempts = redis.call('incr', KEYS[3])
+if redis.call('ttl', KEYS[3]) < 0 then
+    redis.call('expire', KEYS[3], ARGV[4])
+end
+if attempts >= tonumber(ARGV[2]) then
+    redis.call('set', KEYS[1], 'locked', 'EX', ARGV[3])
+    redis.call('del', KEYS[3])
+    return { 'LOCKED_NOW', attempts }
+end
+if not stored then
+    return { 'EXPIRED', attempts }
+end
+return { 'INVALID', attempts }
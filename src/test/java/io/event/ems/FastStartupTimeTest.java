@@ -0,0 +1,114 @@
+package io.event.ems;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Đo thời gian từ lúc chạy {@code SpringApplication} tới khi ứng dụng báo sẵn sàng nhận traffic
+ * (ReadinessState.ACCEPTING_TRAFFIC, tức là sau cả các listener ApplicationReadyEvent) với profile
+ * {@code fast-startup}, và in ra các bước khởi động chậm nhất để theo dõi qua từng lần build.
+ * <p>
+ * Test chạy không có AOT/CDS nên chỉ phản ánh phần cấu hình của profile; trần mặc định rộng để không phụ thuộc
+ * máy CI, có thể siết lại bằng {@code -Dems.startup.max-time-to-ready=PT15S}.
+ */
+@Slf4j
+@Testcontainers(disabledWithoutDocker = true)
+class FastStartupTimeTest {
+
+    private static final Duration MAX_TIME_TO_READY =
+            Duration.parse(System.getProperty("ems.startup.max-time-to-ready", "PT30S"));
+    private static final int REPORTED_STEPS = 15;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    @BeforeAll
+    static void migrateSchema() {
+        // Profile fast-startup không tạo schema: chạy đúng bước migration trong README (Hibernate update + Flyway)
+        application()
+                .properties("spring.main.web-application-type=none")
+                .run()
+                .close();
+    }
+
+    @Test
+    void fastStartupProfileBecomesReadyWithinBudget() {
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(10_000);
+        AtomicLong readyAt = new AtomicLong();
+        ApplicationListener<ApplicationEvent> readiness = event -> {
+            if (event instanceof AvailabilityChangeEvent<?> change && change.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                readyAt.compareAndSet(0, System.nanoTime());
+            }
+        };
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext ignored = application()
+                .profiles("fast-startup")
+                .properties("server.port=0", "management.server.port=0")
+                .applicationStartup(startup)
+                .listeners(readiness)
+                .run()) {
+            assertThat(readyAt.get()).as("readiness event").isPositive();
+            Duration timeToReady = Duration.ofNanos(readyAt.get() - start);
+            String slowestSteps = slowestSteps(startup.getBufferedTimeline());
+            log.info("fast-startup time to ready: {} ms, slowest steps:\n{}", timeToReady.toMillis(), slowestSteps);
+
+            assertThat(timeToReady)
+                    .as("time to ready, slowest steps:%n%s", slowestSteps)
+                    .isLessThanOrEqualTo(MAX_TIME_TO_READY);
+        }
+    }
+
+    private static SpringApplicationBuilder application() {
+        return new SpringApplicationBuilder(EmsApplication.class).properties(
+                "DATABASE_URL=" + postgres.getJdbcUrl(),
+                "DATABASE_USERNAME=" + postgres.getUsername(),
+                "DATABASE_PASSWORD=" + postgres.getPassword(),
+                "spring.data.redis.host=" + redis.getHost(),
+                "spring.data.redis.port=" + redis.getMappedPort(6379),
+                "JWT_SECRET=dGVzdC1vbmx5LWp3dC1zZWNyZXQtZm9yLXN0YXJ0dXAtdGltZS10ZXN0LTAxMjM0NTY3ODk=",
+                "MAIL_PASSWORD=unused",
+                "SECRET_KEY=test-only-qr-secret",
+                "AWS_ACCESS_KEY_ID=test",
+                "AWS_SECRET_ACCESS_KEY=test",
+                "AWS_REGION=ap-southeast-1");
+    }
+
+    private static String slowestSteps(StartupTimeline timeline) {
+        return timeline.getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(REPORTED_STEPS)
+                .map(event -> String.format("  %6d ms  %s %s", event.getDuration().toMillis(),
+                        event.getStartupStep().getName(),
+                        StreamSupport.stream(event.getStartupStep().getTags().spliterator(), false)
+                                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                                .collect(Collectors.joining(", ", "[", "]"))))
+                .collect(Collectors.joining("\n"));
+    }
+}
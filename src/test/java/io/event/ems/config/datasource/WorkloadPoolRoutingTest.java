@@ -0,0 +1,183 @@
+package io.event.ems.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.event.ems.service.OrderProcessingService;
+import io.event.ems.service.TicketHoldService;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mỗi loại tải phải lấy connection từ đúng pool của nó: trong lúc transaction đang giữ connection,
+ * chỉ pool tương ứng có connection active (đọc qua HikariPoolMXBean).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "JWT_SECRET=dGVzdC1vbmx5LWp3dC1zZWNyZXQtZm9yLXdvcmtsb2FkLXBvb2wtdGVzdHMtMDEyMzQ1Njc4OQ==",
+        "MAIL_PASSWORD=unused",
+        "SECRET_KEY=test-only-qr-secret",
+        "AWS_ACCESS_KEY_ID=test",
+        "AWS_SECRET_ACCESS_KEY=test",
+        "AWS_REGION=ap-southeast-1",
+        "spring.mail.host=localhost",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "ems.datasource.bulkhead.enabled=true"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class WorkloadPoolRoutingTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    @ServiceConnection(name = "redis")
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    // Các pool bulkhead được dựng từ spring.datasource.*, không qua ConnectionDetails của @ServiceConnection
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("DATABASE_URL", postgres::getJdbcUrl);
+        registry.add("DATABASE_USERNAME", postgres::getUsername);
+        registry.add("DATABASE_PASSWORD", postgres::getPassword);
+    }
+
+    @Autowired
+    private WorkloadRoutingDataSource router;
+
+    @Autowired
+    private Probe probe;
+
+    @Autowired
+    private TicketHoldService ticketHoldService;
+
+    @Autowired
+    private OrderProcessingService orderProcessingService;
+
+    @Autowired
+    @Qualifier("checkoutWorkloadAdvisor")
+    private Advisor checkoutAdvisor;
+
+    @Test
+    void checkoutTxUsesCheckoutPool() {
+        assertThat(probe.checkout(this::activeConnections)).isEqualTo(only(Workload.CHECKOUT));
+    }
+
+    @Test
+    void readOnlyTransactionUsesBrowsingPool() {
+        assertThat(probe.browsing(this::activeConnections)).isEqualTo(only(Workload.BROWSING));
+    }
+
+    @Test
+    void reportingTxUsesReportingPoolEvenWhenReadOnly() {
+        assertThat(probe.reporting(this::activeConnections)).isEqualTo(only(Workload.REPORTING));
+    }
+
+    @Test
+    void otherTransactionsUseGeneralPool() {
+        assertThat(probe.general(this::activeConnections)).isEqualTo(only(Workload.GENERAL));
+    }
+
+    @Test
+    void workloadIsChosenPerTransactionOnTheSameThread() {
+        // Không có open-in-view: lần đọc trước không giữ pool cho lần thanh toán sau trong cùng luồng
+        assertThat(probe.browsing(this::activeConnections)).isEqualTo(only(Workload.BROWSING));
+        assertThat(probe.checkout(this::activeConnections)).isEqualTo(only(Workload.CHECKOUT));
+        assertThat(probe.general(this::activeConnections)).isEqualTo(only(Workload.GENERAL));
+        assertThat(WorkloadContext.current()).isNull();
+    }
+
+    @Test
+    void checkoutServicesCarryTheCheckoutAdvisor() {
+        assertThat(((Advised) ticketHoldService).getAdvisors()).contains(checkoutAdvisor);
+        assertThat(((Advised) orderProcessingService).getAdvisors()).contains(checkoutAdvisor);
+    }
+
+    private Map<Workload, Integer> activeConnections() {
+        Map<Workload, Integer> active = new EnumMap<>(Workload.class);
+        for (Map.Entry<Object, DataSource> pool : router.getResolvedDataSources().entrySet()) {
+            // Pool chưa từng được dùng thì chưa khởi tạo và chưa có MXBean
+            HikariPoolMXBean mxBean = ((HikariDataSource) pool.getValue()).getHikariPoolMXBean();
+            active.put((Workload) pool.getKey(), mxBean != null ? mxBean.getActiveConnections() : 0);
+        }
+        return active;
+    }
+
+    private static Map<Workload, Integer> only(Workload workload) {
+        Map<Workload, Integer> expected = new EnumMap<>(Workload.class);
+        Arrays.stream(Workload.values()).forEach(w -> expected.put(w, w == workload ? 1 : 0));
+        return expected;
+    }
+
+    @TestConfiguration
+    static class ProbeConfig {
+
+        @Bean
+        Probe workloadProbe(JdbcTemplate jdbcTemplate) {
+            return new Probe(jdbcTemplate);
+        }
+    }
+
+    /**
+     * Mở transaction theo từng loại tải, chạy một câu SQL để lấy connection thật rồi đo trong lúc còn giữ nó.
+     */
+    static class Probe {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        Probe(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @CheckoutTx
+        @Transactional
+        public <T> T checkout(Supplier<T> whileHolding) {
+            return hold(whileHolding);
+        }
+
+        @Transactional(readOnly = true)
+        public <T> T browsing(Supplier<T> whileHolding) {
+            return hold(whileHolding);
+        }
+
+        @ReportingTx
+        @Transactional(readOnly = true)
+        public <T> T reporting(Supplier<T> whileHolding) {
+            return hold(whileHolding);
+        }
+
+        @Transactional
+        public <T> T general(Supplier<T> whileHolding) {
+            return hold(whileHolding);
+        }
+
+        private <T> T hold(Supplier<T> whileHolding) {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            return whileHolding.get();
+        }
+    }
+}
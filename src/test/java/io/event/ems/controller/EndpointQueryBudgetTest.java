@@ -0,0 +1,334 @@
+package io.event.ems.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.event.ems.dto.TicketHoldRequestDTO;
+import io.event.ems.model.*;
+import io.event.ems.repository.*;
+import io.event.ems.security.CustomUserDetails;
+import io.event.ems.security.jwt.JwtService;
+import io.event.ems.service.specialized.ContentVersionService;
+import io.event.ems.service.specialized.ReferenceDataRegistry;
+import io.event.ems.support.query.QueryCounter;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Ngân sách truy vấn cho các endpoint chính: mỗi request được đo số câu SQL và số entity nạp về,
+ * build sẽ hỏng khi một thay đổi làm endpoint phát sinh thêm truy vấn (thường là N+1 mới).
+ * <p>
+ * Mọi phép đo chạy ở trạng thái cache lạnh (xóa cache và tăng version tồn kho trước mỗi request) nên
+ * ngân sách đã gồm cả lần đọc trạng thái người dùng của filter JWT. Dữ liệu mẫu cố ý có nhiều sự kiện,
+ * venue và đơn hàng hơn kích thước trang để truy vấn lặp theo từng dòng lộ ra ngay. Khi một endpoint
+ * được tối ưu, hạ ngân sách tương ứng xuống để giữ mức mới.
+ */
+@SpringBootTest(properties = {
+        "DATABASE_URL=jdbc:postgresql://unused/ems",
+        "DATABASE_USERNAME=ems",
+        "DATABASE_PASSWORD=ems",
+        "JWT_SECRET=dGVzdC1vbmx5LWp3dC1zZWNyZXQtZm9yLXF1ZXJ5LWJ1ZGdldC10ZXN0cy0wMTIzNDU2Nzg5",
+        "MAIL_PASSWORD=unused",
+        "SECRET_KEY=test-only-qr-secret",
+        "AWS_ACCESS_KEY_ID=test",
+        "AWS_SECRET_ACCESS_KEY=test",
+        "AWS_REGION=ap-southeast-1",
+        "spring.mail.host=localhost",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=io.event.ems.support.query.CountingStatementInspector",
+        "spring.jpa.properties.hibernate.session_factory.interceptor=io.event.ems.support.query.CountingInterceptor"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Testcontainers(disabledWithoutDocker = true)
+class EndpointQueryBudgetTest {
+
+    // Phiên bản sự kiện + sự kiện kèm quan hệ + categories + danh sách vé GA
+    private static final int TICKETING_PAGE_MAX_STATEMENTS = 6;
+    private static final long TICKETING_PAGE_MAX_ENTITIES = 20;
+
+    // SELECT trang (kèm quan hệ to-one) + COUNT + một lô categories, xem EventListingQueryCountTest
+    private static final int EVENT_LISTING_MAX_STATEMENTS = 3;
+    private static final long EVENT_LISTING_MAX_ENTITIES = 40;
+
+    // Trạng thái người dùng + SELECT trang (kèm event, status) + COUNT
+    private static final int PURCHASE_HISTORY_MAX_STATEMENTS = 4;
+    private static final int PURCHASE_SCROLL_MAX_STATEMENTS = 3;
+    private static final long PURCHASE_HISTORY_MAX_ENTITIES = 40;
+
+    // Trạng thái người dùng + trừ tồn kho từng loại vé
+    private static final int HOLD_MAX_STATEMENTS = 4;
+    // Tính giá, ghi đơn, vé GA, mã QR từng vé và dữ liệu cho email xác nhận
+    private static final int CHECKOUT_MAX_STATEMENTS = 20;
+
+    private static final int EVENT_COUNT = 12;
+    private static final int PURCHASE_COUNT = 15;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    @ServiceConnection(name = "redis")
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private StatusCodeRepository statusCodeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketPurchaseRepository ticketPurchaseRepository;
+
+    @Autowired
+    private PurchasedGATicketRepository purchasedGaTicketRepository;
+
+    private final List<Event> events = new ArrayList<>();
+    private final Map<UUID, Ticket> ticketByEvent = new HashMap<>();
+    private Cookie buyerCookie;
+
+    @BeforeAll
+    void seedOnce() {
+        User buyer = transactionTemplate.execute(status -> seed());
+        // Registry đã nạp lúc khởi động khi DB còn trống
+        referenceDataRegistry.reload();
+        buyerCookie = new Cookie("accessToken", jwtService.generateAccessToken(new CustomUserDetails(buyer)));
+    }
+
+    @Test
+    void ticketingPageStaysWithinBudget() throws Exception {
+        Event event = events.get(0);
+
+        Measurement result = measure(event.getId(), get("/api/v1/ticketing/events/slug/{slug}", event.getSlug()));
+
+        assertWithinBudget("ticketing page", result, TICKETING_PAGE_MAX_STATEMENTS, TICKETING_PAGE_MAX_ENTITIES);
+    }
+
+    @Test
+    void eventListingStaysWithinBudget() throws Exception {
+        Measurement result = measure(null, get("/api/v1/events/public").param("size", "10"));
+
+        assertWithinBudget("event listing", result, EVENT_LISTING_MAX_STATEMENTS, EVENT_LISTING_MAX_ENTITIES);
+    }
+
+    @Test
+    void purchaseHistoryStaysWithinBudget() throws Exception {
+        Measurement page = measure(null, get("/api/v1/users/me/purchases")
+                .param("size", "10").cookie(buyerCookie));
+        Measurement scroll = measure(null, get("/api/v1/users/me/purchases/scroll")
+                .param("size", "10").cookie(buyerCookie));
+
+        assertWithinBudget("purchase history", page, PURCHASE_HISTORY_MAX_STATEMENTS, PURCHASE_HISTORY_MAX_ENTITIES);
+        assertWithinBudget("purchase history scroll", scroll, PURCHASE_SCROLL_MAX_STATEMENTS, PURCHASE_HISTORY_MAX_ENTITIES);
+    }
+
+    @Test
+    void checkoutStaysWithinBudget() throws Exception {
+        Event event = events.get(1);
+        TicketHoldRequestDTO.GeneralAdmissionItem item = new TicketHoldRequestDTO.GeneralAdmissionItem();
+        item.setTicketId(ticketByEvent.get(event.getId()).getId());
+        item.setQuantity(2);
+        TicketHoldRequestDTO holdRequest = new TicketHoldRequestDTO();
+        holdRequest.setSelectionMode(TicketSelectionModeEnum.GENERAL_ADMISSION);
+        holdRequest.setGaItems(List.of(item));
+
+        Measurement hold = measure(event.getId(), post("/api/v1/ticketing/events/{eventId}/hold", event.getId())
+                .cookie(buyerCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(holdRequest)));
+        String holdId = hold.body().path("data").path("holdId").asText();
+
+        Measurement checkout = measure(event.getId(), post("/api/v1/payments/mock-finalize")
+                .cookie(buyerCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("holdId", holdId))));
+
+        assertWithinBudget("hold", hold, HOLD_MAX_STATEMENTS, Long.MAX_VALUE);
+        assertWithinBudget("mock checkout", checkout, CHECKOUT_MAX_STATEMENTS, Long.MAX_VALUE);
+    }
+
+    /**
+     * Xóa mọi cache để request đi hết đường xuống DB rồi đo đúng một request trên thread hiện tại.
+     */
+    private Measurement measure(UUID eventId, RequestBuilder request) throws Exception {
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+        if (eventId != null) {
+            contentVersionService.bumpAvailability(eventId);
+        }
+
+        QueryCounter.start();
+        MvcResult mvcResult;
+        QueryCounter.Result queries;
+        try {
+            mvcResult = mockMvc.perform(request).andReturn();
+        } finally {
+            queries = QueryCounter.stop();
+        }
+        assertThat(mvcResult.getResponse().getStatus()).as(mvcResult.getResponse().getContentAsString()).isEqualTo(200);
+        return new Measurement(queries, objectMapper.readTree(mvcResult.getResponse().getContentAsByteArray()));
+    }
+
+    private static void assertWithinBudget(String endpoint, Measurement measurement, int maxStatements, long maxEntities) {
+        QueryCounter.Result result = measurement.queries();
+        assertThat(result.statementCount())
+                .as("SQL statements for %s:%n%s", endpoint, result.describe())
+                .isLessThanOrEqualTo(maxStatements);
+        assertThat(result.entitiesLoaded())
+                .as("entities loaded for %s:%n%s", endpoint, result.describe())
+                .isLessThanOrEqualTo(maxEntities);
+    }
+
+    private record Measurement(QueryCounter.Result queries, JsonNode body) {
+    }
+
+    private User seed() {
+        StatusCode approved = statusCodeRepository.save(new StatusCode(null, "EVENT", "APPROVED", null));
+        StatusCode active = statusCodeRepository.save(new StatusCode(null, "USER", "ACTIVE", null));
+        StatusCode available = statusCodeRepository.save(new StatusCode(null, "TICKET", "AVAILABLE", null));
+        StatusCode completed = statusCodeRepository.save(new StatusCode(null, "TICKET_PURCHASE", "COMPLETED", null));
+        statusCodeRepository.save(new StatusCode(null, "TICKET_PURCHASE", "SUCCESS", null));
+        statusCodeRepository.save(new StatusCode(null, "TICKET_PURCHASE", "PENDING", null));
+
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Category category = new Category();
+            category.setName("Category " + i);
+            categories.add(categoryRepository.save(category));
+        }
+
+        User organizer = userRepository.save(user("organizer", Role.ORGANIZER, active));
+        User buyer = userRepository.save(user("buyer", Role.USER, active));
+
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            // Mỗi sự kiện một venue để quan hệ to-one không bị trùng trong persistence context
+            Venue venue = new Venue();
+            venue.setName("Venue " + i);
+            venue.setCity("Ha Noi");
+            venue = venueRepository.save(venue);
+
+            Event event = new Event();
+            event.setTitle("Event " + i);
+            event.setSlug("event-" + i);
+            event.setStartDate(LocalDateTime.now().plusDays(i + 1));
+            event.setEndDate(LocalDateTime.now().plusDays(i + 2));
+            event.setVenue(venue);
+            event.setCreator(organizer);
+            event.setStatus(approved);
+            event.setIsPublic(true);
+            event.setTicketSelectionMode(TicketSelectionModeEnum.GENERAL_ADMISSION);
+            event.setCategories(new HashSet<>(List.of(categories.get(0), categories.get(1 + i % 2))));
+            event = eventRepository.save(event);
+            events.add(event);
+
+            for (String name : List.of("Standard", "VIP")) {
+                Ticket ticket = new Ticket();
+                ticket.setEvent(event);
+                ticket.setName(name);
+                ticket.setPrice(new BigDecimal("VIP".equals(name) ? "1500000" : "500000"));
+                ticket.setTotalQuantity(100);
+                ticket.setAvailableQuantity(100);
+                ticket.setSaleStartDate(LocalDateTime.now().minusDays(1));
+                ticket.setSaleEndDate(event.getStartDate());
+                ticket.setStatus(available);
+                ticket = ticketRepository.save(ticket);
+                ticketByEvent.putIfAbsent(event.getId(), ticket);
+            }
+        }
+
+        for (int i = 0; i < PURCHASE_COUNT; i++) {
+            Event event = events.get(i % EVENT_COUNT);
+            Ticket ticket = ticketByEvent.get(event.getId());
+
+            TicketPurchase purchase = new TicketPurchase();
+            purchase.setUser(buyer);
+            purchase.setEvent(event);
+            purchase.setSubTotal(ticket.getPrice());
+            purchase.setTotalPrice(ticket.getPrice());
+            purchase.setStatus(completed);
+            purchase.setPaymentMethod("MOCK_PAYMENT");
+            purchase.setTransactionId("MOCK_TXN_" + i);
+            purchase = ticketPurchaseRepository.save(purchase);
+
+            PurchasedGATicket purchased = new PurchasedGATicket();
+            purchased.setTicketPurchase(purchase);
+            purchased.setTicket(ticket);
+            purchased.setQuantity(1);
+            purchased.setPricePerTicket(ticket.getPrice());
+            purchasedGaTicketRepository.save(purchased);
+        }
+        return buyer;
+    }
+
+    private static User user(String username, Role role, StatusCode status) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        user.setFullName(username);
+        user.setRole(role);
+        user.setStatus(status);
+        user.getSettings(); // tạo sẵn settings như luồng đăng ký thật
+        return user;
+    }
+}
@@ -0,0 +1,162 @@
+package io.event.ems.repository;
+
+import io.event.ems.model.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Đảm bảo các trang danh sách sự kiện tốn một số câu SQL cố định (SELECT trang + COUNT + nạp lô categories),
+ * không tăng theo kích thước trang như khi EventMapper chạm vào từng quan hệ lazy.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class EventListingQueryCountTest {
+
+    // SELECT trang (kèm các quan hệ to-one) + COUNT + một lô categories
+    private static final long STATEMENTS_PER_PAGE = 3;
+    private static final int EVENT_COUNT = 60;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private StatusCode approved;
+    private UUID creatorId;
+    private UUID categoryId;
+
+    @BeforeEach
+    void setUp() {
+        approved = testEntityManager.persist(new StatusCode(null, "EVENT", "APPROVED", null));
+        StatusCode active = testEntityManager.persist(new StatusCode(null, "USER", "ACTIVE", null));
+
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Category category = new Category();
+            category.setName("Category " + i);
+            categories.add(testEntityManager.persist(category));
+        }
+        categoryId = categories.get(0).getId();
+
+        List<User> creators = new ArrayList<>();
+        List<Venue> venues = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            User user = new User();
+            user.setUsername("organizer" + i);
+            user.setEmail("organizer" + i + "@example.com");
+            user.setPassword("secret");
+            user.setFullName("Organizer " + i);
+            user.setRole(Role.ORGANIZER);
+            user.setStatus(active);
+            user.getSettings(); // tạo sẵn settings như luồng đăng ký thật
+            creators.add(testEntityManager.persist(user));
+
+            Venue venue = new Venue();
+            venue.setName("Venue " + i);
+            venue.setCity("Ha Noi");
+            venues.add(testEntityManager.persist(venue));
+        }
+        creatorId = creators.get(0).getId();
+
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            Event event = new Event();
+            event.setTitle("Event " + i);
+            event.setSlug("event-" + i);
+            event.setStartDate(LocalDateTime.now().plusDays(i + 1));
+            event.setEndDate(LocalDateTime.now().plusDays(i + 2));
+            // Mỗi trang đều trải trên nhiều venue/creator khác nhau
+            event.setVenue(venues.get(i % venues.size()));
+            event.setCreator(i % 2 == 0 ? creators.get(0) : creators.get(i % creators.size()));
+            event.setStatus(approved);
+            event.setIsPublic(true);
+            event.setTicketSelectionMode(TicketSelectionModeEnum.GENERAL_ADMISSION);
+            event.setCategories(new HashSet<>(List.of(categories.get(0), categories.get(1 + i % 2))));
+            testEntityManager.persist(event);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void publicListingUsesFixedStatementCount() {
+        assertFixedStatementCount(pageable -> eventRepository.findByIsPublicTrueAndStatusId(approved.getId(), pageable));
+    }
+
+    @Test
+    void managementListingUsesFixedStatementCount() {
+        assertFixedStatementCount(eventRepository::findAll);
+    }
+
+    @Test
+    void organizerListingUsesFixedStatementCount() {
+        assertFixedStatementCount(pageable -> eventRepository.findByCreatorId(creatorId, pageable));
+    }
+
+    @Test
+    void categoryListingUsesFixedStatementCount() {
+        assertFixedStatementCount(pageable -> eventRepository.findByCategories_Id(categoryId, pageable));
+    }
+
+    private void assertFixedStatementCount(Function<Pageable, Page<Event>> listing) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Trang đầu luôn đầy để Spring Data luôn chạy câu COUNT
+        for (int size : new int[]{5, 20, 30}) {
+            testEntityManager.clear();
+            statistics.clear();
+
+            Page<Event> page = listing.apply(PageRequest.of(0, size, Sort.by("startDate")));
+            page.getContent().forEach(EventListingQueryCountTest::touchLikeMapper);
+
+            assertThat(page.getNumberOfElements()).isEqualTo(size);
+            assertThat(statistics.getPrepareStatementCount())
+                    .as("statements for page size %d", size)
+                    .isEqualTo(STATEMENTS_PER_PAGE);
+        }
+    }
+
+    // Đọc đúng các quan hệ mà EventMapper.toResponseDTO đi qua
+    private static void touchLikeMapper(Event event) {
+        event.getVenue().getName();
+        event.getCreator().getFullName();
+        event.getStatus().getStatus();
+        event.getCategories().forEach(Category::getName);
+        if (event.getSeatMap() != null) {
+            event.getSeatMap().getVenue().getName();
+        }
+    }
+}
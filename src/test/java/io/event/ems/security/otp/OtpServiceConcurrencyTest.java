@@ -0,0 +1,146 @@
+package io.event.ems.security.otp;
+
+import io.event.ems.exception.OtpException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Kiểm tra các Lua script OTP trên Redis thật: đoán song song không thể vượt quá max-attempts,
+ * và một OTP đúng chỉ được chấp nhận một lần.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class OtpServiceConcurrencyTest {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final int THREADS = 32;
+    private static final int GUESSES_PER_THREAD = 10;
+    private static final String IDENTIFIER = "guess@example.com";
+    private static final String OTP_TYPE = "TEST";
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private OtpService otpService;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        try (var connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+
+        otpService = new OtpService(redisTemplate);
+        ReflectionTestUtils.setField(otpService, "otpLength", 6);
+        ReflectionTestUtils.setField(otpService, "otpValidityMinutes", 5L);
+        ReflectionTestUtils.setField(otpService, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(otpService, "lockoutDurationMinutes", 30L);
+        ReflectionTestUtils.setField(otpService, "resendDelaySeconds", 0L);
+        ReflectionTestUtils.setField(otpService, "maxResendRequestsPerHour", 5L);
+        otpService.validateConfig();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void parallelWrongGuessesNeverExceedMaxAttempts() throws Exception {
+        String otp = otpService.generateAndStoreOtp(IDENTIFIER, OTP_TYPE);
+        String wrong = "000000".equals(otp) ? "111111" : "000000";
+
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger lockedNow = new AtomicInteger();
+        AtomicInteger alreadyLocked = new AtomicInteger();
+        runInParallel(() -> {
+            try {
+                if (!otpService.validateOtp(IDENTIFIER, OTP_TYPE, wrong)) {
+                    rejected.incrementAndGet();
+                }
+            } catch (OtpException e) {
+                if (e.getMessage().contains("Account locked")) {
+                    lockedNow.incrementAndGet();
+                } else {
+                    alreadyLocked.incrementAndGet();
+                }
+            }
+        });
+
+        // Chỉ đúng MAX_ATTEMPTS lần đoán được chấm, lần cuối cùng gây khóa; mọi lần còn lại bị chặn
+        assertThat(rejected.get() + lockedNow.get()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(lockedNow.get()).isEqualTo(1);
+        assertThat(alreadyLocked.get()).isEqualTo(THREADS * GUESSES_PER_THREAD - MAX_ATTEMPTS);
+
+        // Kể cả OTP đúng cũng bị từ chối khi đang khóa
+        assertThatThrownBy(() -> otpService.validateOtp(IDENTIFIER, OTP_TYPE, otp))
+                .isInstanceOf(OtpException.class)
+                .hasMessageContaining("Try again in");
+    }
+
+    @Test
+    void correctOtpIsAcceptedOnlyOnce() throws Exception {
+        String otp = otpService.generateAndStoreOtp(IDENTIFIER, OTP_TYPE);
+
+        AtomicInteger accepted = new AtomicInteger();
+        runInParallel(() -> {
+            try {
+                if (otpService.validateOtp(IDENTIFIER, OTP_TYPE, otp)) {
+                    accepted.incrementAndGet();
+                }
+            } catch (OtpException ignored) {
+                // Hết hạn (đã dùng) hoặc bị khóa sau nhiều lần gửi lại
+            }
+        });
+
+        assertThat(accepted.get()).isEqualTo(1);
+    }
+
+    private void runInParallel(Runnable guess) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < GUESSES_PER_THREAD; j++) {
+                        guess.run();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package io.event.ems.support.query;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Đếm số entity được hydrate từ kết quả truy vấn.
+ * Đăng ký qua {@code spring.jpa.properties.hibernate.session_factory.interceptor}.
+ */
+public class CountingInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        QueryCounter.entityLoaded();
+        return false;
+    }
+}
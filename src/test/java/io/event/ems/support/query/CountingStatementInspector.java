@@ -0,0 +1,16 @@
+package io.event.ems.support.query;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Ghi lại mọi câu SQL Hibernate chuẩn bị (kể cả native query và câu UPDATE/DELETE hàng loạt).
+ * Đăng ký qua {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.statementPrepared(sql);
+        return sql;
+    }
+}
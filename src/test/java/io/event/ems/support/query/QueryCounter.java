@@ -0,0 +1,76 @@
+package io.event.ems.support.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Đếm số câu SQL và số entity được nạp trên thread hiện tại trong một khoảng đo.
+ * <p>
+ * Dữ liệu được ghi bởi {@link CountingStatementInspector} và {@link CountingInterceptor}; chỉ thread đang
+ * đo mới bị đếm, nên các job nền (scheduler, @Async gửi mail) chạy song song không làm sai kết quả.
+ * MockMvc xử lý request ngay trên thread của test nên một lần {@code perform} nằm trọn trong khoảng đo.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void start() {
+        CURRENT.set(new Recording());
+    }
+
+    public static Result stop() {
+        Recording recording = CURRENT.get();
+        CURRENT.remove();
+        if (recording == null) {
+            throw new IllegalStateException("QueryCounter.start() was not called on this thread");
+        }
+        return new Result(Collections.unmodifiableList(recording.statements), recording.entitiesLoaded);
+    }
+
+    static void statementPrepared(String sql) {
+        Recording recording = CURRENT.get();
+        if (recording != null) {
+            recording.statements.add(sql);
+        }
+    }
+
+    static void entityLoaded() {
+        Recording recording = CURRENT.get();
+        if (recording != null) {
+            recording.entitiesLoaded++;
+        }
+    }
+
+    private static final class Recording {
+        private final List<String> statements = new ArrayList<>();
+        private long entitiesLoaded;
+    }
+
+    /**
+     * Kết quả một lần đo: danh sách câu SQL theo thứ tự chạy và số entity Hibernate đã hydrate
+     * (xấp xỉ số dòng đọc về; các truy vấn projection/native trả DTO không được tính).
+     */
+    public record Result(List<String> statements, long entitiesLoaded) {
+
+        public int statementCount() {
+            return statements.size();
+        }
+
+        /**
+         * Liệt kê các câu SQL để thông báo lỗi của assertion chỉ ra ngay câu nào mới xuất hiện.
+         */
+        public String describe() {
+            StringBuilder builder = new StringBuilder()
+                    .append(statements.size()).append(" statements, ")
+                    .append(entitiesLoaded).append(" entities loaded");
+            for (int i = 0; i < statements.size(); i++) {
+                builder.append(System.lineSeparator()).append("  ").append(i + 1).append(". ").append(statements.get(i));
+            }
+            return builder.toString();
+        }
+    }
+}